@@ -0,0 +1,230 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.service.domain.SkillVocabulary.Phrase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the matching kernels (SkillMatcher, SynonymAutomaton) on
+ * the seed data, on long offer descriptions and on synonym-heavy skill
+ * lists. Run with the jmh profile (see pom.xml), which also reports the
+ * allocation rate through -prof gc.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingBenchmark {
+
+    // requirements of the seed offers (populateApplicationState)
+    private static final List<List<String>> SEED_OFFERS = List.of(
+            List.of("java", "sql", "spring"),
+            List.of("python", "sql", "statistics", "data warehouse"),
+            List.of("docker", "kubernetes", "ci/cd", "linux"),
+            List.of("javascript", "css", "react"),
+            List.of("python", "tensorflow", "ml", "data"),
+            List.of("sustainability", "consulting"),
+            List.of("product management", "fintech", "agile"),
+            List.of("android", "ios", "mobile"),
+            List.of("robotics", "python", "c++"),
+            List.of("aws", "azure", "cloud", "terraform"),
+            List.of("ux", "ui", "figma"),
+            List.of("operations", "supply chain", "management"));
+
+    // every phrase names a skill through a synonym, or nearly matches one
+    // (same length, so the edit distance runs)
+    private static final List<String> SYNONYM_SKILLS = List.of(
+            "js", "ecmascript", "k8s", "amazon web services", "ruby on rails", "front end",
+            "continuous integration", "deep learning", "data analysis", "spring boot",
+            "postgres", "python3", "github actions", "restful", "scrum", "google cloud platform");
+    private static final List<String> SYNONYM_REQUIREMENTS = List.of(
+            "javascript", "kubernetes", "aws", "rails", "frontend", "ci/cd", "machine learning",
+            "analytics", "springboot", "postgresql", "py", "jenkins", "rest api", "kanban",
+            "gcp", "containerization", "typescripts", "node.jss", "mongo db", "dotnett");
+
+    private static final int PAIRS = 1024; // power of two, indices are masked
+
+    private SkillMatcher matcher;
+    private Phrase[][] phrasePairs;
+    private String[][] textPairs;
+    private Phrase[][] requirementLists;
+    private Phrase[] applicantPhrases;
+    private Applicant[] applicants;
+    private JobOffer[] seedOffers;
+    private Applicant synonymApplicant;
+    private JobOffer synonymOffer;
+    private JobOffer descriptionOffer;
+    private JobOffer unseenOffer;
+    private String longDescription;
+    private int i;
+
+    @Setup
+    public void setUp() {
+        Random rnd = new Random(42);
+        matcher = new SkillMatcher();
+        SkillVocabulary vocabulary = new SkillVocabulary(SkillTerms.synonymGroups());
+
+        List<String> phrases = new ArrayList<>(ApplicationState.SKILL_POOL);
+        SEED_OFFERS.forEach(phrases::addAll);
+        phrases.addAll(SYNONYM_SKILLS);
+        phrases.addAll(SYNONYM_REQUIREMENTS);
+        phrasePairs = new Phrase[PAIRS][];
+        textPairs = new String[PAIRS][];
+        for (int k = 0; k < PAIRS; k++) {
+            String a = phrases.get(rnd.nextInt(phrases.size()));
+            String b = phrases.get(rnd.nextInt(phrases.size()));
+            phrasePairs[k] = new Phrase[] { vocabulary.phrase(a), vocabulary.phrase(b) };
+            textPairs[k] = new String[] { a, b };
+        }
+
+        requirementLists = SEED_OFFERS.stream()
+                .map(r -> r.stream().map(vocabulary::phrase).toArray(Phrase[]::new))
+                .toArray(Phrase[][]::new);
+        applicantPhrases = SYNONYM_SKILLS.stream().map(vocabulary::phrase).toArray(Phrase[]::new);
+
+        // applicants as seed1000 makes them: three distinct skills of the pool
+        applicants = new Applicant[PAIRS];
+        for (int k = 0; k < PAIRS; k++) {
+            List<String> skills = new ArrayList<>();
+            while (skills.size() < 3) {
+                String s = ApplicationState.SKILL_POOL.get(rnd.nextInt(ApplicationState.SKILL_POOL.size()));
+                if (!skills.contains(s))
+                    skills.add(s);
+            }
+            applicants[k] = applicant(skills);
+        }
+        seedOffers = SEED_OFFERS.stream().map(r -> offer(r, null)).toArray(JobOffer[]::new);
+
+        synonymApplicant = applicant(SYNONYM_SKILLS);
+        synonymOffer = offer(SYNONYM_REQUIREMENTS, null);
+
+        StringBuilder text = new StringBuilder("Senior Platform Engineer. ");
+        String[] filler = { "We", "build", "and", "operate", "services", "for", "our", "customers", "with",
+                "a", "strong", "focus", "on", "quality", "reliability", "and", "team", "work." };
+        List<String> mentions = new ArrayList<>(SYNONYM_SKILLS);
+        mentions.addAll(SYNONYM_REQUIREMENTS);
+        while (text.length() < 8_000) {
+            for (int k = 0; k < 12; k++)
+                text.append(filler[rnd.nextInt(filler.length)]).append(' ');
+            text.append(mentions.get(rnd.nextInt(mentions.size()))).append(", ");
+        }
+        longDescription = text.toString();
+        descriptionOffer = offer(null, longDescription);
+        unseenOffer = offer(null, longDescription);
+
+        // profiles are built once per entity, as in the server
+        for (Applicant a : applicants)
+            matcher.refresh(a);
+        for (JobOffer o : seedOffers)
+            matcher.refresh(o);
+        matcher.refresh(synonymApplicant);
+        matcher.refresh(synonymOffer);
+        matcher.refresh(descriptionOffer);
+    }
+
+    private static Applicant applicant(List<String> skills) {
+        Applicant a = new Applicant();
+        a.setId(UUID.randomUUID());
+        a.setSkills(new ArrayList<>(skills));
+        return a;
+    }
+
+    private static JobOffer offer(List<String> requirements, String description) {
+        JobOffer o = new JobOffer();
+        o.setId(UUID.randomUUID());
+        o.setTitle("Engineer");
+        o.setDescription(description == null ? "" : description);
+        o.setRequiredSkills(requirements == null ? new ArrayList<>() : new ArrayList<>(requirements));
+        return o;
+    }
+
+    private int next() {
+        i = (i + 1) & (PAIRS - 1);
+        return i;
+    }
+
+    // ======================================================================
+    // Kernels
+    // ======================================================================
+
+    @Benchmark
+    public double phraseSimilarity() {
+        Phrase[] pair = phrasePairs[next()];
+        return SkillMatcher.phraseSimilarity(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public int levenshteinDistance() {
+        String[] pair = textPairs[next()];
+        return SkillMatcher.levenshteinDistance(pair[0], pair[1]);
+    }
+
+    @Benchmark
+    public double listSimilaritySynonymHeavy() {
+        return SkillMatcher.listSimilarity(requirementLists[next() % requirementLists.length], applicantPhrases);
+    }
+
+    @Benchmark
+    public List<String> detectSkillsLongDescription() {
+        return matcher.detectSkills(longDescription);
+    }
+
+    // ======================================================================
+    // Whole scores (profiles already built)
+    // ======================================================================
+
+    @Benchmark
+    public double scoreSeedUncached() {
+        int k = next();
+        return matcher.computeScore(applicants[k], seedOffers[k % seedOffers.length]);
+    }
+
+    @Benchmark
+    public double scoreSeedCached() {
+        int k = next();
+        return matcher.score(applicants[k], seedOffers[k % seedOffers.length]);
+    }
+
+    @Benchmark
+    public double scoreSynonymHeavy() {
+        return matcher.computeScore(synonymApplicant, synonymOffer);
+    }
+
+    @Benchmark
+    public double scoreLongDescription() {
+        return matcher.computeScore(applicants[next()], descriptionOffer);
+    }
+
+    @Benchmark
+    public double scoreSynonymHeavyLongDescription() {
+        return matcher.computeScore(synonymApplicant, descriptionOffer);
+    }
+
+    /** Interning an unseen offer: tokenizing and scanning its description. */
+    @Benchmark
+    public long profileLongDescription() {
+        unseenOffer.setId(UUID.randomUUID());
+        long revision = matcher.refresh(unseenOffer);
+        matcher.forgetOffer(unseenOffer.getId());
+        return revision;
+    }
+}
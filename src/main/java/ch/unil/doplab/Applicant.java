@@ -28,6 +28,11 @@ public class Applicant extends User {
     @OneToMany(mappedBy = "applicant")
     private java.util.List<Application> applications = new java.util.ArrayList<>();
 
+    // Révision du profil de compétences, attribuée par le serveur ; ne change
+    // que si les compétences changent (clé du cache des scores)
+    @Transient
+    @jakarta.json.bind.annotation.JsonbTransient
+    private long profileRevision;
 
 
     // ======================================================
@@ -96,6 +101,9 @@ public class Applicant extends User {
 
     public java.util.List<Application> getApplications() { return applications; }
 
+    public long getProfileRevision() { return profileRevision; }
+    public void setProfileRevision(long profileRevision) { this.profileRevision = profileRevision; }
+
 
     // ======================================================
     // OVERRIDE
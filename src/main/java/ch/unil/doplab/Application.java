@@ -91,6 +91,17 @@ public class Application {
         this.matchScore = matchScore;
     }
 
+    /**
+     * Copie de cette candidature avec un autre score, pour remplacer
+     * l'instance en cache au lieu de la modifier.
+     */
+    public Application withMatchScore(Double matchScore) {
+        Application copy = new Application(id, jobOfferId, applicantId, cvUrl, submittedAt, updatedAt, status,
+                matchScore);
+        copy.createdAt = createdAt;
+        return copy;
+    }
+
     // ======================================================
     // JPA LIFECYCLE
     // ======================================================
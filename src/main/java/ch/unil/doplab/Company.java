@@ -1,10 +1,12 @@
 package ch.unil.doplab;
 
 import jakarta.persistence.*;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import ch.unil.doplab.util.UuidSet;
+
 /**
  * Représente une entreprise dans JobFinder.
  */
@@ -38,9 +40,9 @@ public class Company {
     // For now we **do not persist** these lists – we can always add proper
     // relations later if needed. They are only used in memory.
     @Transient
-    private List<UUID> employerIds = new ArrayList<>(); // Tous les employeurs liés
+    private UuidSet employerIds = new UuidSet(); // Tous les employeurs liés
     @Transient
-    private List<UUID> jobOfferIds = new ArrayList<>(); // Toutes les offres publiées
+    private UuidSet jobOfferIds = new UuidSet(); // Toutes les offres publiées
 
     // ======================================================
     // CONSTRUCTEURS
@@ -132,35 +134,41 @@ public class Company {
     // ======================================================
 
     public List<UUID> getEmployerIds() {
-        return employerIds;
+        return employerIds.toList();
     }
 
     public void addEmployerId(UUID id) {
-        if (id != null && !employerIds.contains(id))
-            employerIds.add(id);
+        employerIds.add(id);
     }
 
     public void removeEmployerId(UUID id) {
         employerIds.remove(id);
     }
 
+    public void replaceEmployerIds(Collection<UUID> ids) {
+        employerIds.replaceWith(ids);
+    }
+
     // ======================================================
     // RELATIONS JOB OFFERS (IN MEMORY FOR NOW ONLY)
     // ======================================================
 
     public List<UUID> getJobOfferIds() {
-        return jobOfferIds;
+        return jobOfferIds.toList();
     }
 
     public void addJobOfferId(UUID id) {
-        if (id != null && !jobOfferIds.contains(id))
-            jobOfferIds.add(id);
+        jobOfferIds.add(id);
     }
 
     public void removeJobOfferId(UUID id) {
         jobOfferIds.remove(id);
     }
 
+    public void replaceJobOfferIds(Collection<UUID> ids) {
+        jobOfferIds.replaceWith(ids);
+    }
+
     // ======================================================
     // OVERRIDE
     // ======================================================
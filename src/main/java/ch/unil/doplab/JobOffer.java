@@ -5,9 +5,12 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import ch.unil.doplab.util.UuidSet;
+
 /**
  * Représente une offre d'emploi dans JobFinder.
  */
@@ -79,7 +82,13 @@ public class JobOffer {
 
     // Applications liées – on laisse ça côté logique, pas en DB
     @Transient
-    private List<UUID> applicationIds = new ArrayList<>();
+    private UuidSet applicationIds = new UuidSet();
+
+    // Révision des critères (compétences, qualifications, titre, description),
+    // attribuée par le serveur ; clé du cache des scores
+    @Transient
+    @jakarta.json.bind.annotation.JsonbTransient
+    private long profileRevision;
 
     // ======================================================
     // CONSTRUCTEURS
@@ -230,18 +239,29 @@ public class JobOffer {
     // ======================================================
 
     public List<UUID> getApplicationIds() {
-        return applicationIds;
+        return applicationIds.toList();
     }
 
     public void addApplicationId(UUID id) {
-        if (id != null && !applicationIds.contains(id))
-            applicationIds.add(id);
+        applicationIds.add(id);
     }
 
     public void removeApplicationId(UUID id) {
         applicationIds.remove(id);
     }
 
+    public void replaceApplicationIds(Collection<UUID> ids) {
+        applicationIds.replaceWith(ids);
+    }
+
+    public long getProfileRevision() {
+        return profileRevision;
+    }
+
+    public void setProfileRevision(long profileRevision) {
+        this.profileRevision = profileRevision;
+    }
+
     public Employer getEmployer() {
         return employer;
     }
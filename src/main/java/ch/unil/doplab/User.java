@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 
 import java.util.*;
 
+import ch.unil.doplab.util.UuidSet;
+
 /**
  * Représente un utilisateur générique (Employeur ou Applicant)
  * dans l’application JobFinder.
@@ -34,11 +36,11 @@ public abstract class User {
 
     // Un User peut être lié à plusieurs JobOffers (Employeur)
     @Transient
-    protected List<UUID> jobOfferIds = new ArrayList<>();
+    protected UuidSet jobOfferIds = new UuidSet();
 
     // Un User peut être lié à plusieurs Applications (Applicant)
     @Transient
-    protected List<UUID> applicationIds = new ArrayList<>();
+    protected UuidSet applicationIds = new UuidSet();
 
 
     // ======================================================
@@ -105,33 +107,39 @@ public abstract class User {
     // JobOffer IDs (pour Employeur)
     // ======================================================
 
-    public List<UUID> getJobOfferIds() { return jobOfferIds; }
+    public List<UUID> getJobOfferIds() { return jobOfferIds.toList(); }
 
     public void addJobOfferId(UUID id) {
-        if (id != null && !jobOfferIds.contains(id))
-            jobOfferIds.add(id);
+        jobOfferIds.add(id);
     }
 
     public void removeJobOfferId(UUID id) {
         jobOfferIds.remove(id);
     }
 
+    public void replaceJobOfferIds(Collection<UUID> ids) {
+        jobOfferIds.replaceWith(ids);
+    }
+
 
     // ======================================================
     // Application IDs (pour Applicant)
     // ======================================================
 
-    public List<UUID> getApplicationIds() { return applicationIds; }
+    public List<UUID> getApplicationIds() { return applicationIds.toList(); }
 
     public void addApplicationId(UUID id) {
-        if (id != null && !applicationIds.contains(id))
-            applicationIds.add(id);
+        applicationIds.add(id);
     }
 
     public void removeApplicationId(UUID id) {
         applicationIds.remove(id);
     }
 
+    public void replaceApplicationIds(Collection<UUID> ids) {
+        applicationIds.replaceWith(ids);
+    }
+
 
     // ======================================================
     // MÉTHODES FONCTIONNELLES
@@ -11,24 +11,36 @@ import jakarta.ws.rs.client.Client;
 import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.client.Entity;
 import jakarta.ws.rs.core.GenericType;
+import jakarta.ws.rs.core.Link;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.client.WebTarget;
 import jakarta.ws.rs.client.Entity;
 
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.UUID;
 import java.util.Date;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @ApplicationScoped
 public class JobFinderClient {
     private WebTarget target;
     private static final String BASE_URL = "http://localhost:8080/jobfinder/api";
     private Client client;
+    private static final int PAGE_SIZE = 200;
 
     public JobFinderClient() {
-        this.client = ClientBuilder.newClient();
+        // GETs revalidate with If-None-Match: unchanged data comes back as a 304
+        this.client = ClientBuilder.newClient().register(new ValidatorCache());
         this.target = client.target(BASE_URL);
     }
 
@@ -36,23 +48,27 @@ public class JobFinderClient {
     // JOB OFFERS
     // ==========================================
 
-    public List<JobOffer> getAllJobOffers() {
-        return client.target(BASE_URL + "/job-offers")
-                .request(MediaType.APPLICATION_JSON)
-                .get(new GenericType<List<JobOffer>>() {
+    public List<JobOffer> getAllJobOffers(String... fields) {
+        return streamJobOffers(fields).collect(Collectors.toList());
+    }
+
+    /** Newest first, fetched one page at a time as the stream is consumed. */
+    public Stream<JobOffer> streamJobOffers(String... fields) {
+        return pages(withFields(client.target(BASE_URL + "/job-offers"), fields),
+                new GenericType<List<JobOffer>>() {
                 });
     }
 
-    public List<JobOffer> getOffersByEmployer(UUID employerId) {
-        return client.target(BASE_URL + "/job-offers")
+    public List<JobOffer> getOffersByEmployer(UUID employerId, String... fields) {
+        return withFields(client.target(BASE_URL + "/job-offers"), fields)
                 .queryParam("employerId", employerId)
                 .request(MediaType.APPLICATION_JSON)
                 .get(new GenericType<List<JobOffer>>() {
                 });
     }
 
-    public JobOffer getJobOffer(UUID id) {
-        return client.target(BASE_URL + "/job-offers/" + id)
+    public JobOffer getJobOffer(UUID id, String... fields) {
+        return withFields(client.target(BASE_URL + "/job-offers/" + id), fields)
                 .request(MediaType.APPLICATION_JSON)
                 .get(JobOffer.class);
     }
@@ -92,15 +108,30 @@ public class JobFinderClient {
     // ==========================================
 
     public List<Company> getAllCompanies() {
-        return client.target(BASE_URL + "/companies")
-                .request(MediaType.APPLICATION_JSON)
-                .get(new GenericType<List<Company>>() {
-                });
+        return streamCompanies().collect(Collectors.toList());
     }
 
-    public Company getCompany(UUID id) {
-        return target.path("companies")
-                .path(id.toString())
+    public Stream<Company> streamCompanies() {
+        return pages(client.target(BASE_URL + "/companies"), new GenericType<List<Company>>() {
+        });
+    }
+
+    /** Companies the employer owns or works at, filtered by the server. */
+    public List<Company> getCompaniesForEmployer(UUID employerId) {
+        return pages(client.target(BASE_URL + "/companies").queryParam("employerId", employerId),
+                new GenericType<List<Company>>() {
+                }).collect(Collectors.toList());
+    }
+
+    /** Companies with an offer the applicant applied to. */
+    public List<Company> getCompaniesAppliedToBy(UUID applicantId) {
+        return pages(client.target(BASE_URL + "/companies").queryParam("applicantId", applicantId),
+                new GenericType<List<Company>>() {
+                }).collect(Collectors.toList());
+    }
+
+    public Company getCompany(UUID id, String... fields) {
+        return withFields(target.path("companies").path(id.toString()), fields)
                 .request(MediaType.APPLICATION_JSON)
                 .get(Company.class);
     }
@@ -116,10 +147,12 @@ public class JobFinderClient {
     }
 
     public List<Employer> getAllEmployers() {
-        return client.target(BASE_URL + "/employers")
-                .request(MediaType.APPLICATION_JSON)
-                .get(new GenericType<List<Employer>>() {
-                });
+        return streamEmployers().collect(Collectors.toList());
+    }
+
+    public Stream<Employer> streamEmployers() {
+        return pages(client.target(BASE_URL + "/employers"), new GenericType<List<Employer>>() {
+        });
     }
 
     // ==========================================
@@ -127,15 +160,16 @@ public class JobFinderClient {
     // ==========================================
 
     public List<Applicant> getAllApplicants() {
-        // NOTE: Ensure ApplicantResource exists at /applicants
-        return client.target(BASE_URL + "/applicants")
-                .request(MediaType.APPLICATION_JSON)
-                .get(new GenericType<List<Applicant>>() {
-                });
+        return streamApplicants().collect(Collectors.toList());
     }
 
-    public Applicant getApplicant(UUID id) {
-        return client.target(BASE_URL + "/applicants/" + id)
+    public Stream<Applicant> streamApplicants() {
+        return pages(client.target(BASE_URL + "/applicants"), new GenericType<List<Applicant>>() {
+        });
+    }
+
+    public Applicant getApplicant(UUID id, String... fields) {
+        return withFields(client.target(BASE_URL + "/applicants/" + id), fields)
                 .request(MediaType.APPLICATION_JSON)
                 .get(Applicant.class);
     }
@@ -146,10 +180,17 @@ public class JobFinderClient {
                 .put(Entity.json(Map.of("matchScore", score)), Application.class);
     }
 
-    public void recomputeMatchScoresForApplicant(UUID applicantId) {
-        client.target(BASE_URL + "/applications/recompute/by-applicant/" + applicantId)
+    /**
+     * Asks the server to re-score the applicant's applications. The server
+     * queues the work and answers 202 at once, so this does not wait for it.
+     */
+    public boolean recomputeMatchScoresForApplicant(UUID applicantId) {
+        try (Response response = client.target(BASE_URL + "/applications/recompute/by-applicant/" + applicantId)
                 .request(MediaType.APPLICATION_JSON)
-                .post(Entity.json(""));
+                .post(Entity.json(""))) {
+            int status = response.getStatus();
+            return status >= 200 && status < 300;
+        }
     }
 
     // ==========================================
@@ -157,10 +198,35 @@ public class JobFinderClient {
     // ==========================================
 
     public List<Application> getAllApplications() {
-        return client.target(BASE_URL + "/applications")
-                .request(MediaType.APPLICATION_JSON)
-                .get(new GenericType<List<Application>>() {
-                });
+        return streamApplications().collect(Collectors.toList());
+    }
+
+    public Stream<Application> streamApplications() {
+        return pages(client.target(BASE_URL + "/applications"), new GenericType<List<Application>>() {
+        });
+    }
+
+    /**
+     * Applications matching every given filter (applicantId, jobOfferId,
+     * employerId, companyId, status, submittedFrom, submittedTo); the
+     * filtering runs on the server. Null values are left out.
+     */
+    public List<Application> getApplications(Map<String, ?> filters) {
+        WebTarget t = client.target(BASE_URL + "/applications");
+        for (Map.Entry<String, ?> f : filters.entrySet()) {
+            if (f.getValue() != null)
+                t = t.queryParam(f.getKey(), f.getValue());
+        }
+        return pages(t, new GenericType<List<Application>>() {
+        }).collect(Collectors.toList());
+    }
+
+    public List<Application> getApplicationsByApplicant(UUID applicantId) {
+        return getApplications(Map.of("applicantId", applicantId));
+    }
+
+    public boolean hasApplied(UUID applicantId, UUID jobOfferId) {
+        return !getApplications(Map.of("applicantId", applicantId, "jobOfferId", jobOfferId)).isEmpty();
     }
 
     public boolean createApplication(Application app) {
@@ -426,4 +492,51 @@ public class JobFinderClient {
         }
     }
 
+
+    // ==========================================
+    // PAGING AND FIELDS
+    // ==========================================
+
+    /**
+     * ?fields=a,b: the server sends only those properties (and id), the
+     * others stay at their defaults in the returned objects. No fields
+     * means whole entities.
+     */
+    private static WebTarget withFields(WebTarget t, String... fields) {
+        return fields.length == 0 ? t : t.queryParam("fields", String.join(",", fields));
+    }
+
+    /**
+     * Lazily walks a keyset-paginated list endpoint: the first page is
+     * requested with ?limit=PAGE_SIZE, the following ones through the
+     * Link rel="next" of the previous response. Stops at the first page
+     * without one, so a short-circuiting stream (findFirst, anyMatch)
+     * fetches only the pages it needs.
+     */
+    private <T> Stream<T> pages(WebTarget first, GenericType<List<T>> type) {
+        Spliterator<T> it = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            private final Deque<T> buffer = new ArrayDeque<>();
+            private URI next = first.queryParam("limit", PAGE_SIZE).getUri();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                while (buffer.isEmpty() && next != null) {
+                    try (Response response = client.target(next)
+                            .request(MediaType.APPLICATION_JSON)
+                            .get()) {
+                        if (response.getStatus() != 200)
+                            throw new IllegalStateException("GET " + next + " returned HTTP " + response.getStatus());
+                        Link link = response.getLink("next");
+                        next = link == null ? null : link.getUri();
+                        buffer.addAll(response.readEntity(type));
+                    }
+                }
+                if (buffer.isEmpty())
+                    return false;
+                action.accept(buffer.poll());
+                return true;
+            }
+        };
+        return StreamSupport.stream(it, false);
+    }
 }
\ No newline at end of file
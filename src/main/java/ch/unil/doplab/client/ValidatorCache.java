@@ -0,0 +1,101 @@
+package ch.unil.doplab.client;
+
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Conditional GETs for JobFinderClient. Keeps the ETag and body of each
+ * 200 GET response, keyed by URI, and sends the ETag as If-None-Match
+ * the next time the URI is read. A 304 is turned back into the stored 200,
+ * so callers see no difference; an unchanged resource only costs a
+ * request and response headers.
+ *
+ * LRU bounded by total body size: -Djobfinder.client.cacheBytes (32 MB).
+ */
+final class ValidatorCache implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final long MAX_BYTES = Long.getLong("jobfinder.client.cacheBytes", 32L << 20);
+    private static final String ENTRY = ValidatorCache.class.getName() + ".entry";
+
+    private record Entry(String etag, byte[] body, String contentType, List<String> links) {
+    }
+
+    private final LinkedHashMap<URI, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    @Override
+    public void filter(ClientRequestContext request) {
+        if (!"GET".equals(request.getMethod()))
+            return;
+        Entry e = get(request.getUri());
+        if (e != null) {
+            // remembered on the request: the entry may be evicted before the 304 comes back
+            request.setProperty(ENTRY, e);
+            request.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, e.etag());
+        }
+    }
+
+    @Override
+    public void filter(ClientRequestContext request, ClientResponseContext response) throws IOException {
+        if (!"GET".equals(request.getMethod()))
+            return;
+        URI uri = request.getUri();
+
+        if (response.getStatus() == 304 && request.getProperty(ENTRY) instanceof Entry e) {
+            response.setStatus(200);
+            if (e.contentType() != null)
+                response.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, e.contentType());
+            if (!e.links().isEmpty())
+                response.getHeaders().put(HttpHeaders.LINK, e.links());
+            response.setEntityStream(new ByteArrayInputStream(e.body()));
+            return;
+        }
+        if (response.getStatus() != 200)
+            return;
+
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        if (etag == null || !response.hasEntity()) {
+            remove(uri);
+            return;
+        }
+        byte[] body = response.getEntityStream().readAllBytes();
+        response.setEntityStream(new ByteArrayInputStream(body));
+        List<String> links = response.getHeaders().get(HttpHeaders.LINK);
+        put(uri, new Entry(etag, body, response.getHeaderString(HttpHeaders.CONTENT_TYPE),
+                links == null ? List.of() : List.copyOf(links)));
+    }
+
+    private synchronized Entry get(URI uri) {
+        return entries.get(uri);
+    }
+
+    private synchronized void remove(URI uri) {
+        Entry old = entries.remove(uri);
+        if (old != null)
+            bytes -= old.body().length;
+    }
+
+    private synchronized void put(URI uri, Entry e) {
+        remove(uri);
+        if (e.body().length > MAX_BYTES / 4)
+            return; // one huge listing would flush everything else
+        entries.put(uri, e);
+        bytes += e.body().length;
+        Iterator<Map.Entry<URI, Entry>> it = entries.entrySet().iterator();
+        while (bytes > MAX_BYTES && it.hasNext()) {
+            bytes -= it.next().getValue().body().length;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ch.unil.doplab.service.cluster;
+
+import java.util.UUID;
+
+/**
+ * "Entity X changed" notification exchanged between JobFinder nodes.
+ *
+ * The event carries no payload: peers re-read the row from the shared DB.
+ * A null id with type ALL means "reload everything" (populate/clear DB).
+ */
+public class CacheEvent {
+
+    public enum EntityType {
+        EMPLOYER, APPLICANT, COMPANY, JOB_OFFER, APPLICATION, INTERVIEW, ALL
+    }
+
+    private final String nodeId;
+    private final EntityType type;
+    private final UUID id;
+    private final long version;
+
+    public CacheEvent(String nodeId, EntityType type, UUID id, long version) {
+        this.nodeId = nodeId;
+        this.type = type;
+        this.id = id;
+        this.version = version;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public EntityType getType() {
+        return type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Wire format: nodeId|TYPE|id|version
+    public String encode() {
+        return nodeId + "|" + type.name() + "|" + (id == null ? "" : id.toString()) + "|" + version;
+    }
+
+    public static CacheEvent decode(String line) {
+        String[] parts = line.trim().split("\\|", -1);
+        if (parts.length != 4)
+            throw new IllegalArgumentException("Malformed cache event: " + line);
+        UUID id = parts[2].isEmpty() ? null : UUID.fromString(parts[2]);
+        return new CacheEvent(parts[0], EntityType.valueOf(parts[1]), id, Long.parseLong(parts[3]));
+    }
+
+    @Override
+    public String toString() {
+        return "CacheEvent{node=%s, type=%s, id=%s, version=%d}".formatted(nodeId, type, id, version);
+    }
+}
@@ -0,0 +1,177 @@
+package ch.unil.doplab.service.cluster;
+
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.net.SocketException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publishes "entity changed" events to the other JobFinder nodes and hands
+ * the peers' events to the local listeners (ApplicationState).
+ *
+ * Configured with system properties:
+ *   jobfinder.bus.transport = none (default) | loopback | socket
+ *   jobfinder.bus.port      = local UDP port (socket transport)
+ *   jobfinder.bus.peers     = comma separated peer ports or host:port
+ *   jobfinder.bus.dedupKeys = entities remembered to drop duplicates (10000)
+ *
+ * Events raised inside a JTA transaction are only sent after it commits, so
+ * peers never re-read a row before it is visible in the DB.
+ *
+ * Received events run on the executor, but never two for the same entity
+ * at once: a listener re-reading the row for an older event could
+ * otherwise cache its copy after the one read for the newer event. Events
+ * arriving for an entity while one runs are coalesced into one more run,
+ * since the listener re-reads the current row anyway.
+ */
+@ApplicationScoped
+public class CacheInvalidationBus {
+
+    @Resource
+    private TransactionSynchronizationRegistry txRegistry;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    private static final int DEDUP_KEYS = Integer.getInteger("jobfinder.bus.dedupKeys", 10_000);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong sequence = new AtomicLong();
+    private final java.util.List<Consumer<CacheEvent>> listeners = new CopyOnWriteArrayList<>();
+    /*
+     * Last version applied per (node, type, id), to drop reordered
+     * duplicates; least recently seen keys go first. A duplicate that
+     * comes after its key was dropped only costs one extra re-read.
+     */
+    private final Map<String, Long> lastApplied = new LinkedHashMap<>(1024, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > DEDUP_KEYS;
+        }
+    };
+
+    // (type, id) -> latest event not yet dispatched; a key is present while its dispatcher runs
+    private final ConcurrentHashMap<String, CacheEvent> pending = new ConcurrentHashMap<>();
+
+    private CacheTransport transport;
+
+    @PostConstruct
+    public void init() {
+        String kind = System.getProperty("jobfinder.bus.transport", "none");
+        try {
+            switch (kind.toLowerCase()) {
+                case "loopback" -> transport = new LoopbackTransport();
+                case "socket" -> transport = new LocalSocketTransport(
+                        Integer.getInteger("jobfinder.bus.port", 7701),
+                        System.getProperty("jobfinder.bus.peers", ""));
+                default -> transport = null;
+            }
+        } catch (SocketException e) {
+            System.err.println("Cache bus disabled, cannot open socket: " + e.getMessage());
+            transport = null;
+        }
+        if (transport != null)
+            transport.subscribe(this::receive);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (transport != null)
+            transport.close();
+    }
+
+    public boolean isEnabled() {
+        return transport != null;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void addListener(Consumer<CacheEvent> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Announces a change of one entity (or of everything when type is ALL).
+     */
+    public void publish(EntityType type, UUID id) {
+        if (transport == null)
+            return;
+        CacheEvent event = new CacheEvent(nodeId, type, id, sequence.incrementAndGet());
+
+        if (txRegistry != null && txRegistry.getTransactionStatus() == Status.STATUS_ACTIVE) {
+            txRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED)
+                        transport.publish(event);
+                }
+            });
+        } else {
+            transport.publish(event);
+        }
+    }
+
+    private void receive(CacheEvent event) {
+        if (nodeId.equals(event.getNodeId()))
+            return; // our own event (loopback)
+
+        if (event.getType() != EntityType.ALL) {
+            String key = event.getNodeId() + "|" + event.getType() + "|" + event.getId();
+            synchronized (lastApplied) {
+                Long previous = lastApplied.get(key);
+                if (previous != null && previous >= event.getVersion())
+                    return;
+                lastApplied.put(key, event.getVersion());
+            }
+        }
+
+        String entity = event.getType() + "|" + event.getId();
+        if (pending.put(entity, event) != null)
+            return; // the running dispatcher picks it up
+        if (executor != null)
+            executor.execute(() -> drain(entity));
+        else
+            drain(entity);
+    }
+
+    // dispatches the entity's latest event until no newer one came in meanwhile
+    private void drain(String entity) {
+        while (true) {
+            CacheEvent event = pending.get(entity);
+            dispatch(event);
+            if (pending.remove(entity, event))
+                return;
+        }
+    }
+
+    private void dispatch(CacheEvent event) {
+        for (Consumer<CacheEvent> l : listeners) {
+            try {
+                l.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Cache bus listener failed for " + event + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ch.unil.doplab.service.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Pluggable channel used by the CacheInvalidationBus to reach the other nodes.
+ */
+public interface CacheTransport {
+
+    void publish(CacheEvent event);
+
+    void subscribe(Consumer<CacheEvent> listener);
+
+    void close();
+}
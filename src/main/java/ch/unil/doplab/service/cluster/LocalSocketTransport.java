@@ -0,0 +1,98 @@
+package ch.unil.doplab.service.cluster;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * UDP transport on the loopback interface, so that several Payara instances
+ * on one machine can exchange cache events.
+ *
+ * Each node listens on its own port and sends every event to the listed peer
+ * ports. Events are tiny and idempotent, so a lost datagram only means one
+ * entry stays stale until its next change.
+ */
+public class LocalSocketTransport implements CacheTransport {
+
+    private final DatagramSocket socket;
+    private final List<InetSocketAddress> peers = new ArrayList<>();
+    private final List<Consumer<CacheEvent>> listeners = new CopyOnWriteArrayList<>();
+    private final Thread receiver;
+    private volatile boolean running = true;
+
+    /**
+     * @param port  local port to listen on
+     * @param peers comma separated "port" or "host:port" entries
+     */
+    public LocalSocketTransport(int port, String peers) throws SocketException {
+        this.socket = new DatagramSocket(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        if (peers != null) {
+            for (String p : peers.split(",")) {
+                String t = p.trim();
+                if (t.isEmpty())
+                    continue;
+                int colon = t.lastIndexOf(':');
+                String host = colon < 0 ? InetAddress.getLoopbackAddress().getHostAddress() : t.substring(0, colon);
+                int peerPort = Integer.parseInt(colon < 0 ? t : t.substring(colon + 1));
+                this.peers.add(new InetSocketAddress(host, peerPort));
+            }
+        }
+
+        this.receiver = new Thread(this::receiveLoop, "jobfinder-cache-bus-" + port);
+        this.receiver.setDaemon(true);
+        this.receiver.start();
+    }
+
+    private void receiveLoop() {
+        byte[] buf = new byte[512];
+        while (running) {
+            DatagramPacket packet = new DatagramPacket(buf, buf.length);
+            try {
+                socket.receive(packet);
+                String line = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+                CacheEvent event = CacheEvent.decode(line);
+                for (Consumer<CacheEvent> l : listeners) {
+                    l.accept(event);
+                }
+            } catch (IOException e) {
+                if (!running)
+                    return;
+                System.err.println("Cache bus receive failed: " + e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("Cache bus dropped event: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void publish(CacheEvent event) {
+        byte[] data = event.encode().getBytes(StandardCharsets.UTF_8);
+        for (InetSocketAddress peer : peers) {
+            try {
+                socket.send(new DatagramPacket(data, data.length, peer));
+            } catch (IOException e) {
+                System.err.println("Cache bus send to " + peer + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheEvent> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        socket.close();
+        listeners.clear();
+    }
+}
@@ -0,0 +1,35 @@
+package ch.unil.doplab.service.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process transport: every node created in the same JVM (same class
+ * loader) sees every event. Meant for tests and single-JVM setups.
+ */
+public class LoopbackTransport implements CacheTransport {
+
+    private static final List<Consumer<CacheEvent>> SUBSCRIBERS = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<CacheEvent>> mine = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheEvent event) {
+        for (Consumer<CacheEvent> s : SUBSCRIBERS) {
+            s.accept(event);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheEvent> listener) {
+        mine.add(listener);
+        SUBSCRIBERS.add(listener);
+    }
+
+    @Override
+    public void close() {
+        SUBSCRIBERS.removeAll(mine);
+        mine.clear();
+    }
+}
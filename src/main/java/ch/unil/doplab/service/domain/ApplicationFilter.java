@@ -0,0 +1,26 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Criteria of ApplicationState.findApplications; null means "any". An
+ * application matches when it meets every criterion. submittedFrom is
+ * inclusive, submittedTo exclusive; a date bound leaves out applications
+ * without a submission date.
+ */
+public record ApplicationFilter(UUID applicantId,
+                                UUID jobOfferId,
+                                UUID employerId,
+                                UUID companyId,
+                                ApplicationStatus status,
+                                LocalDateTime submittedFrom,
+                                LocalDateTime submittedTo) {
+
+    public boolean isEmpty() {
+        return applicantId == null && jobOfferId == null && employerId == null && companyId == null
+                && status == null && submittedFrom == null && submittedTo == null;
+    }
+}
@@ -1,17 +1,42 @@
 package ch.unil.doplab.service.domain;
 
 import ch.unil.doplab.*;
+import ch.unil.doplab.service.cluster.CacheEvent;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+import ch.unil.doplab.service.cluster.CacheInvalidationBus;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.NotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @ApplicationScoped
 public class ApplicationState {
@@ -19,12 +44,88 @@ public class ApplicationState {
     @PersistenceContext(unitName = "jobfinderPU")
     private EntityManager em;
 
-    private Map<UUID, Employer> employers;
-    private Map<UUID, Applicant> applicants;
-    private Map<UUID, Company> companies;
-    private Map<UUID, JobOffer> jobOffers;
-    private Map<UUID, Application> applications;
-    private Map<UUID, Interview> interviews;
+    // used by the warm-up loaders, which run outside any transaction
+    @PersistenceUnit(unitName = "jobfinderPU")
+    private EntityManagerFactory emf;
+
+    @Resource
+    private ManagedExecutorService executor;
+
+    // delays the retries of a failed warm-up
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    @Inject
+    private CacheInvalidationBus bus;
+
+    @Resource
+    private TransactionSynchronizationRegistry txRegistry;
+
+    @Inject
+    private ChunkTransaction chunkTx;
+
+    @Inject
+    private MatchEngine matchEngine;
+
+    @Inject
+    private RescoreQueue rescoreQueue;
+
+    // registry key of the PendingCacheWrites of the current transaction
+    private final Object pendingKey = new Object();
+
+    /**
+     * "async" (default): caches are filled in the background by parallel
+     * keyset-paged loaders and reads go to the DB until warm-up is done.
+     * "sync": the historical blocking load in @PostConstruct.
+     */
+    private static final String WARMUP_MODE = System.getProperty("jobfinder.warmup.mode", "async");
+    private static final int WARMUP_PAGE_SIZE = Integer.getInteger("jobfinder.warmup.pageSize", 1000);
+    // a failed warm-up is retried after 1, 2, 4, ... s, at most this far apart
+    private static final long WARMUP_RETRY_MAX_MS = Long.getLong("jobfinder.warmup.retryMaxMs", 300_000);
+    private static final int STREAM_PAGE_SIZE = Integer.getInteger("jobfinder.stream.pageSize", 500);
+    // most offers scored per recommendation request (best term overlap first)
+    private static final int RECOMMEND_MAX_CANDIDATES = Integer.getInteger("jobfinder.recommend.maxCandidates", 2000);
+    // most applicants scored per candidate ranking request
+    private static final int CANDIDATES_MAX_SCORED = Integer.getInteger("jobfinder.candidates.maxCandidates", 2000);
+    // rows per transaction in the batch create endpoints
+    private static final int BATCH_CHUNK_SIZE = Integer.getInteger("jobfinder.batch.chunkSize", 500);
+    // scoring tasks, on the managed executor, used to re-rank the applications of an offer
+    private static final int RESCORE_PARALLELISM = Integer.getInteger("jobfinder.rescore.parallelism",
+            Runtime.getRuntime().availableProcessors());
+    // fewer applications than this per task are scored on the caller
+    private static final int RESCORE_MIN_CHUNK = 256;
+
+    // RESCORE_PARALLELISM; a field so tests can fork whatever the number of CPUs
+    private int rescoreParallelism = RESCORE_PARALLELISM;
+    private final WarmupProgress warmup = new WarmupProgress();
+    private volatile boolean warm;
+    // bumped by every (re)load: loaders of an older one stop writing
+    private final AtomicInteger warmupGeneration = new AtomicInteger();
+    private final AtomicInteger warmupFailures = new AtomicInteger();
+    // ids deleted while warm-up runs, so loaders don't resurrect them
+    private final Set<UUID> removedDuringWarmup = ConcurrentHashMap.newKeySet();
+
+    private EntityStore<Employer> employers;
+    private EntityStore<Applicant> applicants;
+    private EntityStore<Company> companies;
+    private EntityStore<JobOffer> jobOffers;
+    private EntityStore<Application> applications;
+    private EntityStore<Interview> interviews;
+
+    // Secondary indexes (authoritative for the inverse relations)
+    private final RelationIndex appsByApplicant = new RelationIndex();
+    private final RelationIndex appsByOffer = new RelationIndex();
+    private final RelationIndex offersByEmployer = new RelationIndex();
+    private final RelationIndex offersByCompany = new RelationIndex();
+
+    // createdAt-ordered listings served by listJobOffers
+    private final OfferListingView offerView = new OfferListingView();
+    // skill term -> open offers, for recommendations
+    private final SkillIndex<JobOffer> skillIndex = SkillIndex.forOffers();
+    // skill term -> applicants, for candidate ranking
+    private final SkillIndex<Applicant> applicantIndex = SkillIndex.forApplicants();
+    // ETag / Last-Modified validators of the REST layer
+    private final EntityVersions versions = new EntityVersions();
 
     // ======================================================
     // INIT / LOAD
@@ -32,20 +133,233 @@ public class ApplicationState {
 
     @PostConstruct
     public void init() {
-        employers = new HashMap<>();
-        applicants = new HashMap<>();
-        companies = new HashMap<>();
-        jobOffers = new HashMap<>();
-        applications = new HashMap<>();
-        interviews = new HashMap<>();
+        employers = newStore("employers", e -> 1);
+        applicants = newStore("applicants", a -> 1 + textWeight(a.getDescriptionInfo())
+                + textWeight(a.getCvInfo()) + a.getSkills().size() / 16);
+        companies = newStore("companies", c -> 1 + textWeight(c.getDescription()));
+        jobOffers = newStore("jobOffers", o -> 1 + textWeight(o.getDescription())
+                + (o.getRequiredSkills().size() + o.getRequiredQualifications().size()) / 16);
+        applications = newStore("applications", a -> 1);
+        interviews = newStore("interviews", i -> 1);
+
+        bus.addListener(this::onPeerEvent);
 
-        loadFromDatabase();
+        if ("sync".equalsIgnoreCase(WARMUP_MODE) || executor == null) {
+            loadFromDatabase();
+        } else {
+            startWarmup();
+        }
+    }
+
+    /**
+     * Unbounded store unless -Djobfinder.cache.<name>.maxWeight is set. One
+     * weight unit is roughly one small entity (see textWeight).
+     */
+    private static <T> EntityStore<T> newStore(String name, java.util.function.ToIntFunction<T> weigher) {
+        Long maxWeight = Long.getLong("jobfinder.cache." + name + ".maxWeight");
+        return maxWeight == null ? new EntityStore<>(name) : new EntityStore<>(name, maxWeight, weigher);
+    }
+
+    // one extra weight unit per KB of text
+    private static int textWeight(String s) {
+        return s == null ? 0 : s.length() / 1024;
+    }
+
+    /**
+     * True when the given stores can answer listings and index lookups:
+     * warm-up is done and none of them is a bounded (partial) cache.
+     */
+    private boolean fromCache(EntityStore<?>... stores) {
+        if (!warm)
+            return false;
+        for (EntityStore<?> st : stores) {
+            if (!st.isComplete())
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Keyset page in EntityStore.ID_ORDER: from the store once it is warm
+     * and complete, else "WHERE id > :after ORDER BY id" on the DB.
+     */
+    private <T> List<T> page(EntityStore<T> store, Class<T> cls, UUID after, int limit) {
+        if (fromCache(store))
+            return store.page(after, limit);
+        String jpql = "SELECT e FROM " + cls.getSimpleName() + " e"
+                + (after == null ? "" : " WHERE e.id > :after") + " ORDER BY e.id";
+        TypedQuery<T> q = em.createQuery(jpql, cls).setMaxResults(limit);
+        if (after != null)
+            q.setParameter("after", after);
+        return q.getResultList();
+    }
+
+    // ======================================================
+    // STREAMED LISTINGS (flat memory, see JsonStreams)
+    // ======================================================
+
+    /*
+     * The whole listing, one keyset page at a time as the stream is
+     * consumed: from the store while it is complete, else one short DB
+     * query per page. Like any cursor, a row changed during the walk may
+     * show either version.
+     */
+
+    public Stream<Employer> streamEmployers() {
+        return walk(last -> listEmployers(last == null ? null : last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    public Stream<Applicant> streamApplicants() {
+        return walk(last -> listApplicants(last == null ? null : last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    public Stream<Company> streamCompanies() {
+        return walk(last -> listCompanies(last == null ? null : last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    public Stream<Application> streamApplications() {
+        return walk(last -> listApplications(last == null ? null : last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    public Stream<Interview> streamInterviews() {
+        return walk(last -> listInterviews(last == null ? null : last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    /** Newest first, as listJobOffers. */
+    public Stream<JobOffer> streamJobOffers(UUID employerId) {
+        return walk(last -> last == null
+                ? listJobOffers(employerId, null, null, STREAM_PAGE_SIZE)
+                : listJobOffers(employerId, last.getCreatedAt(), last.getId(), STREAM_PAGE_SIZE));
+    }
+
+    private static <T> Stream<T> walk(Function<T, List<T>> pageAfter) {
+        Iterator<T> it = new Iterator<>() {
+            private List<T> page = pageAfter.apply(null);
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                if (i < page.size())
+                    return true;
+                if (page.size() < STREAM_PAGE_SIZE)
+                    return false;
+                page = pageAfter.apply(page.get(page.size() - 1));
+                i = 0;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return page.get(i++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false);
+    }
+
+    // ======================================================
+    // SPARSE FIELDSETS (?fields=, see Projection)
+    // ======================================================
+
+    /**
+     * Keyset page of the listing of fields.type() for a sparse fieldset:
+     * entities from the store while it is complete; else, when every field
+     * is a basic column, rows of just those columns (a JPQL projection
+     * skips the long texts and element collections); else entities.
+     */
+    public List<Object> listProjected(Projection fields, UUID after, int limit) {
+        Class<?> type = fields.type();
+        if (type == Applicant.class)
+            return page(applicants, Applicant.class, fields, after, limit);
+        if (type == Employer.class)
+            return page(employers, Employer.class, fields, after, limit);
+        if (type == Company.class)
+            return page(companies, Company.class, fields, after, limit);
+        if (type == Application.class)
+            return page(applications, Application.class, fields, after, limit);
+        if (type == Interview.class)
+            return page(interviews, Interview.class, fields, after, limit);
+        throw new IllegalArgumentException("No id-ordered listing of " + type.getSimpleName());
+    }
+
+    public Stream<Object> streamProjected(Projection fields) {
+        return walk(last -> listProjected(fields, last == null ? null : (UUID) Projection.get(last, "id"),
+                STREAM_PAGE_SIZE));
+    }
+
+    public Stream<Object> streamJobOffers(UUID employerId, Projection fields) {
+        return walk(last -> last == null
+                ? listJobOffers(employerId, null, null, STREAM_PAGE_SIZE, fields)
+                : listJobOffers(employerId, (LocalDateTime) Projection.get(last, "createdAt"),
+                        (UUID) Projection.get(last, "id"), STREAM_PAGE_SIZE, fields));
+    }
+
+    private <T> List<Object> page(EntityStore<T> store, Class<T> cls, Projection fields, UUID after, int limit) {
+        List<String> columns = fromCache(store) ? null : columns(cls, fields);
+        if (columns == null)
+            return Collections.unmodifiableList(page(store, cls, after, limit));
+        String jpql = "SELECT " + select("e", columns) + " FROM " + cls.getSimpleName() + " e"
+                + (after == null ? "" : " WHERE e.id > :after") + " ORDER BY e.id";
+        TypedQuery<Tuple> q = em.createQuery(jpql, Tuple.class).setMaxResults(limit);
+        if (after != null)
+            q.setParameter("after", after);
+        return rows(q.getResultList(), columns);
+    }
+
+    /**
+     * The fields plus the listing's cursor keys, when all are basic
+     * attributes of the entity; null when one is not a column (element
+     * collection, relation, derived getter).
+     */
+    private List<String> columns(Class<?> cls, Projection fields, String... keys) {
+        Set<String> names = new LinkedHashSet<>(fields.fields());
+        names.addAll(List.of(keys));
+        ManagedType<?> type = em.getMetamodel().managedType(cls);
+        for (String name : names) {
+            Attribute<?, ?> attribute;
+            try {
+                attribute = type.getAttribute(name);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC)
+                return null;
+        }
+        return List.copyOf(names);
+    }
+
+    private static String select(String alias, List<String> columns) {
+        return columns.stream().map(c -> alias + "." + c).collect(Collectors.joining(", "));
+    }
+
+    private static List<Object> rows(List<Tuple> tuples, List<String> columns) {
+        List<Object> rows = new ArrayList<>(tuples.size());
+        for (Tuple t : tuples) {
+            Map<String, Object> row = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++)
+                row.put(columns.get(i), t.get(i));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    public Map<String, Object> getCacheStats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (EntityStore<?> st : List.of(employers, applicants, companies, jobOffers, applications, interviews)) {
+            out.put(st.getName(), st.stats());
+        }
+        out.put("matchScores", matchEngine.scoreCacheStats());
+        return out;
     }
 
     /**
      * Loads all rows from DB into RAM caches and rebuilds inverse lists.
      */
     private void loadFromDatabase() {
+        warmupGeneration.incrementAndGet();
+        warm = false;
+        removedDuringWarmup.clear();
         clearObjects();
 
         for (Employer e : em.createQuery("SELECT e FROM Employer e", Employer.class).getResultList()) {
@@ -54,12 +368,16 @@ public class ApplicationState {
         for (Applicant a : em.createQuery(
                 "SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", Applicant.class).getResultList()) {
             applicants.put(a.getId(), a);
+            if (!applicants.isComplete())
+                applicantIndex.upsert(a);
         }
         for (Company c : em.createQuery("SELECT c FROM Company c", Company.class).getResultList()) {
             companies.put(c.getId(), c);
         }
         for (JobOffer o : em.createQuery("SELECT o FROM JobOffer o", JobOffer.class).getResultList()) {
             jobOffers.put(o.getId(), o);
+            if (!jobOffers.isComplete())
+                indexOffer(o);
         }
         for (Application app : em.createQuery("SELECT a FROM Application a", Application.class).getResultList()) {
             applications.put(app.getId(), app);
@@ -77,57 +395,252 @@ public class ApplicationState {
         }
 
         rebuildInverseRelations(); // ✅ this was missing
+        removedDuringWarmup.clear();
+        warm = true;
+        versions.ready();
+        warmup.ready();
     }
 
-    private void rebuildInverseRelations() {
+    // ======================================================
+    // ASYNC WARM-UP (parallel, keyset-paged)
+    // ======================================================
 
-        for (Employer e : employers.values()) {
-            if (e.getJobOfferIds() != null)
-                e.getJobOfferIds().clear();
-        }
-        for (Company c : companies.values()) {
-            if (c.getEmployerIds() != null)
-                c.getEmployerIds().clear();
-            if (c.getJobOfferIds() != null)
-                c.getJobOfferIds().clear();
-        }
-        for (Applicant a : applicants.values()) {
-            if (a.getApplicationIds() != null)
-                a.getApplicationIds().clear();
+    private void startWarmup() {
+        int generation = warmupGeneration.incrementAndGet();
+        warm = false;
+        removedDuringWarmup.clear();
+        warmup.start();
+
+        // bounded stores are filled on demand, warming them would only churn
+        List<CompletableFuture<?>> loaders = new ArrayList<>();
+        if (employers.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "employers", Employer.class,
+                    "SELECT e FROM Employer e", null, e -> cacheLoaded(generation, employers, e.getId(), e)), executor));
+        if (applicants.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "applicants", Applicant.class,
+                    "SELECT a FROM Applicant a", "a.skills", a -> cacheLoaded(generation, applicants, a.getId(), a)), executor));
+        else
+            // the store keeps only part of them, but ranking needs every applicant's terms
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "applicants", Applicant.class,
+                    "SELECT a FROM Applicant a", "a.skills", a -> indexLoaded(generation, applicantIndex, a.getId(), a)), executor));
+        if (companies.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "companies", Company.class,
+                    "SELECT c FROM Company c", null, c -> cacheLoaded(generation, companies, c.getId(), c)), executor));
+        if (jobOffers.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "jobOffers", JobOffer.class,
+                    "SELECT o FROM JobOffer o", null, o -> cacheLoaded(generation, jobOffers, o.getId(), o)), executor));
+        else
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "jobOffers", JobOffer.class,
+                    "SELECT o FROM JobOffer o", null, o -> {
+                        if (OPEN_STATUSES.contains(o.getStatus()))
+                            indexLoaded(generation, skillIndex, o.getId(), o);
+                    }), executor));
+        if (applications.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> warmType(generation, "applications", Application.class,
+                    "SELECT a FROM Application a", null, a -> cacheLoaded(generation, applications, a.getId(), a)), executor));
+        if (interviews.isComplete())
+            loaders.add(CompletableFuture.runAsync(() -> {
+                try {
+                    warmType(generation, "interviews", Interview.class,
+                            "SELECT i FROM Interview i", null, i -> cacheLoaded(generation, interviews, i.getId(), i));
+                } catch (Exception ignored) {
+                    // interviews table doesn't exist yet - that's OK
+                }
+            }, executor));
+
+        CompletableFuture.allOf(loaders.toArray(new CompletableFuture<?>[0])).whenComplete((ok, err) -> {
+            if (generation != warmupGeneration.get())
+                return; // superseded by a later reload
+            if (err != null) {
+                warmup.failed(err);
+                retryWarmup(generation, warmupFailures.incrementAndGet(), err);
+                return;
+            }
+            warmupFailures.set(0);
+            rebuildInverseRelations();
+            removedDuringWarmup.clear();
+            warm = true;
+            versions.ready();
+            warmup.ready();
+            // keep the warm-up traffic out of the hit/miss counters
+            for (EntityStore<?> st : List.of(employers, applicants, companies, jobOffers, applications, interviews))
+                st.resetStats();
+            matchEngine.resetStats();
+        });
+    }
+
+    /**
+     * A loader failed (DB down, ...): reads stay on the DB path and the
+     * whole warm-up starts over after a backoff, unless a reload already
+     * did. Without a scheduler the historical blocking load is used.
+     */
+    private void retryWarmup(int generation, int failures, Throwable err) {
+        if (scheduler == null) {
+            System.err.println("[ApplicationState] cache warm-up failed, loading synchronously: " + err);
+            try {
+                loadFromDatabase();
+            } catch (RuntimeException e) {
+                warmup.failed(e);
+                System.err.println("[ApplicationState] blocking cache load failed, reads stay on the DB: " + e);
+            }
+            return;
+        }
+        long delay = Math.min(WARMUP_RETRY_MAX_MS, 1000L << Math.min(failures - 1, 20));
+        System.err.println("[ApplicationState] cache warm-up failed (attempt " + failures + "), retrying in "
+                + delay + " ms: " + err);
+        Runnable retry = () -> {
+            if (generation != warmupGeneration.get())
+                return;
+            try {
+                reloadAll();
+            } catch (RuntimeException e) {
+                warmup.failed(e);
+                retryWarmup(warmupGeneration.get(), warmupFailures.incrementAndGet(), e);
+            }
+        };
+        try {
+            scheduler.schedule(retry, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down
         }
-        for (JobOffer o : jobOffers.values()) {
-            if (o.getApplicationIds() != null)
-                o.getApplicationIds().clear();
+    }
+
+    /**
+     * Loads one entity type page by page ordered by id ("WHERE id > last"),
+     * with a fresh EntityManager per page so the persistence context never
+     * holds more than one page. Stops early once a later reload started.
+     */
+    private <T> void warmType(int generation, String type, Class<T> cls, String baseJpql, String batchFetch,
+                              Consumer<T> sink) {
+        String alias = baseJpql.substring(baseJpql.lastIndexOf(' ') + 1);
+        EntityManager countEm = emf.createEntityManager();
+        try {
+            String countJpql = "SELECT COUNT(" + alias + ") " + baseJpql.substring(baseJpql.indexOf(" FROM "));
+            warmup.expect(type, countEm.createQuery(countJpql, Long.class).getSingleResult());
+        } finally {
+            countEm.close();
         }
 
-        // Link JobOffer -> Employer and Company
-        for (JobOffer o : jobOffers.values()) {
-            UUID empId = o.getEmployerId();
-            if (empId != null) {
-                Employer e = employers.get(empId);
-                if (e != null)
-                    e.addJobOfferId(o.getId());
+        UUID last = null;
+        while (true) {
+            EntityManager pageEm = emf.createEntityManager();
+            List<T> page;
+            try {
+                String jpql = baseJpql + (last == null ? "" : " WHERE " + alias + ".id > :last")
+                        + " ORDER BY " + alias + ".id";
+                TypedQuery<T> q = pageEm.createQuery(jpql, cls).setMaxResults(WARMUP_PAGE_SIZE);
+                if (last != null)
+                    q.setParameter("last", last);
+                if (batchFetch != null) {
+                    // load element collections with one IN query per page instead of a join
+                    q.setHint("eclipselink.batch", batchFetch);
+                    q.setHint("eclipselink.batch.type", "IN");
+                }
+                page = q.getResultList();
+                for (T entity : page)
+                    sink.accept(entity);
+            } finally {
+                pageEm.close();
             }
 
-            UUID compId = o.getCompanyId();
-            if (compId != null) {
-                Company c = companies.get(compId);
-                if (c != null)
-                    c.addJobOfferId(o.getId());
-            }
+            warmup.loaded(type, page.size());
+            if (page.size() < WARMUP_PAGE_SIZE || generation != warmupGeneration.get())
+                return;
+            last = idOf(page.get(page.size() - 1));
         }
+    }
 
-        // Link Application -> JobOffer and Applicant
-        for (Application a : applications.values()) {
-            JobOffer offer = jobOffers.get(a.getJobOfferId());
-            if (offer != null)
-                offer.addApplicationId(a.getId());
+    private static UUID idOf(Object entity) {
+        if (entity instanceof User u)
+            return u.getId();
+        if (entity instanceof Company c)
+            return c.getId();
+        if (entity instanceof JobOffer o)
+            return o.getId();
+        if (entity instanceof Application a)
+            return a.getId();
+        if (entity instanceof Interview i)
+            return i.getId();
+        throw new IllegalArgumentException("Not a JobFinder entity: " + entity);
+    }
+
+    /**
+     * Loader write: never overwrites an entry a request already cached and
+     * never brings back an entity deleted meanwhile. The stores are emptied
+     * before every (re)load, so what is already there was cached during
+     * this one.
+     */
+    private <T> void cacheLoaded(int generation, EntityStore<T> store, UUID id, T entity) {
+        if (id == null || generation != warmupGeneration.get() || removedDuringWarmup.contains(id)
+                || store.contains(id))
+            return;
+        store.put(id, entity);
+    }
+
+    /** cacheLoaded for the skill index of a bounded store. */
+    private <T> void indexLoaded(int generation, SkillIndex<T> index, UUID id, T entity) {
+        if (id == null || generation != warmupGeneration.get() || removedDuringWarmup.contains(id)
+                || index.contains(id))
+            return;
+        index.upsert(entity);
+    }
+
+    /** Call before dropping the id's edges, see relink. */
+    private void markRemoved(UUID id) {
+        if (!warm && id != null)
+            removedDuringWarmup.add(id);
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public WarmupProgress getWarmupProgress() {
+        return warmup;
+    }
+
+    private void rebuildInverseRelations() {
+        appsByApplicant.clear();
+        appsByOffer.clear();
+        offersByEmployer.clear();
+        offersByCompany.clear();
+        // a bounded store's skill index was filled by the loader, from every row
+        if (jobOffers.isComplete()) {
+            List<JobOffer> all = jobOffers.values();
+            offerView.rebuild(all);
+            skillIndex.rebuild(all.stream().filter(o -> OPEN_STATUSES.contains(o.getStatus())).toList());
+        } else {
+            offerView.clear();
+        }
+        // a bounded store's index was filled by the loader, from every row
+        if (applicants.isComplete())
+            applicantIndex.rebuild(applicants.values());
+
+        for (Company c : companies.values())
+            c.replaceEmployerIds(List.of());
+
+        // Index JobOffer -> Employer and Company
+        for (JobOffer o : jobOffers.values()) {
+            relink(offersByEmployer, o.getEmployerId(), o.getId());
+            relink(offersByCompany, o.getCompanyId(), o.getId());
+        }
 
-            Applicant ap = applicants.get(a.getApplicantId());
-            if (ap != null)
-                ap.addApplicationId(a.getId());
+        // Index Application -> JobOffer and Applicant
+        for (Application a : applications.values()) {
+            relink(appsByOffer, a.getJobOfferId(), a.getId());
+            relink(appsByApplicant, a.getApplicantId(), a.getId());
         }
 
+        // Copy the indexes into the @Transient id lists exposed in JSON
+        for (Employer e : employers.values())
+            hydrate(e);
+        for (Company c : companies.values())
+            hydrate(c);
+        for (Applicant a : applicants.values())
+            hydrate(a);
+        for (JobOffer o : jobOffers.values())
+            hydrate(o);
+
         // Link Company <-> owner Employer
         for (Company c : companies.values()) {
             UUID ownerId = c.getOwnerEmployerId();
@@ -141,13 +654,319 @@ public class ApplicationState {
         }
     }
 
+    /**
+     * Re-adds an edge of the store snapshot, unless a request deleted one
+     * end meanwhile. Deletes mark the id (markRemoved) before dropping its
+     * edges, so either the delete runs after the add and drops the edge
+     * itself, or the mark is already visible to the check that follows it.
+     */
+    private void relink(RelationIndex index, UUID key, UUID value) {
+        index.add(key, value);
+        if (removedDuringWarmup.contains(value) || (key != null && removedDuringWarmup.contains(key)))
+            index.remove(key, value);
+    }
+
     private void clearObjects() {
+        versions.restart();
         employers.clear();
         applicants.clear();
         companies.clear();
         jobOffers.clear();
         applications.clear();
         interviews.clear();
+        appsByApplicant.clear();
+        appsByOffer.clear();
+        offersByEmployer.clear();
+        offersByCompany.clear();
+        offerView.clear();
+        skillIndex.clear();
+        applicantIndex.clear();
+        matchEngine.clear();
+    }
+
+    // ======================================================
+    // PEER EVENTS (other nodes changed the DB)
+    // ======================================================
+
+    /**
+     * Re-reads the one entity a peer changed and patches caches and indexes,
+     * or drops it if the peer deleted it.
+     */
+    private void onPeerEvent(CacheEvent event) {
+        if (event.getType() == EntityType.ALL) {
+            reloadAll();
+            return;
+        }
+
+        UUID id = event.getId();
+        boolean gone = false;
+        EntityManager peerEm = emf.createEntityManager();
+        try {
+            switch (event.getType()) {
+                case EMPLOYER -> {
+                    Employer fresh = peerEm.find(Employer.class, id);
+                    gone = fresh == null;
+                    if (gone)
+                        employers.remove(id);
+                    else
+                        cacheEmployer(fresh);
+                }
+                case APPLICANT -> {
+                    Applicant fresh = peerEm.find(Applicant.class, id);
+                    gone = fresh == null;
+                    if (gone) {
+                        markRemoved(id);
+                        applicants.remove(id);
+                        applicantIndex.remove(id);
+                        matchEngine.forgetApplicant(id);
+                    } else {
+                        fresh.getSkills().size(); // load before the EM closes
+                        cacheApplicant(fresh);
+                    }
+                }
+                case COMPANY -> {
+                    Company fresh = peerEm.find(Company.class, id);
+                    gone = fresh == null;
+                    if (gone)
+                        companies.remove(id);
+                    else
+                        cacheCompany(fresh);
+                }
+                case JOB_OFFER -> {
+                    JobOffer old = jobOffers.get(id);
+                    JobOffer fresh = peerEm.find(JobOffer.class, id);
+                    UUID oldEmployer = old == null ? null : old.getEmployerId();
+                    UUID oldCompany = old == null ? null : old.getCompanyId();
+                    gone = fresh == null;
+                    if (gone) {
+                        markRemoved(id);
+                        jobOffers.remove(id);
+                        offerView.remove(id);
+                        skillIndex.remove(id);
+                        matchEngine.forgetOffer(id);
+                        offersByEmployer.remove(oldEmployer, id);
+                        offersByCompany.remove(oldCompany, id);
+                    } else {
+                        fresh.getRequiredSkills().size();
+                        fresh.getRequiredQualifications().size();
+                        offersByEmployer.move(oldEmployer, fresh.getEmployerId(), id);
+                        offersByCompany.move(oldCompany, fresh.getCompanyId(), id);
+                        cacheOffer(fresh);
+                    }
+                    refreshLinks(employers.get(oldEmployer), companies.get(oldCompany));
+                    if (fresh != null)
+                        refreshLinks(employers.get(fresh.getEmployerId()), companies.get(fresh.getCompanyId()));
+                }
+                case APPLICATION -> {
+                    Application old = applications.get(id);
+                    Application fresh = peerEm.find(Application.class, id);
+                    if (fresh == null)
+                        markRemoved(id);
+                    if (old != null) {
+                        appsByOffer.remove(old.getJobOfferId(), id);
+                        appsByApplicant.remove(old.getApplicantId(), id);
+                    }
+                    gone = fresh == null;
+                    if (gone) {
+                        applications.remove(id);
+                    } else {
+                        appsByOffer.add(fresh.getJobOfferId(), id);
+                        appsByApplicant.add(fresh.getApplicantId(), id);
+                        applications.put(id, fresh);
+                    }
+                    Application any = fresh != null ? fresh : old;
+                    if (any != null)
+                        refreshApplicationLinks(any);
+                }
+                case INTERVIEW -> {
+                    Interview fresh = peerEm.find(Interview.class, id);
+                    gone = fresh == null;
+                    if (gone)
+                        interviews.remove(id);
+                    else
+                        interviews.put(id, fresh);
+                }
+                default -> {
+                }
+            }
+        } finally {
+            peerEm.close();
+        }
+        // a row that exists may be new to this node: count it as created
+        if (gone)
+            versions.removed(event.getType(), id);
+        else
+            versions.created(event.getType(), id);
+    }
+
+    private void refreshLinks(Employer e, Company c) {
+        if (e != null)
+            hydrate(e);
+        if (c != null)
+            hydrate(c);
+    }
+
+    // ======================================================
+    // TRANSACTION-SYNCHRONIZED CACHE WRITES
+    // ======================================================
+
+    /**
+     * Runs a cache mutation once the current JTA transaction has committed,
+     * in order with the other mutations of that transaction, and drops it on
+     * rollback. Outside a transaction the mutation runs immediately.
+     *
+     * Every write to the stores, indexes and offerView from a request thread
+     * goes through here, so the caches only ever reflect committed rows.
+     */
+    private void afterCommit(Runnable change) {
+        int status = txRegistry == null ? Status.STATUS_NO_TRANSACTION : txRegistry.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            change.run();
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE)
+            return; // marked for rollback: it will never commit
+
+        pendingWrites().add(change);
+    }
+
+    /**
+     * Like afterCommit, but runs after every cache mutation of the
+     * transaction, whatever the order they were registered in.
+     */
+    private void afterCacheWrites(Runnable action) {
+        int status = txRegistry == null ? Status.STATUS_NO_TRANSACTION : txRegistry.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            action.run();
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE)
+            return;
+        pendingWrites().addLast(action);
+    }
+
+    private PendingCacheWrites pendingWrites() {
+        PendingCacheWrites pending = (PendingCacheWrites) txRegistry.getResource(pendingKey);
+        if (pending == null) {
+            pending = new PendingCacheWrites();
+            txRegistry.putResource(pendingKey, pending);
+            txRegistry.registerInterposedSynchronization(pending);
+        }
+        return pending;
+    }
+
+    // ======================================================
+    // CHANGE ANNOUNCEMENTS (entity versions + peers)
+    // ======================================================
+
+    /*
+     * Every committed change goes through one of these: the entity's
+     * version moves once the caches show the change (so a validator is
+     * never newer than the data read after it), and the peers are told.
+     */
+
+    private void announce(EntityType type, UUID id) {
+        afterCacheWrites(() -> versions.changed(type, id));
+        bus.publish(type, id);
+    }
+
+    private void announceCreated(EntityType type, UUID id) {
+        afterCacheWrites(() -> versions.created(type, id));
+        bus.publish(type, id);
+    }
+
+    private void announceRemoved(EntityType type, UUID id) {
+        afterCacheWrites(() -> versions.removed(type, id));
+        bus.publish(type, id);
+    }
+
+    /** Validators for conditional GETs, see EntityVersions. */
+    public EntityVersions getVersions() {
+        return versions;
+    }
+
+    /**
+     * Full reload, used after bulk changes (populate, peer ALL events):
+     * drops everything cached, since rows may have been deleted or changed
+     * behind our back, then loads again. Reads go to the DB meanwhile.
+     */
+    private void reloadAll() {
+        if (executor != null) {
+            warmupGeneration.incrementAndGet(); // stop the loaders of a running warm-up
+            warm = false;
+            clearObjects();
+            startWarmup();
+        } else {
+            loadFromDatabase();
+        }
+    }
+
+    // ======================================================
+    // CACHE HELPERS: put + refresh @Transient id lists from indexes
+    // ======================================================
+
+    private void hydrate(JobOffer o) {
+        o.replaceApplicationIds(appsByOffer.get(o.getId()));
+    }
+
+    private void hydrate(Applicant a) {
+        a.replaceApplicationIds(appsByApplicant.get(a.getId()));
+    }
+
+    private void hydrate(Employer e) {
+        e.replaceJobOfferIds(offersByEmployer.get(e.getId()));
+    }
+
+    private void hydrate(Company c) {
+        c.replaceJobOfferIds(offersByCompany.get(c.getId()));
+    }
+
+    private void cacheOffer(JobOffer o) {
+        if (o == null || o.getId() == null)
+            return;
+        hydrate(o);
+        matchEngine.refresh(o);
+        jobOffers.put(o.getId(), o);
+        if (jobOffers.isComplete())
+            offerView.upsert(o);
+        indexOffer(o);
+    }
+
+    // only open offers can be recommended, so only they are indexed
+    private void indexOffer(JobOffer o) {
+        if (OPEN_STATUSES.contains(o.getStatus()))
+            skillIndex.upsert(o);
+        else
+            skillIndex.remove(o.getId());
+    }
+
+    private void cacheApplicant(Applicant a) {
+        if (a == null || a.getId() == null)
+            return;
+        hydrate(a);
+        matchEngine.refresh(a);
+        applicants.put(a.getId(), a);
+        applicantIndex.upsert(a);
+    }
+
+    private void cacheEmployer(Employer e) {
+        if (e == null || e.getId() == null)
+            return;
+        hydrate(e);
+        employers.put(e.getId(), e);
+    }
+
+    private void cacheCompany(Company c) {
+        if (c == null || c.getId() == null)
+            return;
+        hydrate(c);
+        // employer links are not indexed: carry them over from the old instance
+        Company previous = companies.get(c.getId());
+        if (previous != null && previous != c) {
+            for (UUID empId : previous.getEmployerIds())
+                c.addEmployerId(empId);
+        }
+        companies.put(c.getId(), c);
     }
 
     // ======================================================
@@ -155,24 +974,36 @@ public class ApplicationState {
     // ======================================================
 
     public List<Interview> listInterviews() {
-        return new ArrayList<>(interviews.values());
+        if (!fromCache(interviews))
+            return em.createQuery("SELECT i FROM Interview i", Interview.class).getResultList();
+        return interviews.values();
+    }
+
+    /** Keyset page of the interviews in id order (see page). */
+    public List<Interview> listInterviews(UUID after, int limit) {
+        return page(interviews, Interview.class, after, limit);
     }
 
     public List<Interview> listInterviewsByApplicantId(UUID applicantId) {
-        List<Interview> list = em.createQuery(
+        if (fromCache(interviews)) {
+            return interviews.values().stream()
+                    .filter(i -> Objects.equals(applicantId, i.getApplicantId()))
+                    .collect(Collectors.toList());
+        }
+        return em.createQuery(
                 "SELECT i FROM Interview i WHERE i.applicantId = :applicantId", Interview.class)
                 .setParameter("applicantId", applicantId)
                 .getResultList();
-
-        for (Interview i : list) {
-            if (i.getId() != null) {
-                interviews.put(i.getId(), i);
-            }
-        }
-        return list;
     }
 
     public List<Interview> listInterviewsByEmployerId(UUID employerId) {
+        if (fromCache(interviews, jobOffers)) {
+            Set<UUID> offerIds = new HashSet<>(offersByEmployer.get(employerId));
+            return interviews.values().stream()
+                    .filter(i -> offerIds.contains(i.getJobOfferId()))
+                    .collect(Collectors.toList());
+        }
+
         List<UUID> offerIds = em.createQuery(
                 "SELECT o.id FROM JobOffer o WHERE o.employerId = :employerId", UUID.class)
                 .setParameter("employerId", employerId)
@@ -182,17 +1013,10 @@ public class ApplicationState {
             return Collections.emptyList();
         }
 
-        List<Interview> list = em.createQuery(
+        return em.createQuery(
                 "SELECT i FROM Interview i WHERE i.jobOfferId IN :offerIds", Interview.class)
                 .setParameter("offerIds", offerIds)
                 .getResultList();
-
-        for (Interview i : list) {
-            if (i.getId() != null) {
-                interviews.put(i.getId(), i);
-            }
-        }
-        return list;
     }
 
     @Transactional
@@ -205,12 +1029,12 @@ public class ApplicationState {
             throw new IllegalArgumentException("jobOfferId, applicantId and scheduledAt are required");
         }
 
-        // Validate references exist
-        JobOffer offer = em.find(JobOffer.class, jobOfferId);
+        // Validate references exist (cache first, DB only on a miss)
+        JobOffer offer = findJobOffer(jobOfferId);
         if (offer == null) {
             throw new IllegalArgumentException("Unknown JobOffer: " + jobOfferId);
         }
-        Applicant applicant = em.find(Applicant.class, applicantId);
+        Applicant applicant = findApplicant(applicantId);
         if (applicant == null) {
             throw new IllegalArgumentException("Unknown Applicant: " + applicantId);
         }
@@ -232,9 +1056,8 @@ public class ApplicationState {
         iv.setLocationOrLink(locationOrLink);
 
         em.persist(iv);
-        if (iv.getId() != null) {
-            interviews.put(iv.getId(), iv);
-        }
+        afterCommit(() -> interviews.put(iv.getId(), iv));
+        announceCreated(EntityType.INTERVIEW, iv.getId());
         return iv;
     }
 
@@ -250,7 +1073,8 @@ public class ApplicationState {
         }
 
         iv.setStatus(status);
-        interviews.put(id, iv);
+        afterCommit(() -> interviews.put(id, iv));
+        announce(EntityType.INTERVIEW, id);
         return iv;
     }
 
@@ -258,12 +1082,13 @@ public class ApplicationState {
         if (id == null)
             return null;
         Interview iv = interviews.get(id);
-        if (iv == null) {
-            iv = em.find(Interview.class, id);
-            if (iv != null)
-                interviews.put(id, iv);
-        }
-        return iv;
+        if (iv != null)
+            return iv;
+
+        Interview db = em.find(Interview.class, id);
+        if (db != null)
+            afterCommit(() -> interviews.put(id, db));
+        return db;
     }
 
     @Transactional
@@ -284,7 +1109,8 @@ public class ApplicationState {
             }
         }
         iv.setStatus(InterviewStatus.SCHEDULED); // Reset to scheduled
-        interviews.put(id, iv);
+        afterCommit(() -> interviews.put(id, iv));
+        announce(EntityType.INTERVIEW, id);
         return iv;
     }
 
@@ -298,7 +1124,8 @@ public class ApplicationState {
             return null;
 
         iv.setLocationOrLink(locationOrLink);
-        interviews.put(id, iv);
+        afterCommit(() -> interviews.put(id, iv));
+        announce(EntityType.INTERVIEW, id);
         return iv;
     }
 
@@ -307,23 +1134,23 @@ public class ApplicationState {
     // ======================================================
 
     public Map<UUID, Employer> getAllEmployers() {
-        return employers;
+        return employers.asMap();
     }
 
     public Map<UUID, Applicant> getAllApplicants() {
-        return applicants;
+        return applicants.asMap();
     }
 
     public Map<UUID, Company> getAllCompanies() {
-        return companies;
+        return companies.asMap();
     }
 
     public Map<UUID, JobOffer> getAllOffers() {
-        return jobOffers;
+        return jobOffers.asMap();
     }
 
     public Map<UUID, Application> getAllApplications() {
-        return applications;
+        return applications.asMap();
     }
 
     public Employer getEmployer(UUID id) {
@@ -359,23 +1186,34 @@ public class ApplicationState {
             e.setId(UUID.randomUUID());
         em.persist(e);
 
-        employers.put(e.getId(), e);
+        afterCommit(() -> {
+            employers.put(e.getId(), e);
 
-        // link to company in RAM (optional)
-        if (e.getCompanyId() != null) {
-            Company c = companies.get(e.getCompanyId());
-            if (c != null)
-                c.addEmployerId(e.getId());
-        }
+            // link to company in RAM (optional)
+            if (e.getCompanyId() != null) {
+                Company c = companies.get(e.getCompanyId());
+                if (c != null)
+                    c.addEmployerId(e.getId());
+            }
+        });
 
+        announceCreated(EntityType.EMPLOYER, e.getId());
         return e;
     }
 
     @Transactional
     public boolean setEmployer(UUID id, Employer updated) {
+        return mergeEmployer(id, updated) != null;
+    }
+
+    /**
+     * Applies the non-blank fields of updated; returns the managed entity, or
+     * null when the employer does not exist.
+     */
+    private Employer mergeEmployer(UUID id, Employer updated) {
         Employer existing = em.find(Employer.class, id);
         if (existing == null)
-            return false;
+            return null;
 
         // Update managed entity field-by-field to avoid wiping persisted values
         // when the client submits a partial/damaged payload.
@@ -402,44 +1240,75 @@ public class ApplicationState {
             existing.setCompanyId(updated.getCompanyId());
         }
 
-        employers.put(id, existing);
-        return true;
+        afterCommit(() -> cacheEmployer(existing));
+        announce(EntityType.EMPLOYER, id);
+        return existing;
     }
 
     @Transactional
     public boolean removeEmployer(UUID id) {
-        Employer existing = em.find(Employer.class, id);
+        Employer existing = findEmployer(id);
         if (existing == null)
             return false;
 
-        // Optional: what to do with job offers of this employer?
-        // For safety, we can delete them (and their applications) too.
-        List<UUID> offersToDelete = jobOffers.values().stream()
-                .filter(o -> id.equals(o.getEmployerId()))
-                .map(JobOffer::getId)
-                .toList();
-
-        for (UUID offerId : offersToDelete) {
-            deleteJobOffer(offerId); // deletes dependent applications too
-        }
-
-        Employer managed = em.merge(existing);
-        em.remove(managed);
-
-        // RAM cleanup
-        employers.remove(id);
+        // the employer's job offers go with it, with their applications
+        List<UUID> offerIds = fromCache(jobOffers) ? offersByEmployer.get(id)
+                : em.createQuery("SELECT o.id FROM JobOffer o WHERE o.employerId = :id", UUID.class)
+                        .setParameter("id", id)
+                        .getResultList();
+        List<UUID> appIds = offerIds.isEmpty() ? List.of()
+                : applicationIdsOfOffers("o.employerId = :id", offerIds, id);
+        Set<UUID> offerSet = new HashSet<>(offerIds);
+        List<UUID> interviewIds = offerIds.isEmpty() ? List.of()
+                : interviewIds("i.jobOfferId IN (SELECT o.id FROM JobOffer o WHERE o.employerId = :id)", id,
+                        i -> offerSet.contains(i.getJobOfferId()));
+        List<UUID> ownedCompanyIds = fromCache(companies)
+                ? companies.values().stream().filter(c -> id.equals(c.getOwnerEmployerId())).map(Company::getId)
+                        .toList()
+                : em.createQuery("SELECT c.id FROM Company c WHERE c.ownerEmployerId = :id", UUID.class)
+                        .setParameter("id", id)
+                        .getResultList();
+
+        bulkDeleteOffers("o.employerId = :id", "employer_id = ?1", id);
+        em.createQuery("UPDATE Company c SET c.ownerEmployerId = NULL WHERE c.ownerEmployerId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM Employer e WHERE e.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
 
-        // detach company link in RAM
         UUID companyId = existing.getCompanyId();
-        if (companyId != null) {
-            Company c = companies.get(companyId);
-            if (c != null) {
-                c.removeEmployerId(id);
-                if (id.equals(c.getOwnerEmployerId()))
+        afterCommit(() -> {
+            evictOffers(offerIds, appIds, interviewIds);
+
+            // RAM cleanup
+            markRemoved(id);
+            employers.remove(id);
+            offersByEmployer.removeKey(id);
+
+            // detach company link in RAM
+            if (companyId != null) {
+                Company c = companies.get(companyId);
+                if (c != null) {
+                    c.removeEmployerId(id);
+                    if (id.equals(c.getOwnerEmployerId()))
+                        c.setOwnerEmployerId(null);
+                }
+            }
+            for (UUID ownedId : ownedCompanyIds) {
+                Company c = companies.get(ownedId);
+                if (c != null && id.equals(c.getOwnerEmployerId()))
                     c.setOwnerEmployerId(null);
             }
-        }
-
+        });
+
+        announceCascade(offerIds, appIds, interviewIds);
+        Set<UUID> touchedCompanies = new LinkedHashSet<>(ownedCompanyIds);
+        if (companyId != null)
+            touchedCompanies.add(companyId);
+        for (UUID cid : touchedCompanies)
+            announce(EntityType.COMPANY, cid);
+        announceRemoved(EntityType.EMPLOYER, id);
         return true;
     }
 
@@ -454,10 +1323,15 @@ public class ApplicationState {
 
         if (a.getId() == null)
             a.setId(UUID.randomUUID());
+        persistApplicant(a);
+        return a;
+    }
+
+    private void persistApplicant(Applicant a) {
         em.persist(a);
 
-        applicants.put(a.getId(), a);
-        return a;
+        afterCommit(() -> cacheApplicant(a));
+        announceCreated(EntityType.APPLICANT, a.getId());
     }
 
     @Transactional
@@ -469,30 +1343,63 @@ public class ApplicationState {
         updated.setId(id);
 
         Applicant merged = em.merge(updated);
-        applicants.put(id, merged);
+        afterCommit(() -> cacheApplicant(merged));
+        announce(EntityType.APPLICANT, id);
         return true;
     }
 
     @Transactional
     public boolean removeApplicant(UUID id) {
-        Applicant existing = em.find(Applicant.class, id);
-        if (existing == null)
+        if (findApplicant(id) == null)
             return false;
 
-        // Delete applications of this applicant (DB + RAM)
-        List<UUID> appIds = applications.values().stream()
-                .filter(app -> id.equals(app.getApplicantId()))
-                .map(Application::getId)
-                .toList();
-
-        for (UUID appId : appIds) {
-            removeApplication(appId);
-        }
-
-        Applicant managed = em.merge(existing);
-        em.remove(managed);
+        List<UUID> appIds = fromCache(applications) ? appsByApplicant.get(id)
+                : em.createQuery("SELECT a.id FROM Application a WHERE a.applicantId = :id", UUID.class)
+                        .setParameter("id", id)
+                        .getResultList();
+        List<UUID> interviewIds = interviewIds("i.applicantId = :id", id, i -> id.equals(i.getApplicantId()));
+
+        // children first: interviews, applications, skills, then the applicant
+        em.createQuery("DELETE FROM Interview i WHERE i.applicantId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM Application a WHERE a.applicantId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createNativeQuery("DELETE FROM applicant_skills WHERE applicant_id = ?1")
+                .setParameter(1, id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM Applicant a WHERE a.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+
+        afterCommit(() -> {
+            Set<JobOffer> touched = new HashSet<>();
+            markRemoved(id);
+            for (UUID appId : appIds) {
+                markRemoved(appId);
+                Application app = applications.remove(appId);
+                if (app != null) {
+                    appsByOffer.remove(app.getJobOfferId(), appId);
+                    JobOffer o = jobOffers.get(app.getJobOfferId());
+                    if (o != null)
+                        touched.add(o);
+                }
+            }
+            for (JobOffer o : touched)
+                hydrate(o);
+            for (UUID interviewId : interviewIds) {
+                interviews.remove(interviewId);
+                markRemoved(interviewId);
+            }
 
-        applicants.remove(id);
+            applicants.remove(id);
+            applicantIndex.remove(id);
+            matchEngine.forgetApplicant(id);
+            appsByApplicant.removeKey(id);
+        });
+        announceCascade(List.of(), appIds, interviewIds);
+        announceRemoved(EntityType.APPLICANT, id);
         return true;
     }
 
@@ -509,24 +1416,35 @@ public class ApplicationState {
             c.setId(UUID.randomUUID());
         em.persist(c);
 
-        companies.put(c.getId(), c);
+        afterCommit(() -> {
+            cacheCompany(c);
 
-        // link owner employer in RAM (optional)
-        if (c.getOwnerEmployerId() != null) {
-            Employer owner = employers.get(c.getOwnerEmployerId());
-            if (owner != null)
-                owner.setCompanyId(c.getId());
-            c.addEmployerId(c.getOwnerEmployerId());
-        }
+            // link owner employer in RAM (optional)
+            if (c.getOwnerEmployerId() != null) {
+                Employer owner = employers.get(c.getOwnerEmployerId());
+                if (owner != null)
+                    owner.setCompanyId(c.getId());
+                c.addEmployerId(c.getOwnerEmployerId());
+            }
+        });
 
+        announceCreated(EntityType.COMPANY, c.getId());
         return c;
     }
 
     @Transactional
     public boolean setCompany(UUID id, Company updated) {
+        return mergeCompany(id, updated) != null;
+    }
+
+    /**
+     * Merges updated over the stored company; returns the managed entity, or
+     * null when the company does not exist.
+     */
+    private Company mergeCompany(UUID id, Company updated) {
         Company existing = em.find(Company.class, id);
         if (existing == null)
-            return false;
+            return null;
 
         updated.setId(id);
 
@@ -535,40 +1453,57 @@ public class ApplicationState {
             updated.setOwnerEmployerId(existing.getOwnerEmployerId());
 
         Company merged = em.merge(updated);
-        companies.put(id, merged);
-        return true;
+        afterCommit(() -> cacheCompany(merged));
+        announce(EntityType.COMPANY, id);
+        return merged;
     }
 
     @Transactional
     public boolean removeCompany(UUID id) {
-        Company existing = em.find(Company.class, id);
-        if (existing == null)
+        if (findCompany(id) == null)
             return false;
 
-        // Detach company from job offers (or delete offers – here we detach)
-        for (JobOffer o : jobOffers.values()) {
-            if (id.equals(o.getCompanyId())) {
-                o.setCompanyId(null);
-                JobOffer managedOffer = em.find(JobOffer.class, o.getId());
-                if (managedOffer != null)
-                    managedOffer.setCompanyId(null);
+        // Detach company from job offers and employers (offers are kept)
+        List<UUID> offerIds = fromCache(jobOffers) ? offersByCompany.get(id)
+                : em.createQuery("SELECT o.id FROM JobOffer o WHERE o.companyId = :id", UUID.class)
+                        .setParameter("id", id)
+                        .getResultList();
+        List<UUID> employerIds = fromCache(employers)
+                ? employers.values().stream().filter(e -> id.equals(e.getCompanyId())).map(Employer::getId).toList()
+                : em.createQuery("SELECT e.id FROM Employer e WHERE e.companyId = :id", UUID.class)
+                        .setParameter("id", id)
+                        .getResultList();
+
+        em.createQuery("UPDATE JobOffer o SET o.companyId = NULL WHERE o.companyId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createQuery("UPDATE Employer e SET e.companyId = NULL WHERE e.companyId = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM Company c WHERE c.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+
+        afterCommit(() -> {
+            markRemoved(id);
+            offersByCompany.removeKey(id);
+            for (UUID offerId : offerIds) {
+                JobOffer o = jobOffers.get(offerId);
+                if (o != null)
+                    o.setCompanyId(null);
             }
-        }
-
-        // Detach company from employers (RAM + DB)
-        for (Employer e : employers.values()) {
-            if (id.equals(e.getCompanyId())) {
-                e.setCompanyId(null);
-                Employer managedEmp = em.find(Employer.class, e.getId());
-                if (managedEmp != null)
-                    managedEmp.setCompanyId(null);
+            for (UUID empId : employerIds) {
+                Employer e = employers.get(empId);
+                if (e != null)
+                    e.setCompanyId(null);
             }
-        }
-
-        Company managed = em.merge(existing);
-        em.remove(managed);
-
-        companies.remove(id);
+            companies.remove(id);
+        });
+        for (UUID offerId : offerIds)
+            announce(EntityType.JOB_OFFER, offerId);
+        for (UUID empId : employerIds)
+            announce(EntityType.EMPLOYER, empId);
+        announceRemoved(EntityType.COMPANY, id);
         return true;
     }
 
@@ -577,33 +1512,63 @@ public class ApplicationState {
     // ======================================================
 
     public List<JobOffer> listJobOffers(UUID employerId) {
-        List<JobOffer> list = new ArrayList<>(jobOffers.values());
-        if (employerId != null) {
-            list = list.stream()
-                    .filter(o -> employerId.equals(o.getEmployerId()))
-                    .toList();
+        if (fromCache(jobOffers)) {
+            // maintained newest-first views, immutable snapshots
+            return employerId == null ? offerView.all() : offerView.byEmployer(employerId);
         }
+        if (employerId == null) {
+            return em.createQuery("SELECT o FROM JobOffer o ORDER BY o.createdAt DESC", JobOffer.class)
+                    .getResultList();
+        }
+        return em.createQuery("SELECT o FROM JobOffer o WHERE o.employerId = :employerId "
+                + "ORDER BY o.createdAt DESC", JobOffer.class)
+                .setParameter("employerId", employerId)
+                .getResultList();
+    }
 
-        // sort newest first if createdAt exists; otherwise stable
-        list = list.stream()
-                .sorted((a, b) -> {
-                    try {
-                        var ta = a.getCreatedAt();
-                        var tb = b.getCreatedAt();
-                        if (ta == null && tb == null)
-                            return 0;
-                        if (ta == null)
-                            return 1;
-                        if (tb == null)
-                            return -1;
-                        return tb.compareTo(ta);
-                    } catch (Exception ignore) {
-                        return 0;
-                    }
-                })
-                .toList();
-
-        return list;
+    /**
+     * Keyset page of the newest-first listing: up to limit offers after the
+     * one at (afterCreatedAt, afterId), from the newest when afterId is null.
+     */
+    public List<JobOffer> listJobOffers(UUID employerId, LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        if (fromCache(jobOffers))
+            return offerView.page(employerId, afterCreatedAt, afterId, limit);
+        return offerPage("o", JobOffer.class, employerId, afterCreatedAt, afterId, limit).getResultList();
+    }
+
+    /** As listJobOffers, for a sparse fieldset (see listProjected). */
+    public List<Object> listJobOffers(UUID employerId, LocalDateTime afterCreatedAt, UUID afterId, int limit,
+                                      Projection fields) {
+        List<String> columns = fromCache(jobOffers) ? null : columns(JobOffer.class, fields, "createdAt");
+        if (columns == null)
+            return Collections.unmodifiableList(listJobOffers(employerId, afterCreatedAt, afterId, limit));
+        return rows(offerPage(select("o", columns), Tuple.class, employerId, afterCreatedAt, afterId, limit)
+                .getResultList(), columns);
+    }
+
+    private <R> TypedQuery<R> offerPage(String select, Class<R> resultClass, UUID employerId,
+                                        LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        List<String> where = new ArrayList<>();
+        if (employerId != null)
+            where.add("o.employerId = :employerId");
+        if (afterId != null) {
+            where.add(afterCreatedAt == null
+                    ? "o.createdAt IS NULL AND o.id > :afterId"
+                    : "(o.createdAt < :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId)"
+                            + " OR o.createdAt IS NULL)");
+        }
+        String jpql = "SELECT " + select + " FROM JobOffer o"
+                + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where))
+                + " ORDER BY o.createdAt DESC, o.id";
+        TypedQuery<R> q = em.createQuery(jpql, resultClass).setMaxResults(limit);
+        if (employerId != null)
+            q.setParameter("employerId", employerId);
+        if (afterId != null) {
+            q.setParameter("afterId", afterId);
+            if (afterCreatedAt != null)
+                q.setParameter("afterCreatedAt", afterCreatedAt);
+        }
+        return q;
     }
 
     public JobOffer findJobOffer(UUID id) {
@@ -613,9 +1578,8 @@ public class ApplicationState {
             return o;
 
         JobOffer db = em.find(JobOffer.class, id);
-        if (db != null) {
-            jobOffers.put(id, db);
-        }
+        if (db != null)
+            afterCommit(() -> cacheOffer(db));
         return db;
     }
 
@@ -630,23 +1594,32 @@ public class ApplicationState {
         if (offer.getId() == null)
             offer.setId(UUID.randomUUID());
 
+        persistJobOffer(offer);
+        return offer;
+    }
+
+    private void persistJobOffer(JobOffer offer) {
         em.persist(offer);
 
-        // update cache
-        jobOffers.put(offer.getId(), offer);
+        afterCommit(() -> {
+            // update indexes + cache
+            offersByEmployer.add(offer.getEmployerId(), offer.getId());
+            offersByCompany.add(offer.getCompanyId(), offer.getId());
+            cacheOffer(offer);
 
-        // link inverse in RAM
-        Employer e = employers.get(offer.getEmployerId());
-        if (e != null)
-            e.addJobOfferId(offer.getId());
+            // link inverse in RAM
+            Employer e = employers.get(offer.getEmployerId());
+            if (e != null)
+                e.addJobOfferId(offer.getId());
 
-        if (offer.getCompanyId() != null) {
-            Company c = companies.get(offer.getCompanyId());
-            if (c != null)
-                c.addJobOfferId(offer.getId());
-        }
+            if (offer.getCompanyId() != null) {
+                Company c = companies.get(offer.getCompanyId());
+                if (c != null)
+                    c.addJobOfferId(offer.getId());
+            }
+        });
 
-        return offer;
+        announceCreated(EntityType.JOB_OFFER, offer.getId());
     }
 
     @Transactional
@@ -658,6 +1631,9 @@ public class ApplicationState {
         if (existing == null)
             return null;
 
+        UUID previousCompanyId = existing.getCompanyId();
+        List<Object> previousScoringInputs = scoringInputs(existing);
+
         // apply allowed fields
         existing.setTitle(updated.getTitle());
         existing.setDescription(updated.getDescription());
@@ -672,44 +1648,170 @@ public class ApplicationState {
         existing.setRequiredSkills(updated.getRequiredSkills());
         existing.setRequiredQualifications(updated.getRequiredQualifications());
 
-        // cache refresh
-        jobOffers.put(id, existing);
+        // the stored scores of its applications are stale once what they were computed from changed
+        boolean rescore = !previousScoringInputs.equals(scoringInputs(existing));
+
+        // index + cache refresh
+        afterCommit(() -> {
+            if (!Objects.equals(previousCompanyId, existing.getCompanyId())) {
+                offersByCompany.move(previousCompanyId, existing.getCompanyId(), id);
+                Company oldCompany = companies.get(previousCompanyId);
+                if (oldCompany != null)
+                    oldCompany.removeJobOfferId(id);
+                Company newCompany = companies.get(existing.getCompanyId());
+                if (newCompany != null)
+                    newCompany.addJobOfferId(id);
+            }
+            cacheOffer(existing);
+            if (rescore)
+                submitRescore(RescoreQueue.Kind.JOB_OFFER, id);
+        });
+        announce(EntityType.JOB_OFFER, id);
         return existing;
     }
 
     @Transactional
     public boolean deleteJobOffer(UUID id) {
-        JobOffer existing = em.find(JobOffer.class, id);
-        if (existing == null)
+        if (findJobOffer(id) == null)
             return false;
 
-        // delete dependent applications (DB + RAM)
-        List<UUID> dependentApps = applications.values().stream()
-                .filter(a -> id.equals(a.getJobOfferId()))
-                .map(Application::getId)
-                .toList();
+        List<UUID> offerIds = List.of(id);
+        List<UUID> appIds = applicationIdsOfOffers("o.id = :id", offerIds, id);
+        List<UUID> interviewIds = interviewIds("i.jobOfferId = :id", id, i -> id.equals(i.getJobOfferId()));
+        bulkDeleteOffers("o.id = :id", "id = ?1", id);
 
-        for (UUID appId : dependentApps) {
-            removeApplication(appId);
-        }
+        afterCommit(() -> evictOffers(offerIds, appIds, interviewIds));
+        announceCascade(List.of(), appIds, interviewIds);
+        announceRemoved(EntityType.JOB_OFFER, id);
+        return true;
+    }
 
-        JobOffer managed = em.merge(existing);
-        em.remove(managed);
+    // ======================================================
+    // SET-BASED CASCADES
+    // ======================================================
 
-        // RAM cleanup
-        jobOffers.remove(id);
+    /**
+     * Deletes the job offers matching offerWhere (JPQL on alias o, one :id
+     * parameter) and everything hanging off them, children first:
+     * interviews, applications, the two element-collection tables, then the
+     * offers. Five statements whatever the number of rows.
+     *
+     * sqlOfferWhere is the same filter in SQL on job_offers, with ?1.
+     */
+    private void bulkDeleteOffers(String offerWhere, String sqlOfferWhere, UUID id) {
+        String offerIds = "SELECT o.id FROM JobOffer o WHERE " + offerWhere;
+        String sqlOfferIds = "SELECT id FROM job_offers WHERE " + sqlOfferWhere;
+
+        em.createQuery("DELETE FROM Interview i WHERE i.jobOfferId IN (" + offerIds + ")")
+                .setParameter("id", id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM Application a WHERE a.jobOfferId IN (" + offerIds + ")")
+                .setParameter("id", id)
+                .executeUpdate();
+        // element collections are not reachable from JPQL bulk deletes
+        em.createNativeQuery("DELETE FROM job_offer_required_skills WHERE job_offer_id IN (" + sqlOfferIds + ")")
+                .setParameter(1, id)
+                .executeUpdate();
+        em.createNativeQuery("DELETE FROM job_offer_required_qualifications WHERE job_offer_id IN ("
+                + sqlOfferIds + ")")
+                .setParameter(1, id)
+                .executeUpdate();
+        em.createQuery("DELETE FROM JobOffer o WHERE " + offerWhere)
+                .setParameter("id", id)
+                .executeUpdate();
+    }
 
-        Employer e = employers.get(existing.getEmployerId());
-        if (e != null)
-            e.removeJobOfferId(id);
+    /**
+     * Ids of the applications of the given offers, from the index when warm,
+     * otherwise with one query using the same filter as bulkDeleteOffers.
+     */
+    private List<UUID> applicationIdsOfOffers(String offerWhere, List<UUID> offerIds, UUID id) {
+        if (fromCache(applications)) {
+            List<UUID> out = new ArrayList<>();
+            for (UUID offerId : offerIds)
+                out.addAll(appsByOffer.get(offerId));
+            return out;
+        }
+        return em.createQuery("SELECT a.id FROM Application a WHERE a.jobOfferId IN "
+                + "(SELECT o.id FROM JobOffer o WHERE " + offerWhere + ")", UUID.class)
+                .setParameter("id", id)
+                .getResultList();
+    }
+
+    /**
+     * Ids of the interviews matching where (JPQL on alias i, one :id
+     * parameter), from the store when it is complete.
+     */
+    private List<UUID> interviewIds(String where, UUID id, java.util.function.Predicate<Interview> match) {
+        if (fromCache(interviews))
+            return interviews.values().stream().filter(match).map(Interview::getId).toList();
+        return em.createQuery("SELECT i.id FROM Interview i WHERE " + where, UUID.class)
+                .setParameter("id", id)
+                .getResultList();
+    }
+
+    /**
+     * Tells the peers (and the entity versions) about every row a bulk
+     * cascade deleted, not only its root: each peer drops them through its
+     * per-entity "gone" handling.
+     */
+    private void announceCascade(List<UUID> offerIds, List<UUID> appIds, List<UUID> interviewIds) {
+        for (UUID interviewId : interviewIds)
+            announceRemoved(EntityType.INTERVIEW, interviewId);
+        for (UUID appId : appIds)
+            announceRemoved(EntityType.APPLICATION, appId);
+        for (UUID offerId : offerIds)
+            announceRemoved(EntityType.JOB_OFFER, offerId);
+    }
+
+    /**
+     * RAM side of bulkDeleteOffers, in one pass: drops the offers, their
+     * applications and interviews from the stores and indexes, then
+     * re-hydrates the applicants, employers and companies they pointed to.
+     */
+    private void evictOffers(List<UUID> offerIds, List<UUID> appIds, List<UUID> interviewIds) {
+        Set<Applicant> touchedApplicants = new HashSet<>();
+        Set<Employer> touchedEmployers = new HashSet<>();
+        Set<Company> touchedCompanies = new HashSet<>();
+
+        for (UUID appId : appIds) {
+            markRemoved(appId);
+            Application app = applications.remove(appId);
+            if (app != null) {
+                appsByApplicant.remove(app.getApplicantId(), appId);
+                Applicant ap = applicants.get(app.getApplicantId());
+                if (ap != null)
+                    touchedApplicants.add(ap);
+            }
+        }
+
+        for (UUID offerId : offerIds) {
+            markRemoved(offerId);
+            JobOffer o = jobOffers.remove(offerId);
+            offerView.remove(offerId);
+            skillIndex.remove(offerId);
+            matchEngine.forgetOffer(offerId);
+            appsByOffer.removeKey(offerId);
+            if (o != null) {
+                offersByEmployer.remove(o.getEmployerId(), offerId);
+                offersByCompany.remove(o.getCompanyId(), offerId);
+                Employer e = employers.get(o.getEmployerId());
+                if (e != null)
+                    touchedEmployers.add(e);
+                Company c = companies.get(o.getCompanyId());
+                if (c != null)
+                    touchedCompanies.add(c);
+            }
+        }
 
-        if (existing.getCompanyId() != null) {
-            Company c = companies.get(existing.getCompanyId());
-            if (c != null)
-                c.removeJobOfferId(id);
+        for (UUID interviewId : interviewIds) {
+            interviews.remove(interviewId);
+            markRemoved(interviewId);
         }
 
-        return true;
+        touchedApplicants.forEach(this::hydrate);
+        touchedEmployers.forEach(this::hydrate);
+        touchedCompanies.forEach(this::hydrate);
     }
 
     @Transactional
@@ -721,7 +1823,8 @@ public class ApplicationState {
             throw new SecurityException("Employer cannot publish another employer's offer.");
         }
         o.setStatus(JobOfferStatus.Published);
-        jobOffers.put(o.getId(), o);
+        afterCommit(() -> cacheOffer(o));
+        announce(EntityType.JOB_OFFER, o.getId());
         return o;
     }
 
@@ -733,7 +1836,8 @@ public class ApplicationState {
         if (!Objects.equals(o.getEmployerId(), employerId))
             throw new SecurityException();
         o.setStatus(JobOfferStatus.Closed);
-        jobOffers.put(o.getId(), o);
+        afterCommit(() -> cacheOffer(o));
+        announce(EntityType.JOB_OFFER, o.getId());
         return o;
     }
 
@@ -745,7 +1849,8 @@ public class ApplicationState {
         if (!Objects.equals(o.getEmployerId(), employerId))
             throw new SecurityException();
         o.setStatus(JobOfferStatus.Reopened);
-        jobOffers.put(o.getId(), o);
+        afterCommit(() -> cacheOffer(o));
+        announce(EntityType.JOB_OFFER, o.getId());
         return o;
     }
 
@@ -761,12 +1866,12 @@ public class ApplicationState {
             throw new IllegalArgumentException("jobOfferId and applicantId are required");
         }
 
-        // Validate against DB (so it works even if caches were missing something)
-        JobOffer offer = em.find(JobOffer.class, a.getJobOfferId());
+        // Validate references (cache first, DB only on a miss)
+        JobOffer offer = findJobOffer(a.getJobOfferId());
         if (offer == null)
             throw new IllegalArgumentException("Unknown JobOffer: " + a.getJobOfferId());
 
-        Applicant applicant = em.find(Applicant.class, a.getApplicantId());
+        Applicant applicant = findApplicant(a.getApplicantId());
         if (applicant == null)
             throw new IllegalArgumentException("Unknown Applicant: " + a.getApplicantId());
 
@@ -774,27 +1879,26 @@ public class ApplicationState {
         if (a.getId() == null)
             a.setId(UUID.randomUUID());
 
-        // compute match score if not provided (use fresh DB entities)
+        persistApplication(a, offer, applicant);
+        return a;
+    }
+
+    private void persistApplication(Application a, JobOffer offer, Applicant applicant) {
+        // compute match score if not provided
         if (a.getMatchScore() == null) {
             a.setMatchScore(computeMatchScore(applicant, offer));
         }
 
         em.persist(a);
 
-        // update caches (fresh)
-        applications.put(a.getId(), a);
-        jobOffers.put(offer.getId(), offer);
-        applicants.put(applicant.getId(), applicant);
-
-        JobOffer cachedOffer = jobOffers.get(offer.getId());
-        Applicant cachedApplicant = applicants.get(applicant.getId());
-
-        if (cachedOffer != null)
-            cachedOffer.addApplicationId(a.getId());
-        if (cachedApplicant != null)
-            cachedApplicant.addApplicationId(a.getId());
+        afterCommit(() -> {
+            appsByOffer.add(offer.getId(), a.getId());
+            appsByApplicant.add(applicant.getId(), a.getId());
+            applications.put(a.getId(), a);
+            refreshApplicationLinks(a);
+        });
 
-        return a;
+        announceCreated(EntityType.APPLICATION, a.getId());
     }
 
     @Transactional
@@ -806,7 +1910,8 @@ public class ApplicationState {
         managed.setMatchScore(score);
 
         // cache refresh
-        applications.put(id, managed);
+        afterCommit(() -> applications.put(id, managed));
+        announce(EntityType.APPLICATION, id);
         return managed;
     }
 
@@ -819,7 +1924,8 @@ public class ApplicationState {
         managed.setStatus(status);
         managed.setUpdatedAt(LocalDateTime.now());
 
-        applications.put(id, managed);
+        afterCommit(() -> applications.put(id, managed));
+        announce(EntityType.APPLICATION, id);
         return managed;
     }
 
@@ -829,47 +1935,507 @@ public class ApplicationState {
         if (managed == null)
             return false;
 
-        // update inverse RAM relations first
-        JobOffer o = jobOffers.get(managed.getJobOfferId());
-        if (o != null)
-            o.removeApplicationId(id);
+        em.remove(managed);
 
-        Applicant ap = applicants.get(managed.getApplicantId());
-        if (ap != null)
-            ap.removeApplicationId(id);
+        afterCommit(() -> {
+            markRemoved(id);
+            appsByOffer.remove(managed.getJobOfferId(), id);
+            appsByApplicant.remove(managed.getApplicantId(), id);
+            applications.remove(id);
+            refreshApplicationLinks(managed);
+        });
+        announceRemoved(EntityType.APPLICATION, id);
+        return true;
+    }
+
+    // ======================================================
+    // BATCH CREATE (one validation pass, chunked transactions)
+    // ======================================================
+
+    /**
+     * Creates job offers in bulk. All items are validated in one pass, with
+     * employers and companies resolved in bulk from the cache (one IN query
+     * per type on a miss). Valid items are then persisted BATCH_CHUNK_SIZE at
+     * a time, one transaction per chunk, so the inserts and the
+     * element-collection rows go out as JDBC batches.
+     */
+    public List<BatchItemResult> createJobOffers(List<JobOffer> offers) {
+        Set<UUID> employerIds = new HashSet<>();
+        Set<UUID> companyIds = new HashSet<>();
+        Set<UUID> offerIds = new HashSet<>();
+        for (JobOffer o : offers) {
+            if (o == null)
+                continue;
+            addIfPresent(employerIds, o.getEmployerId());
+            addIfPresent(companyIds, o.getCompanyId());
+            addIfPresent(offerIds, o.getId());
+        }
+        Set<UUID> knownEmployers = resolveAll(employers, Employer.class, employerIds).keySet();
+        Set<UUID> knownCompanies = resolveAll(companies, Company.class, companyIds).keySet();
+        Set<UUID> takenIds = new HashSet<>(resolveAll(jobOffers, JobOffer.class, offerIds).keySet());
+
+        BatchItemResult[] results = new BatchItemResult[offers.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < offers.size(); i++) {
+            JobOffer o = offers.get(i);
+            String error;
+            if (o == null)
+                error = "JobOffer cannot be null";
+            else if (o.getEmployerId() == null)
+                error = "JobOffer must have employerId";
+            else if (!knownEmployers.contains(o.getEmployerId()))
+                error = "Unknown Employer: " + o.getEmployerId();
+            else if (o.getCompanyId() != null && !knownCompanies.contains(o.getCompanyId()))
+                error = "Unknown Company: " + o.getCompanyId();
+            else if (o.getTitle() == null || o.getTitle().isBlank())
+                error = "JobOffer must have a title";
+            else if (o.getId() != null && !takenIds.add(o.getId()))
+                error = "Duplicate id: " + o.getId();
+            else
+                error = null;
+
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+            } else {
+                if (o.getId() == null)
+                    o.setId(UUID.randomUUID());
+                valid.add(i);
+            }
+        }
+
+        persistInChunks(valid, results, i -> {
+            persistJobOffer(offers.get(i));
+            return offers.get(i).getId();
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Creates applicants in bulk; usernames must be unique in the batch and
+     * in the DB. See createJobOffers for the chunking.
+     */
+    public List<BatchItemResult> createApplicants(List<Applicant> list) {
+        Set<String> usernames = new HashSet<>();
+        Set<UUID> ids = new HashSet<>();
+        for (Applicant a : list) {
+            if (a == null)
+                continue;
+            if (a.getUsername() != null)
+                usernames.add(a.getUsername());
+            addIfPresent(ids, a.getId());
+        }
+        Set<String> takenNames = new HashSet<>(takenUsernames(usernames));
+        Set<UUID> takenIds = new HashSet<>(resolveAll(applicants, Applicant.class, ids).keySet());
+
+        BatchItemResult[] results = new BatchItemResult[list.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            Applicant a = list.get(i);
+            String error;
+            if (a == null)
+                error = "Applicant cannot be null";
+            else if (a.getUsername() == null || a.getUsername().isBlank())
+                error = "Applicant must have a username";
+            else if (a.getLastName() == null || a.getLastName().isBlank())
+                error = "Applicant must have a lastName";
+            else if (!takenNames.add(a.getUsername()))
+                error = "Username already taken: " + a.getUsername();
+            else if (a.getId() != null && !takenIds.add(a.getId()))
+                error = "Duplicate id: " + a.getId();
+            else
+                error = null;
+
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+            } else {
+                if (a.getId() == null)
+                    a.setId(UUID.randomUUID());
+                valid.add(i);
+            }
+        }
+
+        persistInChunks(valid, results, i -> {
+            persistApplicant(list.get(i));
+            return list.get(i).getId();
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Creates applications in bulk. Offers and applicants are resolved once
+     * for the whole batch and reused to compute missing match scores.
+     */
+    public List<BatchItemResult> createApplications(List<Application> list) {
+        Set<UUID> offerIds = new HashSet<>();
+        Set<UUID> applicantIds = new HashSet<>();
+        Set<UUID> ids = new HashSet<>();
+        for (Application a : list) {
+            if (a == null)
+                continue;
+            addIfPresent(offerIds, a.getJobOfferId());
+            addIfPresent(applicantIds, a.getApplicantId());
+            addIfPresent(ids, a.getId());
+        }
+        Map<UUID, JobOffer> offers = resolveAll(jobOffers, JobOffer.class, offerIds);
+        Map<UUID, Applicant> people = resolveAll(applicants, Applicant.class, applicantIds);
+        Set<UUID> takenIds = new HashSet<>(resolveAll(applications, Application.class, ids).keySet());
+
+        BatchItemResult[] results = new BatchItemResult[list.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            Application a = list.get(i);
+            String error;
+            if (a == null)
+                error = "Application cannot be null";
+            else if (a.getJobOfferId() == null || a.getApplicantId() == null)
+                error = "jobOfferId and applicantId are required";
+            else if (!offers.containsKey(a.getJobOfferId()))
+                error = "Unknown JobOffer: " + a.getJobOfferId();
+            else if (!people.containsKey(a.getApplicantId()))
+                error = "Unknown Applicant: " + a.getApplicantId();
+            else if (a.getId() != null && !takenIds.add(a.getId()))
+                error = "Duplicate id: " + a.getId();
+            else
+                error = null;
+
+            if (error != null) {
+                results[i] = BatchItemResult.rejected(i, error);
+            } else {
+                if (a.getId() == null)
+                    a.setId(UUID.randomUUID());
+                valid.add(i);
+            }
+        }
+
+        persistInChunks(valid, results, i -> {
+            Application a = list.get(i);
+            persistApplication(a, offers.get(a.getJobOfferId()), people.get(a.getApplicantId()));
+            return a.getId();
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Persists the valid items chunk by chunk, each chunk in its own
+     * transaction. When a chunk fails to commit, its items are retried one
+     * per transaction so only the offending rows are reported as failed.
+     */
+    private void persistInChunks(List<Integer> valid, BatchItemResult[] results,
+            java.util.function.IntFunction<UUID> persist) {
+        for (int from = 0; from < valid.size(); from += BATCH_CHUNK_SIZE) {
+            List<Integer> chunk = valid.subList(from, Math.min(valid.size(), from + BATCH_CHUNK_SIZE));
+            try {
+                List<UUID> created = chunkTx.run(() -> {
+                    List<UUID> out = new ArrayList<>(chunk.size());
+                    for (int i : chunk)
+                        out.add(persist.apply(i));
+                    return out;
+                });
+                for (int k = 0; k < chunk.size(); k++)
+                    results[chunk.get(k)] = BatchItemResult.created(chunk.get(k), created.get(k));
+            } catch (RuntimeException chunkFailure) {
+                for (int i : chunk) {
+                    try {
+                        UUID id = chunkTx.run(() -> persist.apply(i));
+                        results[i] = BatchItemResult.created(i, id);
+                    } catch (RuntimeException e) {
+                        results[i] = BatchItemResult.failed(i, rootMessage(e));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks the ids up in the store; the misses are fetched with one IN query
+     * per 1000 ids, unless the store is complete (then a miss is final).
+     */
+    private <T> Map<UUID, T> resolveAll(EntityStore<T> store, Class<T> cls, Collection<UUID> ids) {
+        Map<UUID, T> out = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : ids) {
+            T v = store.get(id);
+            if (v != null)
+                out.put(id, v);
+            else
+                misses.add(id);
+        }
+        if (misses.isEmpty() || fromCache(store))
+            return out;
+
+        String jpql = "SELECT x FROM " + cls.getSimpleName() + " x WHERE x.id IN :ids";
+        for (int from = 0; from < misses.size(); from += 1000) {
+            List<UUID> part = misses.subList(from, Math.min(misses.size(), from + 1000));
+            for (T v : em.createQuery(jpql, cls).setParameter("ids", part).getResultList())
+                out.put(idOf(v), v);
+        }
+        return out;
+    }
+
+    private Set<String> takenUsernames(Set<String> usernames) {
+        if (usernames.isEmpty())
+            return Set.of();
+        if (fromCache(applicants)) {
+            return applicants.values().stream()
+                    .map(Applicant::getUsername)
+                    .filter(usernames::contains)
+                    .collect(Collectors.toSet());
+        }
+        return new HashSet<>(em.createQuery(
+                "SELECT a.username FROM Applicant a WHERE a.username IN :names", String.class)
+                .setParameter("names", new ArrayList<>(usernames))
+                .getResultList());
+    }
+
+    private static void addIfPresent(Set<UUID> set, UUID id) {
+        if (id != null)
+            set.add(id);
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable root = t;
+        while (root.getCause() != null && root.getCause() != root)
+            root = root.getCause();
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
 
-        Application toRemove = em.merge(managed);
-        em.remove(toRemove);
+    // ======================================================
+    // FILTERED QUERIES
+    // ======================================================
 
-        applications.remove(id);
+    /**
+     * Applications matching every criterion of the filter. From the caches,
+     * the candidates come from the narrowest relation index (offer,
+     * applicant, company, employer) and only they are tested; otherwise a
+     * single JPQL query with the same conditions.
+     */
+    public List<Application> findApplications(ApplicationFilter f) {
+        boolean needsOffers = f.employerId() != null || f.companyId() != null;
+        if (!fromCache(applications) || (needsOffers && !fromCache(jobOffers)))
+            return findApplicationsInDb(f);
+
+        List<Application> candidates;
+        if (f.jobOfferId() != null)
+            candidates = resolveApplications(appsByOffer.get(f.jobOfferId()));
+        else if (f.applicantId() != null)
+            candidates = resolveApplications(appsByApplicant.get(f.applicantId()));
+        else if (f.companyId() != null)
+            candidates = applicationsOfOffers(offersByCompany.get(f.companyId()));
+        else if (f.employerId() != null)
+            candidates = applicationsOfOffers(offersByEmployer.get(f.employerId()));
+        else
+            candidates = applications.values();
+
+        List<Application> out = new ArrayList<>();
+        for (Application a : candidates) {
+            if (matches(f, a))
+                out.add(a);
+        }
+        return out;
+    }
+
+    private List<Application> applicationsOfOffers(List<UUID> offerIds) {
+        List<Application> out = new ArrayList<>();
+        for (UUID offerId : offerIds)
+            out.addAll(resolveApplications(appsByOffer.get(offerId)));
+        return out;
+    }
+
+    private boolean matches(ApplicationFilter f, Application a) {
+        if (f.applicantId() != null && !f.applicantId().equals(a.getApplicantId()))
+            return false;
+        if (f.jobOfferId() != null && !f.jobOfferId().equals(a.getJobOfferId()))
+            return false;
+        if (f.status() != null && f.status() != a.getStatus())
+            return false;
+        LocalDateTime at = a.getSubmittedAt();
+        if (f.submittedFrom() != null && (at == null || at.isBefore(f.submittedFrom())))
+            return false;
+        if (f.submittedTo() != null && (at == null || !at.isBefore(f.submittedTo())))
+            return false;
+        if (f.employerId() != null || f.companyId() != null) {
+            JobOffer o = a.getJobOfferId() == null ? null : jobOffers.get(a.getJobOfferId());
+            if (o == null)
+                return false;
+            if (f.employerId() != null && !f.employerId().equals(o.getEmployerId()))
+                return false;
+            if (f.companyId() != null && !f.companyId().equals(o.getCompanyId()))
+                return false;
+        }
         return true;
     }
 
+    private List<Application> findApplicationsInDb(ApplicationFilter f) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (f.applicantId() != null) {
+            where.add("a.applicantId = :applicantId");
+            params.put("applicantId", f.applicantId());
+        }
+        if (f.jobOfferId() != null) {
+            where.add("a.jobOfferId = :jobOfferId");
+            params.put("jobOfferId", f.jobOfferId());
+        }
+        if (f.employerId() != null) {
+            where.add("a.jobOfferId IN (SELECT o.id FROM JobOffer o WHERE o.employerId = :employerId)");
+            params.put("employerId", f.employerId());
+        }
+        if (f.companyId() != null) {
+            where.add("a.jobOfferId IN (SELECT oc.id FROM JobOffer oc WHERE oc.companyId = :companyId)");
+            params.put("companyId", f.companyId());
+        }
+        if (f.status() != null) {
+            where.add("a.status = :status");
+            params.put("status", f.status());
+        }
+        if (f.submittedFrom() != null) {
+            where.add("a.submittedAt >= :submittedFrom");
+            params.put("submittedFrom", f.submittedFrom());
+        }
+        if (f.submittedTo() != null) {
+            where.add("a.submittedAt < :submittedTo");
+            params.put("submittedTo", f.submittedTo());
+        }
+        String jpql = "SELECT a FROM Application a" + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where));
+        TypedQuery<Application> q = em.createQuery(jpql, Application.class);
+        params.forEach(q::setParameter);
+        return q.getResultList();
+    }
+
+    /**
+     * Companies matching every criterion of the filter, from the company
+     * cache when it is complete, else from the DB.
+     */
+    public List<Company> findCompanies(CompanyFilter f) {
+        // employerId: owned, or the one the employer works at
+        UUID worksAt = null;
+        if (f.employerId() != null) {
+            Employer e = findEmployer(f.employerId());
+            worksAt = e == null ? null : e.getCompanyId();
+        }
+        Set<UUID> appliedTo = f.applicantId() == null ? null : companyIdsAppliedToBy(f.applicantId());
+        if (appliedTo != null && appliedTo.isEmpty())
+            return Collections.emptyList();
+
+        if (!fromCache(companies))
+            return findCompaniesInDb(f, worksAt, appliedTo);
+
+        List<Company> candidates;
+        if (appliedTo != null) {
+            candidates = new ArrayList<>(appliedTo.size());
+            for (UUID id : appliedTo) {
+                Company c = companies.get(id);
+                if (c != null)
+                    candidates.add(c);
+            }
+        } else {
+            candidates = companies.values();
+        }
+
+        List<Company> out = new ArrayList<>();
+        for (Company c : candidates) {
+            if (f.ownerEmployerId() != null && !f.ownerEmployerId().equals(c.getOwnerEmployerId()))
+                continue;
+            if (f.employerId() != null && !f.employerId().equals(c.getOwnerEmployerId())
+                    && !c.getId().equals(worksAt))
+                continue;
+            out.add(c);
+        }
+        return out;
+    }
+
+    /** Ids of the companies behind the offers the applicant applied to. */
+    private Set<UUID> companyIdsAppliedToBy(UUID applicantId) {
+        if (!fromCache(applications, jobOffers)) {
+            return new HashSet<>(em.createQuery("SELECT DISTINCT o.companyId FROM JobOffer o WHERE o.id IN "
+                    + "(SELECT a.jobOfferId FROM Application a WHERE a.applicantId = :applicantId)", UUID.class)
+                    .setParameter("applicantId", applicantId)
+                    .getResultList());
+        }
+        Set<UUID> out = new HashSet<>();
+        for (Application a : resolveApplications(appsByApplicant.get(applicantId))) {
+            JobOffer o = a.getJobOfferId() == null ? null : jobOffers.get(a.getJobOfferId());
+            if (o != null && o.getCompanyId() != null)
+                out.add(o.getCompanyId());
+        }
+        return out;
+    }
+
+    private List<Company> findCompaniesInDb(CompanyFilter f, UUID worksAt, Set<UUID> appliedTo) {
+        List<String> where = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (f.ownerEmployerId() != null) {
+            where.add("c.ownerEmployerId = :ownerId");
+            params.put("ownerId", f.ownerEmployerId());
+        }
+        if (f.employerId() != null) {
+            where.add(worksAt == null ? "c.ownerEmployerId = :employerId"
+                    : "(c.ownerEmployerId = :employerId OR c.id = :worksAt)");
+            params.put("employerId", f.employerId());
+            if (worksAt != null)
+                params.put("worksAt", worksAt);
+        }
+        if (appliedTo != null) {
+            where.add("c.id IN :appliedTo");
+            params.put("appliedTo", appliedTo);
+        }
+        String jpql = "SELECT c FROM Company c" + (where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where));
+        TypedQuery<Company> q = em.createQuery(jpql, Company.class);
+        params.forEach(q::setParameter);
+        return q.getResultList();
+    }
+
     // ======================================================
     // Helpers for JSF / UI
     // ======================================================
 
     public List<Application> getApplicationsByApplicantId(UUID applicantId) {
-        return applications.values().stream()
-                .filter(app -> applicantId.equals(app.getApplicantId()))
-                .collect(Collectors.toList());
+        if (!fromCache(applications))
+            return listApplicationsByApplicantId(applicantId);
+        return resolveApplications(appsByApplicant.get(applicantId));
     }
 
     public List<Application> getApplicationsByJobId(UUID jobId) {
-        return applications.values().stream()
-                .filter(app -> jobId.equals(app.getJobOfferId()))
-                .collect(Collectors.toList());
+        if (!fromCache(applications))
+            return listApplicationsByOfferId(jobId);
+        return resolveApplications(appsByOffer.get(jobId));
     }
 
     public List<Application> getApplicationsByEmployerId(UUID employerId) {
-        List<UUID> employerJobIds = jobOffers.values().stream()
-                .filter(job -> employerId.equals(job.getEmployerId()))
-                .map(JobOffer::getId)
-                .toList();
+        if (!fromCache(applications, jobOffers)) {
+            return em.createQuery("SELECT a FROM Application a WHERE a.jobOfferId IN "
+                    + "(SELECT o.id FROM JobOffer o WHERE o.employerId = :employerId)", Application.class)
+                    .setParameter("employerId", employerId)
+                    .getResultList();
+        }
+        List<Application> result = new ArrayList<>();
+        for (UUID offerId : offersByEmployer.get(employerId)) {
+            result.addAll(resolveApplications(appsByOffer.get(offerId)));
+        }
+        return result;
+    }
 
-        return applications.values().stream()
-                .filter(app -> employerJobIds.contains(app.getJobOfferId()))
-                .collect(Collectors.toList());
+    /**
+     * Re-copies the application id lists of the cached offer and applicant
+     * of an application from the indexes.
+     */
+    private void refreshApplicationLinks(Application a) {
+        JobOffer o = jobOffers.get(a.getJobOfferId());
+        if (o != null)
+            hydrate(o);
+        Applicant ap = applicants.get(a.getApplicantId());
+        if (ap != null)
+            hydrate(ap);
+    }
+
+    private List<Application> resolveApplications(List<UUID> ids) {
+        List<Application> result = new ArrayList<>(ids.size());
+        for (UUID appId : ids) {
+            Application app = applications.get(appId);
+            if (app != null)
+                result.add(app);
+        }
+        return result;
     }
 
     public String getJobTitleById(UUID jobId) {
@@ -899,244 +2465,267 @@ public class ApplicationState {
     // Matching helpers
     // ======================================================
 
-    private static Set<String> tokenize(String text) {
-        if (text == null)
-            return Collections.emptySet();
-
-        String[] raw = text.toLowerCase().split("[^a-z0-9+]+");
-        Set<String> tokens = new HashSet<>();
-        for (String t : raw) {
-            t = t.trim();
-            if (t.length() >= 2)
-                tokens.add(t);
-        }
-        return tokens;
-    }
-
-    // Common synonyms/abbreviations for intelligent matching
-    private static final java.util.Map<String, java.util.Set<String>> SYNONYMS = new java.util.HashMap<>();
-    static {
-        // Programming languages
-        addSynonyms("javascript", "js", "ecmascript", "es6", "es2015");
-        addSynonyms("typescript", "ts");
-        addSynonyms("python", "py", "python3");
-        addSynonyms("java", "jdk", "jre", "j2ee", "jakarta");
-        addSynonyms("csharp", "c#", ".net", "dotnet");
-        addSynonyms("cplusplus", "c++", "cpp");
-        addSynonyms("golang", "go");
-        addSynonyms("ruby", "rails", "ruby on rails", "ror");
-        // Frameworks
-        addSynonyms("react", "reactjs", "react.js");
-        addSynonyms("angular", "angularjs", "angular.js");
-        addSynonyms("vue", "vuejs", "vue.js");
-        addSynonyms("node", "nodejs", "node.js");
-        addSynonyms("spring", "spring boot", "springboot");
-        addSynonyms("django", "python django");
-        addSynonyms("express", "expressjs", "express.js");
-        // Databases
-        addSynonyms("sql", "mysql", "postgresql", "postgres", "mssql", "oracle");
-        addSynonyms("nosql", "mongodb", "mongo", "cassandra", "dynamodb", "redis");
-        // Cloud/DevOps
-        addSynonyms("aws", "amazon web services", "ec2", "s3", "lambda");
-        addSynonyms("azure", "microsoft azure");
-        addSynonyms("gcp", "google cloud", "google cloud platform");
-        addSynonyms("docker", "containers", "containerization");
-        addSynonyms("kubernetes", "k8s");
-        addSynonyms("ci/cd", "cicd", "continuous integration", "jenkins", "github actions");
-        // General
-        addSynonyms("frontend", "front-end", "front end", "ui", "user interface");
-        addSynonyms("backend", "back-end", "back end", "server-side");
-        addSynonyms("fullstack", "full-stack", "full stack");
-        addSynonyms("api", "rest", "restful", "rest api", "graphql");
-        addSynonyms("agile", "scrum", "kanban");
-        addSynonyms("machine learning", "ml", "ai", "artificial intelligence", "deep learning");
-        addSynonyms("data science", "data analysis", "analytics", "data analyst");
-    }
-
-    private static void addSynonyms(String... terms) {
-        java.util.Set<String> group = new java.util.HashSet<>(java.util.Arrays.asList(terms));
-        for (String t : terms) {
-            SYNONYMS.computeIfAbsent(t.toLowerCase(), k -> new java.util.HashSet<>()).addAll(group);
-        }
-    }
-
-    private static boolean areSynonyms(String a, String b) {
-        String la = a.toLowerCase();
-        String lb = b.toLowerCase();
-        java.util.Set<String> synA = SYNONYMS.get(la);
-        if (synA != null && synA.contains(lb))
-            return true;
-        java.util.Set<String> synB = SYNONYMS.get(lb);
-        return synB != null && synB.contains(la);
-    }
-
-    private static double phraseSimilarity(String a, String b) {
-        if (a == null || b == null)
-            return 0.0;
-        String sa = a.trim().toLowerCase();
-        String sb = b.trim().toLowerCase();
-        if (sa.isEmpty() || sb.isEmpty())
-            return 0.0;
-
-        // 1. Exact match
-        if (sa.equals(sb))
-            return 1.0;
-
-        // 2. Synonym match (high confidence)
-        if (areSynonyms(sa, sb))
-            return 0.95;
-
-        // 3. Contains match
-        if (sa.contains(sb) || sb.contains(sa))
-            return 0.75;
-
-        // 4. Check if any tokens are synonyms
-        java.util.Set<String> ta = tokenize(sa);
-        java.util.Set<String> tb = tokenize(sb);
-        if (ta.isEmpty() || tb.isEmpty())
-            return 0.0;
-
-        // Check for synonym overlap
-        double synonymBonus = 0.0;
-        for (String tokA : ta) {
-            for (String tokB : tb) {
-                if (areSynonyms(tokA, tokB)) {
-                    synonymBonus = Math.max(synonymBonus, 0.6);
-                }
-            }
-        }
+    private double computeMatchScore(Applicant applicant, JobOffer offer) {
+        return matchEngine.score(applicant, offer);
+    }
 
-        // 5. Token Jaccard overlap as soft similarity
-        java.util.Set<String> inter = new java.util.HashSet<>(ta);
-        inter.retainAll(tb);
-        java.util.Set<String> union = new java.util.HashSet<>(ta);
-        union.addAll(tb);
-        double jaccard = union.isEmpty() ? 0.0 : (inter.size() * 1.0) / union.size();
-
-        // 6. Levenshtein-based similarity for close matches (typos, plurals)
-        double levenshtein = 0.0;
-        if (Math.abs(sa.length() - sb.length()) <= 3) {
-            int dist = levenshteinDistance(sa, sb);
-            int maxLen = Math.max(sa.length(), sb.length());
-            if (maxLen > 0 && dist <= 3) {
-                levenshtein = 1.0 - ((double) dist / maxLen);
-                if (levenshtein > 0.7)
-                    levenshtein *= 0.6; // Scale down but still credit
-            }
-        }
+    /**
+     * Score of an applicant for an offer with the named strategy (the
+     * default one when null), computed on the fly and not stored.
+     */
+    public Map<String, Object> scoreMatch(UUID applicantId, UUID jobOfferId, String strategy) {
+        MatchStrategy s = matchEngine.strategy(strategy);
+        Applicant applicant = findApplicant(applicantId);
+        if (applicant == null)
+            throw new NotFoundException("Applicant not found");
+        JobOffer offer = findJobOffer(jobOfferId);
+        if (offer == null)
+            throw new NotFoundException("Job offer not found");
 
-        return Math.max(Math.max(jaccard, synonymBonus), levenshtein);
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("applicantId", applicantId);
+        out.put("jobOfferId", jobOfferId);
+        out.put("strategy", s.name());
+        out.put("score", s.score(applicant, offer));
+        return out;
     }
 
-    private static int levenshteinDistance(String s1, String s2) {
-        int[] prev = new int[s2.length() + 1];
-        int[] curr = new int[s2.length() + 1];
-        for (int j = 0; j <= s2.length(); j++)
-            prev[j] = j;
-        for (int i = 1; i <= s1.length(); i++) {
-            curr[0] = i;
-            for (int j = 1; j <= s2.length(); j++) {
-                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
-                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
-            }
-            int[] tmp = prev;
-            prev = curr;
-            curr = tmp;
-        }
-        return prev[s2.length()];
+    public List<String> detectSkills(String text) {
+        return matchEngine.detectSkills(text);
     }
 
-    private static double listSimilarity(java.util.Collection<String> requirements,
-            java.util.Collection<String> candidatePhrases) {
-        if (requirements == null || requirements.isEmpty())
-            return 0.0;
-        if (candidatePhrases == null || candidatePhrases.isEmpty())
-            return 0.0;
+    public Map<String, Object> matchStrategies() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("default", matchEngine.getDefaultStrategy());
+        out.put("strategies", matchEngine.getStrategyNames());
+        return out;
+    }
 
-        double sum = 0.0;
-        int n = 0;
-        for (String r : requirements) {
-            if (r == null || r.isBlank())
-                continue;
-            double best = 0.0;
-            for (String c : candidatePhrases) {
-                best = Math.max(best, phraseSimilarity(r, c));
-                if (best >= 1.0)
-                    break;
-            }
-            sum += best;
-            n++;
-        }
-        if (n == 0)
-            return 0.0;
-        return (sum / n) * 100.0;
+    // ======================================================
+    // SYNONYM DICTIONARY (hot reload)
+    // ======================================================
+
+    public Map<String, Object> synonymsInfo() {
+        SynonymDictionary d = SkillTerms.dictionary();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("version", d.getVersion());
+        out.put("source", d.getSource());
+        out.put("groups", d.groups().size());
+        return out;
     }
 
-    private double computeMatchScore(Applicant applicant, JobOffer offer) {
-        // collect applicant phrases
-        java.util.LinkedHashSet<String> applicantPhrases = new java.util.LinkedHashSet<>();
-        if (applicant.getSkills() != null) {
-            for (String s : applicant.getSkills()) {
-                if (s != null && !s.isBlank())
-                    applicantPhrases.add(s.trim().toLowerCase());
-            }
-        }
-        if (applicantPhrases.isEmpty()) {
-            String skillsStr = applicant.getSkillsAsString();
-            if (skillsStr != null && !skillsStr.isBlank()) {
-                for (String s : skillsStr.split(",")) {
-                    String t = s.trim().toLowerCase();
-                    if (!t.isBlank())
-                        applicantPhrases.add(t);
-                }
-            }
-        }
-        if (applicantPhrases.isEmpty())
-            return 0.0;
+    /**
+     * Re-reads the synonym file and swaps it in when its version is newer
+     * (same version: nothing to do, older: IllegalStateException). Each
+     * node reloads its own dictionary.
+     *
+     * Two terms can only become or stop being synonyms if the synonyms of
+     * both changed, so every pair whose score may move has an applicant
+     * whose skills mention a changed term: only those applicants are
+     * re-scored, in the background. Offers mentioning one are re-indexed,
+     * since their index terms include synonyms; the skill indexes cover
+     * every row even with bounded stores, so both lookups use them once
+     * warm-up is done.
+     */
+    public synchronized Map<String, Object> reloadSynonyms() {
+        SynonymDictionary current = SkillTerms.dictionary();
+        SynonymDictionary next = SynonymDictionary.load();
+        if (next.getVersion() < current.getVersion())
+            throw new IllegalStateException("Synonym file version " + next.getVersion()
+                    + " is older than the loaded version " + current.getVersion());
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("previousVersion", current.getVersion());
+        out.put("version", next.getVersion());
+        out.put("source", next.getSource());
+        if (next.getVersion() == current.getVersion()) {
+            out.put("reloaded", false);
+            return out;
+        }
+
+        Set<String> changed = new TreeSet<>(current.changedTerms(next));
+        // also switches the match engine, see SkillMatcher.model
+        SkillTerms.install(next);
+
+        Set<UUID> affectedApplicants = new HashSet<>();
+        Set<UUID> affectedOffers = new HashSet<>();
+        for (String term : changed) {
+            affectedApplicants.addAll(warm ? applicantIndex.mentioning(term) : applicantsMentioning(term));
+            // an upsert that computed its terms before the swap either is in
+            // the index by now or recomputes them (SkillIndex.upsert)
+            affectedOffers.addAll(skillIndex.mentioning(term));
+        }
+        Collection<JobOffer> reindexed = resolveAll(jobOffers, JobOffer.class, affectedOffers).values();
+        for (JobOffer o : reindexed)
+            indexOffer(o);
+        // no application, no stored score
+        if (fromCache(applications))
+            affectedApplicants.removeIf(id -> appsByApplicant.count(id) == 0);
+        rescoreQueue.submitAll(RescoreQueue.Kind.APPLICANT, affectedApplicants);
+
+        out.put("reloaded", true);
+        out.put("changedTerms", changed);
+        out.put("rescoredApplicants", affectedApplicants.size());
+        out.put("reindexedOffers", reindexed.size());
+        return out;
+    }
+
+    // applicants with a skill containing the term, a superset like SkillIndex.mentioning
+    private List<UUID> applicantsMentioning(String term) {
+        return em.createQuery("SELECT DISTINCT a.id FROM Applicant a JOIN a.skills s"
+                        + " WHERE LOWER(s) LIKE :pattern ESCAPE '!'", UUID.class)
+                .setParameter("pattern", containsPattern(term))
+                .getResultList();
+    }
 
-        java.util.List<String> reqSkills = offer.getRequiredSkills();
-        java.util.List<String> reqQuals = offer.getRequiredQualifications();
+    /**
+     * LIKE pattern (ESCAPE '!') matching the term anywhere, its own % and _
+     * taken literally. Not a backslash: MySQL reads it as a string escape.
+     */
+    static String containsPattern(String term) {
+        return "%" + term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
 
-        boolean hasSkills = reqSkills != null && !reqSkills.isEmpty();
-        boolean hasQuals = reqQuals != null && !reqQuals.isEmpty();
+    // ======================================================
+    // RECOMMENDATIONS (inverted skill index, top-K)
+    // ======================================================
 
-        if (hasSkills || hasQuals) {
-            double skillsScore = hasSkills ? listSimilarity(reqSkills, applicantPhrases) : 0.0;
-            double qualsScore = hasQuals ? listSimilarity(reqQuals, applicantPhrases) : 0.0;
+    private static final Set<JobOfferStatus> OPEN_STATUSES = EnumSet.of(JobOfferStatus.Published,
+            JobOfferStatus.Reopened);
 
-            double result;
-            if (hasSkills && hasQuals) {
-                result = 0.7 * skillsScore + 0.3 * qualsScore;
-            } else {
-                result = hasSkills ? skillsScore : qualsScore;
+    /**
+     * The limit best-matching open offers (Published or Reopened) for an
+     * applicant, best first. Candidates are the offers sharing a skill term
+     * with the applicant (SkillIndex); only those are scored, with the same
+     * computeMatchScore used for applications, and kept in a size-limit
+     * min-heap. Offers that would only match through substring or typo
+     * similarity are not retrieved.
+     *
+     * The skill index holds every open offer, also when the offer store is
+     * bounded; candidates it does not hold are fetched by id. Until warm-up
+     * is done, the candidates are instead the open offers requiring a skill
+     * or qualification equal to one of the terms, read from the DB with the
+     * same cap.
+     */
+    public List<ScoredOffer> recommendJobOffers(UUID applicantId, int limit) {
+        Applicant applicant = findApplicant(applicantId);
+        if (applicant == null)
+            throw new NotFoundException("Applicant not found");
+        if (limit <= 0)
+            return List.of();
+
+        Set<String> terms = new HashSet<>();
+        for (String phrase : SkillMatcher.applicantPhrases(applicant))
+            terms.addAll(SkillTerms.terms(phrase));
+        if (terms.isEmpty())
+            return List.of();
+
+        List<UUID> ids;
+        if (warm) {
+            // open offers only, most shared terms first, so the cap keeps the likeliest matches
+            ids = skillIndex.candidates(terms, RECOMMEND_MAX_CANDIDATES);
+        } else {
+            ids = em.createQuery("SELECT DISTINCT o.id FROM JobOffer o LEFT JOIN o.requiredSkills s"
+                            + " LEFT JOIN o.requiredQualifications q WHERE o.status IN :open"
+                            + " AND (LOWER(s) IN :terms OR LOWER(q) IN :terms)", UUID.class)
+                    .setParameter("open", OPEN_STATUSES)
+                    .setParameter("terms", terms)
+                    .setMaxResults(RECOMMEND_MAX_CANDIDATES)
+                    .getResultList();
+        }
+        Collection<JobOffer> candidates = resolveAll(jobOffers, JobOffer.class, ids).values();
+
+        Comparator<ScoredOffer> byScore = Comparator.comparingDouble(ScoredOffer::getScore)
+                .thenComparing(so -> so.getJobOffer().getId(), Comparator.reverseOrder());
+        PriorityQueue<ScoredOffer> top = new PriorityQueue<>(byScore);
+        for (JobOffer o : candidates) {
+            if (!OPEN_STATUSES.contains(o.getStatus()))
+                continue;
+            double score = computeMatchScore(applicant, o);
+            if (score <= 0.0)
+                continue;
+            ScoredOffer so = new ScoredOffer(o, score);
+            if (top.size() < limit) {
+                top.add(so);
+            } else if (byScore.compare(so, top.peek()) > 0) {
+                top.poll();
+                top.add(so);
             }
-            return Math.round(result * 10.0) / 10.0;
         }
 
-        // Fallback: title/description token overlap
-        StringBuilder jobText = new StringBuilder();
-        if (offer.getTitle() != null)
-            jobText.append(offer.getTitle()).append(" ");
-        if (offer.getDescription() != null)
-            jobText.append(offer.getDescription());
-        java.util.Set<String> jobTokens = tokenize(jobText.toString());
-        if (jobTokens.isEmpty())
-            return 0.0;
+        List<ScoredOffer> out = new ArrayList<>(top);
+        out.sort(byScore.reversed());
+        return out;
+    }
+
+    // ======================================================
+    // CANDIDATE RANKING (applicant-side skill index, top-K)
+    // ======================================================
 
-        java.util.Set<String> applicantTokens = new java.util.HashSet<>();
-        for (String phrase : applicantPhrases) {
-            applicantTokens.addAll(tokenize(phrase));
+    /**
+     * The limit applicants of the whole pool that best match an offer, best
+     * first, whether they applied or not. Candidates are the applicants
+     * sharing a skill term with the offer's requirements (or, for an offer
+     * without requirements, with its title/description and the skills they
+     * mention); at most jobfinder.candidates.maxCandidates of them, most
+     * shared terms first, are scored and kept in a size-limit min-heap.
+     *
+     * The applicant index covers every applicant even when the applicant
+     * store is bounded; candidates it does not hold are fetched by id. Until
+     * warm-up is done, the candidates are instead the applicants with a skill
+     * equal to one of the terms, read from the DB with the same cap.
+     */
+    public List<ScoredApplicant> rankCandidates(UUID jobOfferId, int limit) {
+        JobOffer offer = findJobOffer(jobOfferId);
+        if (offer == null)
+            throw new NotFoundException("Job offer not found");
+        if (limit <= 0)
+            return List.of();
+
+        Set<String> terms = SkillIndex.offerTerms(offer);
+        if (isEmpty(offer.getRequiredSkills()) && isEmpty(offer.getRequiredQualifications())) {
+            String text = Objects.toString(offer.getTitle(), "") + " " + Objects.toString(offer.getDescription(), "");
+            for (String skill : matchEngine.detectSkills(text))
+                terms.addAll(SkillTerms.terms(skill));
+        }
+        if (terms.isEmpty())
+            return List.of();
+
+        List<UUID> ids;
+        if (warm) {
+            ids = applicantIndex.candidates(terms, CANDIDATES_MAX_SCORED);
+        } else {
+            ids = em.createQuery(
+                    "SELECT DISTINCT a.id FROM Applicant a JOIN a.skills s WHERE LOWER(s) IN :terms", UUID.class)
+                    .setParameter("terms", terms)
+                    .setMaxResults(CANDIDATES_MAX_SCORED)
+                    .getResultList();
+        }
+        Collection<Applicant> candidates = applicantsWithSkills(ids).values();
+
+        Comparator<ScoredApplicant> byScore = Comparator.comparingDouble(ScoredApplicant::getScore)
+                .thenComparing(sa -> sa.getApplicant().getId(), Comparator.reverseOrder());
+        PriorityQueue<ScoredApplicant> top = new PriorityQueue<>(byScore);
+        for (Applicant a : candidates) {
+            double score = computeMatchScore(a, offer);
+            if (score <= 0.0)
+                continue;
+            ScoredApplicant sa = new ScoredApplicant(a, score);
+            if (top.size() < limit) {
+                top.add(sa);
+            } else if (byScore.compare(sa, top.peek()) > 0) {
+                top.poll();
+                top.add(sa);
+            }
         }
-        if (applicantTokens.isEmpty())
-            return 0.0;
 
-        int matches = 0;
-        for (String s : applicantTokens)
-            if (jobTokens.contains(s))
-                matches++;
+        List<ScoredApplicant> out = new ArrayList<>(top);
+        out.sort(byScore.reversed());
+        return out;
+    }
 
-        double raw = (matches * 100.0) / applicantTokens.size();
-        return Math.round(raw * 10.0) / 10.0;
+    private static boolean isEmpty(Collection<?> c) {
+        return c == null || c.isEmpty();
     }
 
     // ======================================================
@@ -1145,7 +2734,7 @@ public class ApplicationState {
 
     @Transactional
     public void clearDB() {
-        clearObjects();
+        afterCommit(this::clearObjects);
 
         // children -> parents
         try {
@@ -1157,14 +2746,16 @@ public class ApplicationState {
         em.createQuery("DELETE FROM Employer").executeUpdate();
         em.createQuery("DELETE FROM Applicant").executeUpdate();
         em.createQuery("DELETE FROM Company").executeUpdate();
+        announce(EntityType.ALL, null);
     }
 
     @Transactional
     public void populateDB() {
         clearDB();
         populateApplicationState();
-        // After populate, reload caches from DB to ensure everything is consistent
-        loadFromDatabase();
+        // After populate, reload caches from the committed DB state
+        afterCommit(this::reloadAll);
+        announce(EntityType.ALL, null);
     }
 
     @Transactional
@@ -1177,7 +2768,8 @@ public class ApplicationState {
     // addEmployer/addCompany/addApplicant/createJobOffer/addApplication
     // ======================================================
 
-    private static final List<String> SKILL_POOL = List.of(
+    // also the skill mix of MatchingBenchmark
+    static final List<String> SKILL_POOL = List.of(
             "java", "python", "sql", "javascript", "react", "css", "docker", "kubernetes", "linux",
             "aws", "terraform", "ml", "statistics", "spring", "devops", "ui", "ux");
 
@@ -1247,8 +2839,6 @@ public class ApplicationState {
     }
 
     private void populateApplicationState() {
-        clearObjects();
-
         seed1000();
 
         // ========= EMPLOYERS =========
@@ -1681,12 +3271,13 @@ public class ApplicationState {
         a14App.setSubmittedAt(now.minusDays(4));
         addApplication(a14App);
 
-        // Recompute all seeded applications to override any hardcoded scores
-        for (Applicant a : applicants.values()) {
-            try {
-                recomputeMatchScoresForApplicant(a.getId());
-            } catch (Exception ignore) {
-            }
+        // Recompute all seeded applications to override any hardcoded scores.
+        // Reads the persistence context: the caches only see this data after commit.
+        for (Application app : em.createQuery("SELECT a FROM Application a", Application.class).getResultList()) {
+            JobOffer offer = em.find(JobOffer.class, app.getJobOfferId());
+            Applicant applicant = em.find(Applicant.class, app.getApplicantId());
+            if (offer != null && applicant != null)
+                app.setMatchScore(computeMatchScore(applicant, offer));
         }
     }
 
@@ -1695,7 +3286,14 @@ public class ApplicationState {
     // ======================================================
 
     public List<Application> listApplications() {
-        return new ArrayList<>(applications.values());
+        if (!fromCache(applications))
+            return em.createQuery("SELECT a FROM Application a", Application.class).getResultList();
+        return applications.values();
+    }
+
+    /** Keyset page of the applications in id order (see page). */
+    public List<Application> listApplications(UUID after, int limit) {
+        return page(applications, Application.class, after, limit);
     }
 
     public Application findApplication(UUID id) {
@@ -1706,36 +3304,26 @@ public class ApplicationState {
 
         Application db = em.find(Application.class, id);
         if (db != null)
-            applications.put(id, db);
+            afterCommit(() -> applications.put(id, db));
         return db;
     }
 
     public List<Application> listApplicationsByOfferId(UUID jobOfferId) {
-        List<Application> list = em.createQuery(
+        if (fromCache(applications))
+            return resolveApplications(appsByOffer.get(jobOfferId));
+        return em.createQuery(
                 "SELECT a FROM Application a WHERE a.jobOfferId = :jobOfferId", Application.class)
                 .setParameter("jobOfferId", jobOfferId)
                 .getResultList();
-
-        for (Application a : list) {
-            if (a != null && a.getId() != null) {
-                applications.put(a.getId(), a);
-            }
-        }
-        return list;
     }
 
     public List<Application> listApplicationsByApplicantId(UUID applicantId) {
-        List<Application> list = em.createQuery(
+        if (fromCache(applications))
+            return resolveApplications(appsByApplicant.get(applicantId));
+        return em.createQuery(
                 "SELECT a FROM Application a WHERE a.applicantId = :applicantId", Application.class)
                 .setParameter("applicantId", applicantId)
                 .getResultList();
-
-        for (Application a : list) {
-            if (a != null && a.getId() != null) {
-                applications.put(a.getId(), a);
-            }
-        }
-        return list;
     }
 
     @Transactional
@@ -1763,7 +3351,8 @@ public class ApplicationState {
         existing.setSubmittedAt(updated.getSubmittedAt()); // if you allow it
         existing.setUpdatedAt(LocalDateTime.now());
 
-        applications.put(id, existing);
+        afterCommit(() -> applications.put(id, existing));
+        announce(EntityType.APPLICATION, id);
         return existing;
     }
 
@@ -1772,41 +3361,227 @@ public class ApplicationState {
         return removeApplication(id); // your DB+cache remove method
     }
 
+    /**
+     * Re-scores the applicant's applications and returns how many were
+     * re-scored. Pairs whose skills and requirements did not change since
+     * they were last scored (same profile revisions) are skipped.
+     */
     @Transactional
     public int recomputeMatchScoresForApplicant(UUID applicantId) {
-        Applicant applicant = em.find(Applicant.class, applicantId);
+        Applicant applicant = findApplicant(applicantId);
         if (applicant == null)
             throw new NotFoundException("Applicant not found");
 
-        // refresh cache with the latest managed entity
-        applicants.put(applicantId, applicant);
-
         List<Application> apps = listApplicationsByApplicantId(applicantId);
+        Map<UUID, JobOffer> offers = resolveAll(jobOffers, JobOffer.class,
+                apps.stream().map(Application::getJobOfferId).filter(Objects::nonNull).collect(Collectors.toSet()));
 
+        Map<UUID, Double> changed = new HashMap<>();
         int updated = 0;
         for (Application app : apps) {
-            JobOffer offer = em.find(JobOffer.class, app.getJobOfferId());
+            JobOffer offer = offers.get(app.getJobOfferId());
             if (offer == null)
                 continue;
 
-            // also keep offer fresh in cache
-            jobOffers.put(offer.getId(), offer);
+            // skills and requirements unchanged since this pair was scored
+            Double cached = matchEngine.cachedScore(applicant, offer);
+            if (cached != null && cached.equals(app.getMatchScore()))
+                continue;
 
             double score = computeMatchScore(applicant, offer);
-
-            updateApplicationMatchScore(app.getId(), score);
+            if (!Objects.equals(app.getMatchScore(), score))
+                changed.put(app.getId(), score);
             updated++;
         }
 
+        writeMatchScores(changed);
         return updated;
     }
 
+    /**
+     * Re-scores the applications to the offer and returns how many changed.
+     * Entry point of the rescore queue for offers.
+     */
+    @Transactional
+    public int recomputeMatchScoresForOffer(UUID jobOfferId) {
+        JobOffer offer = findJobOffer(jobOfferId);
+        if (offer == null)
+            throw new NotFoundException("JobOffer not found");
+        return rescoreApplicationsOfOffer(offer);
+    }
+
+    /**
+     * Queues a background re-scoring (see RescoreQueue). Called after commit,
+     * so a full queue only costs the refresh, never the write that caused it.
+     */
+    private void submitRescore(RescoreQueue.Kind kind, UUID id) {
+        try {
+            rescoreQueue.submit(kind, id);
+        } catch (IllegalStateException e) {
+            System.err.println("[ApplicationState] " + kind + " " + id + " not re-scored: " + e.getMessage());
+        }
+    }
+
+    // ======================================================
+    // RE-SCORING (offer requirements changed)
+    // ======================================================
+
+    private record ScoreRow(UUID applicationId, UUID applicantId, Double score) {
+    }
+
+    // what computeMatchScore reads from an offer, copied
+    private static List<Object> scoringInputs(JobOffer o) {
+        return Arrays.asList(
+                o.getRequiredSkills() == null ? null : new ArrayList<>(o.getRequiredSkills()),
+                o.getRequiredQualifications() == null ? null : new ArrayList<>(o.getRequiredQualifications()),
+                o.getTitle(),
+                o.getDescription());
+    }
+
+    /**
+     * Recomputes the match score of every application to the offer, in the
+     * caller's transaction. Scoring is split across the managed executor
+     * (see scoreAll); the changed
+     * scores are written back with one bulk UPDATE per distinct score.
+     * Returns the number of applications whose score changed.
+     */
+    private int rescoreApplicationsOfOffer(JobOffer offer) {
+        List<ScoreRow> rows;
+        if (fromCache(applications)) {
+            rows = new ArrayList<>();
+            for (UUID appId : appsByOffer.get(offer.getId())) {
+                Application a = applications.get(appId);
+                if (a != null)
+                    rows.add(new ScoreRow(a.getId(), a.getApplicantId(), a.getMatchScore()));
+            }
+        } else {
+            rows = em.createQuery(
+                    "SELECT a.id, a.applicantId, a.matchScore FROM Application a WHERE a.jobOfferId = :id",
+                    Object[].class)
+                    .setParameter("id", offer.getId())
+                    .getResultList().stream()
+                    .map(r -> new ScoreRow((UUID) r[0], (UUID) r[1], (Double) r[2]))
+                    .toList();
+        }
+        if (rows.isEmpty())
+            return 0;
+
+        Map<UUID, Applicant> people = applicantsWithSkills(
+                rows.stream().map(ScoreRow::applicantId).filter(Objects::nonNull).collect(Collectors.toSet()));
+
+        Map<UUID, Double> changed = scoreAll(
+                rows.stream().filter(r -> people.containsKey(r.applicantId())).toList(), people, offer);
+        for (ScoreRow r : rows) {
+            if (Objects.equals(r.score(), changed.get(r.applicationId())))
+                changed.remove(r.applicationId());
+        }
+
+        writeMatchScores(changed);
+        return changed.size();
+    }
+
+    /**
+     * Scores of the rows' applicants for the offer, by application id, in
+     * up to rescoreParallelism chunks: all but one run on the managed
+     * executor, the last one on the caller. Entities are only read, the
+     * EntityManager is not touched.
+     */
+    private Map<UUID, Double> scoreAll(List<ScoreRow> rows, Map<UUID, Applicant> people, JobOffer offer) {
+        Function<List<ScoreRow>, Map<UUID, Double>> score = part -> {
+            Map<UUID, Double> out = new HashMap<>();
+            for (ScoreRow r : part)
+                out.put(r.applicationId(), computeMatchScore(people.get(r.applicantId()), offer));
+            return out;
+        };
+        int chunks = executor == null ? 1
+                : Math.max(1, Math.min(rescoreParallelism, rows.size() / RESCORE_MIN_CHUNK));
+        int chunkSize = (rows.size() + chunks - 1) / chunks;
+        List<CompletableFuture<Map<UUID, Double>>> forked = new ArrayList<>();
+        for (int from = chunkSize; from < rows.size(); from += chunkSize) {
+            List<ScoreRow> part = rows.subList(from, Math.min(rows.size(), from + chunkSize));
+            forked.add(CompletableFuture.supplyAsync(() -> score.apply(part), executor));
+        }
+        Map<UUID, Double> out = score.apply(rows.subList(0, Math.min(rows.size(), chunkSize)));
+        for (CompletableFuture<Map<UUID, Double>> f : forked)
+            out.putAll(f.join());
+        return out;
+    }
+
+    /**
+     * Applicants by id with their skills loaded (cache first, then one
+     * fetch-join query per 1000 misses).
+     */
+    private Map<UUID, Applicant> applicantsWithSkills(Collection<UUID> ids) {
+        Map<UUID, Applicant> out = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID id : ids) {
+            Applicant a = applicants.get(id);
+            if (a != null)
+                out.put(id, a);
+            else
+                misses.add(id);
+        }
+        if (misses.isEmpty() || fromCache(applicants))
+            return out;
+
+        for (int from = 0; from < misses.size(); from += 1000) {
+            List<UUID> part = misses.subList(from, Math.min(misses.size(), from + 1000));
+            for (Applicant a : em.createQuery(
+                    "SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills WHERE a.id IN :ids", Applicant.class)
+                    .setParameter("ids", part)
+                    .getResultList())
+                out.put(a.getId(), a);
+        }
+        return out;
+    }
+
+    /**
+     * Writes application scores with one bulk UPDATE per 1000 applications,
+     * a CASE on the id picking each one's score, and replaces the cached
+     * applications with rescored copies after commit: a reader holding the
+     * cached instance never sees it change.
+     */
+    private void writeMatchScores(Map<UUID, Double> scores) {
+        if (scores.isEmpty())
+            return;
+        List<Map.Entry<UUID, Double>> rows = new ArrayList<>(scores.entrySet());
+        for (int from = 0; from < rows.size(); from += 1000) {
+            List<Map.Entry<UUID, Double>> chunk = rows.subList(from, Math.min(rows.size(), from + 1000));
+            // one parameter per distinct score: they have one decimal
+            Map<Double, String> scoreParams = new HashMap<>();
+            StringBuilder jpql = new StringBuilder("UPDATE Application a SET a.matchScore = CASE a.id");
+            for (int i = 0; i < chunk.size(); i++) {
+                String scoreParam = scoreParams.computeIfAbsent(chunk.get(i).getValue(), v -> "s" + scoreParams.size());
+                jpql.append(" WHEN :id").append(i).append(" THEN :").append(scoreParam);
+            }
+            jpql.append(" END WHERE a.id IN :ids");
+            Query update = em.createQuery(jpql.toString());
+            for (int i = 0; i < chunk.size(); i++)
+                update.setParameter("id" + i, chunk.get(i).getKey());
+            scoreParams.forEach((score, name) -> update.setParameter(name, score));
+            update.setParameter("ids", chunk.stream().map(Map.Entry::getKey).toList());
+            update.executeUpdate();
+        }
+
+        afterCommit(() -> scores.forEach((id, score) ->
+                applications.replace(id, cached -> cached.withMatchScore(score))));
+        for (UUID id : scores.keySet())
+            announce(EntityType.APPLICATION, id);
+    }
+
     // ======================================================
     // APPLICANTS API (names used by your Resource)
     // ======================================================
 
     public List<Applicant> listApplicants() {
-        return new ArrayList<>(applicants.values());
+        if (!fromCache(applicants))
+            return em.createQuery("SELECT a FROM Applicant a", Applicant.class).getResultList();
+        return applicants.values();
+    }
+
+    /** Keyset page of the applicants in id order (see page). */
+    public List<Applicant> listApplicants(UUID after, int limit) {
+        return page(applicants, Applicant.class, after, limit);
     }
 
     public Applicant findApplicant(UUID id) {
@@ -1820,7 +3595,7 @@ public class ApplicationState {
 
         Applicant db = list.isEmpty() ? null : list.get(0);
         if (db != null)
-            applicants.put(id, db);
+            afterCommit(() -> cacheApplicant(db));
         return db;
     }
 
@@ -1851,7 +3626,8 @@ public class ApplicationState {
         }
 
         // Refresh cache
-        applicants.put(id, managed);
+        afterCommit(() -> cacheApplicant(managed));
+        announce(EntityType.APPLICANT, id);
         return managed;
     }
 
@@ -1893,7 +3669,8 @@ public class ApplicationState {
             managed.getSkills().addAll(incoming.getSkills());
         }
 
-        applicants.put(id, managed); // refresh cache
+        afterCommit(() -> cacheApplicant(managed)); // refresh cache
+        announce(EntityType.APPLICANT, id);
         return managed;
     }
 
@@ -1902,7 +3679,14 @@ public class ApplicationState {
     // ======================================================
 
     public List<Company> listCompanies() {
-        return new ArrayList<>(companies.values());
+        if (!fromCache(companies))
+            return em.createQuery("SELECT c FROM Company c", Company.class).getResultList();
+        return companies.values();
+    }
+
+    /** Keyset page of the companies in id order (see page). */
+    public List<Company> listCompanies(UUID after, int limit) {
+        return page(companies, Company.class, after, limit);
     }
 
     public Company findCompany(UUID id) {
@@ -1912,7 +3696,7 @@ public class ApplicationState {
 
         Company db = em.find(Company.class, id);
         if (db != null)
-            companies.put(id, db);
+            afterCommit(() -> cacheCompany(db));
         return db;
     }
 
@@ -1923,8 +3707,7 @@ public class ApplicationState {
 
     @Transactional
     public Company updateCompany(UUID id, Company updated) {
-        boolean ok = setCompany(id, updated);
-        return ok ? findCompany(id) : null;
+        return mergeCompany(id, updated);
     }
 
     @Transactional
@@ -1937,7 +3720,14 @@ public class ApplicationState {
     // ======================================================
 
     public List<Employer> listEmployers() {
-        return new ArrayList<>(employers.values());
+        if (!fromCache(employers))
+            return em.createQuery("SELECT e FROM Employer e", Employer.class).getResultList();
+        return employers.values();
+    }
+
+    /** Keyset page of the employers in id order (see page). */
+    public List<Employer> listEmployers(UUID after, int limit) {
+        return page(employers, Employer.class, after, limit);
     }
 
     public Employer findEmployer(UUID id) {
@@ -1947,7 +3737,7 @@ public class ApplicationState {
 
         Employer db = em.find(Employer.class, id);
         if (db != null)
-            employers.put(id, db);
+            afterCommit(() -> cacheEmployer(db));
         return db;
     }
 
@@ -1958,8 +3748,7 @@ public class ApplicationState {
 
     @Transactional
     public Employer updateEmployer(UUID id, Employer updated) {
-        boolean ok = setEmployer(id, updated);
-        return ok ? findEmployer(id) : null;
+        return mergeEmployer(id, updated);
     }
 
     @Transactional
@@ -1968,6 +3757,11 @@ public class ApplicationState {
     }
 
     public List<Company> listCompaniesByOwnerEmployerId(UUID ownerEmployerId) {
+        if (!fromCache(companies)) {
+            return em.createQuery("SELECT c FROM Company c WHERE c.ownerEmployerId = :ownerId", Company.class)
+                    .setParameter("ownerId", ownerEmployerId)
+                    .getResultList();
+        }
         return companies.values().stream()
                 .filter(c -> ownerEmployerId.equals(c.getOwnerEmployerId()))
                 .collect(Collectors.toList());
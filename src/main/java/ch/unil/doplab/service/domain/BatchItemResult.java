@@ -0,0 +1,70 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Outcome of one element of a batch create request, reported back to the
+ * caller in input order.
+ */
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, REJECTED, FAILED
+    }
+
+    private final int index;
+    private final Status status;
+    private final UUID id;
+    private final String error;
+
+    private BatchItemResult(int index, Status status, UUID id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    static BatchItemResult created(int index, UUID id) {
+        return new BatchItemResult(index, Status.CREATED, id, null);
+    }
+
+    /** Refused by validation, nothing was written. */
+    static BatchItemResult rejected(int index, String error) {
+        return new BatchItemResult(index, Status.REJECTED, null, error);
+    }
+
+    /** Valid, but the transaction writing it failed. */
+    static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * JSON-friendly report: counts per status plus the per-item results.
+     */
+    public static Map<String, Object> summary(List<BatchItemResult> results) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Status st : Status.values())
+            out.put(st.name().toLowerCase(), results.stream().filter(r -> r.status == st).count());
+        out.put("results", results);
+        return out;
+    }
+}
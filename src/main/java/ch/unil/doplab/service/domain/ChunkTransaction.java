@@ -0,0 +1,20 @@
+package ch.unil.doplab.service.domain;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs a unit of work in its own JTA transaction. ApplicationState calls its
+ * own methods directly (no interceptor), so batch imports go through this
+ * bean to commit one chunk at a time.
+ */
+@ApplicationScoped
+public class ChunkTransaction {
+
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public <T> T run(Supplier<T> work) {
+        return work.get();
+    }
+}
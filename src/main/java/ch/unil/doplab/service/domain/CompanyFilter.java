@@ -0,0 +1,17 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.UUID;
+
+/**
+ * Criteria of ApplicationState.findCompanies; null means "any".
+ *
+ *   ownerEmployerId = companies this employer owns
+ *   employerId      = companies this employer owns or works at
+ *   applicantId     = companies with an offer this applicant applied to
+ */
+public record CompanyFilter(UUID ownerEmployerId, UUID employerId, UUID applicantId) {
+
+    public boolean isEmpty() {
+        return ownerEmployerId == null && employerId == null && applicantId == null;
+    }
+}
@@ -0,0 +1,255 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.util.ConcurrentUuidMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe RAM cache for one entity type, keyed by UUID.
+ *
+ * Backed by a ConcurrentUuidMap (lock-striped open addressing over long[]
+ * key halves): reads are optimistic and lock-free, writes lock one stripe,
+ * and no UUID object or hash node is retained per entry.
+ *
+ * Null keys are tolerated (lookups return
+ * null, writes are ignored) because many FK columns are nullable.
+ *
+ * A store can be bounded by a total weight; eviction then follows W-TinyLFU
+ * (see TinyLfuPolicy). A bounded store is never "complete": callers must not
+ * answer listings from it and fall back to the DB on a miss.
+ *
+ * An unbounded store also keeps its ids sorted (ID_ORDER) for the keyset
+ * pages of the list endpoints (see page).
+ */
+public class EntityStore<V> {
+
+    /**
+     * Unsigned byte order of the ids, the order of a uuid or char(36) DB
+     * column; UUID.compareTo compares signed halves and would not match the
+     * "WHERE id > :after ORDER BY id" pages read from the DB.
+     */
+    public static final Comparator<UUID> ID_ORDER = (a, b) -> {
+        int c = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return c != 0 ? c : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final String name;
+    private final ConcurrentUuidMap<V> map;
+    private final TinyLfuPolicy policy;
+    private final ToIntFunction<V> weigher;
+    // ids in ID_ORDER, unbounded stores only; changed under the map's stripe lock
+    private final ConcurrentSkipListSet<UUID> order;
+    // bounded stores only: held while changing the map and the policy, so
+    // the policy weighs exactly the entries the map holds
+    private final ReentrantLock writeLock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public EntityStore(String name) {
+        this.name = name;
+        this.map = new ConcurrentUuidMap<>();
+        this.policy = null;
+        this.weigher = null;
+        this.order = new ConcurrentSkipListSet<>(ID_ORDER);
+        this.writeLock = null;
+    }
+
+    /**
+     * Bounded store: keeps at most maxWeight worth of entities, as measured
+     * by the weigher (use v -> 1 for a plain size bound).
+     */
+    public EntityStore(String name, long maxWeight, ToIntFunction<V> weigher) {
+        if (maxWeight <= 0)
+            throw new IllegalArgumentException("maxWeight must be positive");
+        this.name = name;
+        this.map = new ConcurrentUuidMap<>();
+        this.policy = new TinyLfuPolicy(maxWeight);
+        this.weigher = weigher;
+        this.order = null;
+        this.writeLock = new ReentrantLock();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isBounded() {
+        return policy != null;
+    }
+
+    /**
+     * True when the store holds every row of its table (unbounded store).
+     */
+    public boolean isComplete() {
+        return policy == null;
+    }
+
+    public V get(UUID id) {
+        if (id == null)
+            return null;
+        V v = map.get(id);
+        if (v == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+            if (policy != null)
+                policy.recordAccess(id);
+        }
+        return v;
+    }
+
+    public boolean contains(UUID id) {
+        return id != null && map.containsKey(id);
+    }
+
+    public void put(UUID id, V value) {
+        if (id == null || value == null)
+            return;
+        if (policy == null) {
+            map.compute(id, old -> {
+                if (old == null)
+                    order.add(id);
+                return value;
+            });
+            return;
+        }
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        writeLock.lock();
+        try {
+            map.put(id, value);
+            for (UUID victim : policy.recordWrite(id, weight)) {
+                map.remove(victim);
+                evictions.increment();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Atomically replaces the cached value of id with remap(value), keeping
+     * its weight; does nothing when id is not cached.
+     */
+    public void replace(UUID id, UnaryOperator<V> remap) {
+        if (id == null)
+            return;
+        map.compute(id, old -> old == null ? null : remap.apply(old));
+    }
+
+    public V remove(UUID id) {
+        if (id == null)
+            return null;
+        if (policy != null) {
+            writeLock.lock();
+            try {
+                policy.remove(id);
+                return map.remove(id);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        AtomicReference<V> removed = new AtomicReference<>();
+        map.compute(id, old -> {
+            removed.set(old);
+            order.remove(id);
+            return null;
+        });
+        return removed.get();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public void clear() {
+        if (policy != null) {
+            writeLock.lock();
+            try {
+                map.clear();
+                policy.clear();
+            } finally {
+                writeLock.unlock();
+            }
+            return;
+        }
+        map.clear();
+        order.clear();
+    }
+
+    /**
+     * Keyset page: up to limit values whose id comes after the given one in
+     * ID_ORDER (from the first when null). Unbounded stores only; a bounded
+     * store pages from the DB.
+     */
+    public List<V> page(UUID after, int limit) {
+        if (order == null)
+            throw new IllegalStateException(name + " is bounded, page it from the DB");
+        NavigableSet<UUID> ids = after == null ? order : order.tailSet(after, false);
+        List<V> out = new ArrayList<>(Math.min(limit, 1024));
+        for (UUID id : ids) {
+            if (out.size() >= limit)
+                break;
+            V v = map.get(id);
+            if (v != null)
+                out.add(v);
+        }
+        return out;
+    }
+
+    /**
+     * Point-in-time copy of the cached values, safe to sort or filter.
+     */
+    public List<V> values() {
+        return map.values();
+    }
+
+    /**
+     * Point-in-time copy keyed by id.
+     */
+    public Map<UUID, V> asMap() {
+        Map<UUID, V> out = new HashMap<>();
+        map.forEach(out::put);
+        return out;
+    }
+
+    public void resetStats() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * JSON-friendly hit/miss/eviction counters.
+     */
+    public Map<String, Object> stats() {
+        long h = hits.sum();
+        long m = misses.sum();
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("size", map.size());
+        out.put("hits", h);
+        out.put("misses", m);
+        out.put("hitRate", h + m == 0 ? 0.0 : Math.round(h * 1000.0 / (h + m)) / 1000.0);
+        out.put("evictions", evictions.sum());
+        out.put("bounded", policy != null);
+        if (policy != null) {
+            out.put("weight", policy.weight());
+            out.put("maxWeight", policy.maxWeight());
+        }
+        return out;
+    }
+}
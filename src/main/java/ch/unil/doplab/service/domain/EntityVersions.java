@@ -0,0 +1,156 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validators for conditional GETs (ETag / Last-Modified): a version per
+ * entity and high-water marks per collection, all drawn from one clock.
+ *
+ * Each collection has two marks: "content" moves on any change of one of
+ * its entities, "membership" only when one is created or deleted, or, for
+ * job offers, on any change, since an offer can move between employers and
+ * companies. An entity's JSON embeds the ids of its related entities
+ * (Employer.jobOfferIds, JobOffer.applicationIds, ...), so its validator
+ * also follows the membership mark of those related collections.
+ *
+ * Versions live in memory. An entity not changed since the caches were
+ * loaded has version 0; the epoch in the ETag is renewed on every (re)load,
+ * so validators from before a restart or reload never match. While the
+ * caches load, every entity answers with the newest mark of all.
+ */
+public final class EntityVersions {
+
+    /** A strong ETag value (unquoted) and the matching Last-Modified. */
+    public record Validator(String etag, Instant lastModified) {
+    }
+
+    private record Stamp(long version, long modifiedAt) {
+        static Stamp max(Stamp a, Stamp b) {
+            return b.version > a.version ? b : a;
+        }
+    }
+
+    // types whose ids the entity's JSON embeds
+    private static final Map<EntityType, List<EntityType>> EMBEDS = new EnumMap<>(Map.of(
+            EntityType.EMPLOYER, List.of(EntityType.JOB_OFFER, EntityType.COMPANY),
+            EntityType.COMPANY, List.of(EntityType.JOB_OFFER, EntityType.EMPLOYER),
+            EntityType.APPLICANT, List.of(EntityType.APPLICATION),
+            EntityType.JOB_OFFER, List.of(EntityType.APPLICATION)));
+
+    // types whose rows a delete takes along
+    private static final Map<EntityType, List<EntityType>> CASCADES = new EnumMap<>(Map.of(
+            EntityType.APPLICANT, List.of(EntityType.APPLICATION, EntityType.INTERVIEW),
+            EntityType.JOB_OFFER, List.of(EntityType.APPLICATION, EntityType.INTERVIEW),
+            EntityType.EMPLOYER, List.of(EntityType.JOB_OFFER, EntityType.COMPANY,
+                    EntityType.APPLICATION, EntityType.INTERVIEW),
+            EntityType.COMPANY, List.of(EntityType.JOB_OFFER, EntityType.EMPLOYER,
+                    EntityType.APPLICATION, EntityType.INTERVIEW)));
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<UUID, Stamp> entities = new ConcurrentHashMap<>();
+    private final Map<EntityType, Stamp> content = new ConcurrentHashMap<>();
+    private final Map<EntityType, Stamp> membership = new ConcurrentHashMap<>();
+
+    private volatile String epoch;
+    private volatile Stamp base;
+    private volatile boolean tracking;
+
+    public EntityVersions() {
+        restart();
+    }
+
+    /** Caches are being (re)loaded: new epoch, per-entity versions off. */
+    void restart() {
+        renew(false);
+    }
+
+    /** Caches are loaded: new epoch, every entity back to version 0. */
+    void ready() {
+        renew(true);
+    }
+
+    private synchronized void renew(boolean track) {
+        tracking = false;
+        entities.clear();
+        content.clear();
+        membership.clear();
+        epoch = Long.toString(System.currentTimeMillis(), 36) + "." + Long.toString(clock.incrementAndGet(), 36);
+        base = new Stamp(0, System.currentTimeMillis());
+        tracking = track;
+    }
+
+    /** The entity changed (or was created, or deleted). */
+    void changed(EntityType type, UUID id) {
+        bump(type, id, type == EntityType.JOB_OFFER);
+    }
+
+    void created(EntityType type, UUID id) {
+        bump(type, id, true);
+    }
+
+    void removed(EntityType type, UUID id) {
+        Stamp s = bump(type, id, true);
+        for (EntityType t : CASCADES.getOrDefault(type, List.of())) {
+            content.merge(t, s, Stamp::max);
+            membership.merge(t, s, Stamp::max);
+        }
+    }
+
+    private Stamp bump(EntityType type, UUID id, boolean members) {
+        if (type == EntityType.ALL) {
+            // bulk change: nothing handed out before stays valid
+            renew(tracking);
+            return base;
+        }
+        Stamp s = new Stamp(clock.incrementAndGet(), System.currentTimeMillis());
+        if (tracking && id != null)
+            entities.merge(id, s, Stamp::max);
+        content.merge(type, s, Stamp::max);
+        if (members)
+            membership.merge(type, s, Stamp::max);
+        return s;
+    }
+
+    /** Validator of one entity; read it before reading the entity. */
+    public Validator entity(EntityType type, UUID id) {
+        if (!tracking)
+            return validator(newest());
+        Stamp s = entities.getOrDefault(id, base);
+        for (EntityType t : EMBEDS.getOrDefault(type, List.of()))
+            s = Stamp.max(s, membership.getOrDefault(t, base));
+        return validator(s);
+    }
+
+    /**
+     * Validator of a listing over the given collections, whatever its
+     * filter or page: it moves whenever one of their entities does.
+     */
+    public Validator collection(EntityType... types) {
+        Stamp s = base;
+        for (EntityType type : types) {
+            s = Stamp.max(s, content.getOrDefault(type, base));
+            for (EntityType t : EMBEDS.getOrDefault(type, List.of()))
+                s = Stamp.max(s, membership.getOrDefault(t, base));
+        }
+        return validator(s);
+    }
+
+    private Stamp newest() {
+        Stamp s = base;
+        for (Stamp c : content.values())
+            s = Stamp.max(s, c);
+        return s;
+    }
+
+    private Validator validator(Stamp s) {
+        return new Validator(epoch + "-" + Long.toString(s.version(), 36), Instant.ofEpochMilli(s.modifiedAt()));
+    }
+}
@@ -0,0 +1,137 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one place where match scores are computed. ApplicationState stores the
+ * scores of the default strategy on applications; clients only read them (or
+ * ask for a score over GET /match/score), they never compute one.
+ */
+@ApplicationScoped
+public class MatchEngine {
+
+    // strategy whose scores are stored on applications
+    private static final String DEFAULT_STRATEGY = System.getProperty("jobfinder.match.strategy",
+            SkillMatcher.NAME);
+
+    @Inject
+    @Any
+    private Instance<MatchStrategy> discovered;
+
+    private final SkillMatcher skills = new SkillMatcher();
+    private final Map<String, MatchStrategy> strategies = new ConcurrentHashMap<>();
+    private volatile MatchStrategy defaultStrategy = skills;
+
+    @PostConstruct
+    void init() {
+        strategies.put(skills.name(), skills);
+        for (MatchStrategy s : discovered) {
+            if (strategies.putIfAbsent(s.name(), s) != null)
+                System.err.println("[MatchEngine] duplicate strategy name ignored: " + s.name());
+        }
+        MatchStrategy configured = strategies.get(DEFAULT_STRATEGY);
+        if (configured != null)
+            defaultStrategy = configured;
+        else
+            System.err.println("[MatchEngine] unknown jobfinder.match.strategy '" + DEFAULT_STRATEGY
+                    + "', using " + skills.name());
+    }
+
+    /** Score with the default strategy (the one stored on applications). */
+    public double score(Applicant applicant, JobOffer offer) {
+        return defaultStrategy.score(applicant, offer);
+    }
+
+    /**
+     * Default-strategy score of the pair if it is cached at the current
+     * profile revisions of both (nothing they are scored on changed since),
+     * else null.
+     */
+    public Double cachedScore(Applicant applicant, JobOffer offer) {
+        return defaultStrategy == skills ? skills.cachedScore(applicant, offer) : null;
+    }
+
+    /**
+     * Score with a named strategy; null means the default one.
+     *
+     * @throws IllegalArgumentException if no strategy has that name
+     */
+    public double score(String strategy, Applicant applicant, JobOffer offer) {
+        return strategy(strategy).score(applicant, offer);
+    }
+
+    /**
+     * Canonical names of the skills a free text (offer description, CV)
+     * mentions under any synonym, multi-word ones included; one linear scan.
+     */
+    public List<String> detectSkills(String text) {
+        return skills.detectSkills(text);
+    }
+
+    public MatchStrategy strategy(String name) {
+        if (name == null || name.isBlank())
+            return defaultStrategy;
+        MatchStrategy s = strategies.get(name);
+        if (s == null)
+            throw new IllegalArgumentException("Unknown match strategy: " + name);
+        return s;
+    }
+
+    public String getDefaultStrategy() {
+        return defaultStrategy.name();
+    }
+
+    public List<String> getStrategyNames() {
+        List<String> names = new ArrayList<>(strategies.keySet());
+        names.sort(null);
+        return names;
+    }
+
+    // ======================================================================
+    // Interned profiles and score cache of the built-in strategy
+    // ======================================================================
+
+    /** Re-interns after a create/update; bumps the revision only if the skills changed. */
+    void refresh(Applicant applicant) {
+        skills.refresh(applicant);
+    }
+
+    /** Same for an offer's requirements, title and description. */
+    void refresh(JobOffer offer) {
+        skills.refresh(offer);
+    }
+
+    /** Hit/miss counters of the (applicant revision, offer revision) score cache. */
+    public Map<String, Object> scoreCacheStats() {
+        return skills.scoreCacheStats();
+    }
+
+    public void resetStats() {
+        skills.resetStats();
+    }
+
+    void forgetApplicant(UUID id) {
+        skills.forgetApplicant(id);
+    }
+
+    void forgetOffer(UUID id) {
+        skills.forgetOffer(id);
+    }
+
+    void clear() {
+        skills.clear();
+    }
+}
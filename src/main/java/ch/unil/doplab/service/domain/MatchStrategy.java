@@ -0,0 +1,19 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+
+/**
+ * A way of scoring how well an applicant fits a job offer (0-100).
+ *
+ * The built-in "skills" strategy is the one stored on applications; more
+ * strategies are picked up as CDI beans by MatchEngine and can be queried by
+ * name over REST. Implementations must be thread-safe and must not write.
+ */
+public interface MatchStrategy {
+
+    /** Unique name, used in ?strategy= and jobfinder.match.strategy. */
+    String name();
+
+    double score(Applicant applicant, JobOffer offer);
+}
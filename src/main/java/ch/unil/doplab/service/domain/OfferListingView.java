@@ -0,0 +1,147 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.JobOffer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Job offers kept sorted newest first (createdAt desc, nulls last), globally
+ * and per employer, for GET /job-offers.
+ *
+ * Writes cost O(log n). Reads return an immutable snapshot that is rebuilt
+ * only after the view changed, so repeated listings cost nothing.
+ */
+public class OfferListingView {
+
+    /** Sort key; the id breaks ties so two offers never collide. */
+    private record Key(LocalDateTime createdAt, UUID id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key o) {
+            if (createdAt == null && o.createdAt != null)
+                return 1;
+            if (createdAt != null && o.createdAt == null)
+                return -1;
+            if (createdAt != null) {
+                int c = o.createdAt.compareTo(createdAt); // newest first
+                if (c != 0)
+                    return c;
+            }
+            return EntityStore.ID_ORDER.compare(id, o.id);
+        }
+    }
+
+    private record Snapshot(long version, List<JobOffer> offers) {
+    }
+
+    private final ConcurrentSkipListMap<Key, JobOffer> all = new ConcurrentSkipListMap<>();
+    private final Map<UUID, ConcurrentSkipListMap<Key, JobOffer>> byEmployer = new ConcurrentHashMap<>();
+    // current key and employer of each offer, needed to find the old entry on update/remove
+    private final Map<UUID, Key> keys = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> employers = new ConcurrentHashMap<>();
+
+    private volatile long version;
+    private volatile Snapshot allSnapshot;
+    private final Map<UUID, Snapshot> employerSnapshots = new ConcurrentHashMap<>();
+
+    public synchronized void upsert(JobOffer o) {
+        if (o == null || o.getId() == null)
+            return;
+        unlink(o.getId());
+
+        Key key = new Key(o.getCreatedAt(), o.getId());
+        keys.put(o.getId(), key);
+        all.put(key, o);
+        if (o.getEmployerId() != null) {
+            employers.put(o.getId(), o.getEmployerId());
+            byEmployer.computeIfAbsent(o.getEmployerId(), k -> new ConcurrentSkipListMap<>()).put(key, o);
+        }
+        version++;
+    }
+
+    public synchronized void remove(UUID id) {
+        if (id == null)
+            return;
+        if (unlink(id))
+            version++;
+    }
+
+    private boolean unlink(UUID id) {
+        Key old = keys.remove(id);
+        if (old == null)
+            return false;
+        all.remove(old);
+        UUID employerId = employers.remove(id);
+        if (employerId != null) {
+            ConcurrentSkipListMap<Key, JobOffer> m = byEmployer.get(employerId);
+            if (m != null)
+                m.remove(old);
+        }
+        return true;
+    }
+
+    public synchronized void rebuild(Collection<JobOffer> offers) {
+        clear();
+        for (JobOffer o : offers)
+            upsert(o);
+    }
+
+    public synchronized void clear() {
+        all.clear();
+        byEmployer.clear();
+        keys.clear();
+        employers.clear();
+        version++;
+    }
+
+    public List<JobOffer> all() {
+        Snapshot s = allSnapshot;
+        long v = version;
+        if (s != null && s.version() == v)
+            return s.offers();
+        List<JobOffer> offers = List.copyOf(all.values());
+        allSnapshot = new Snapshot(v, offers);
+        return offers;
+    }
+
+    public List<JobOffer> byEmployer(UUID employerId) {
+        if (employerId == null)
+            return Collections.emptyList();
+        Snapshot s = employerSnapshots.get(employerId);
+        long v = version;
+        if (s != null && s.version() == v)
+            return s.offers();
+        ConcurrentSkipListMap<Key, JobOffer> m = byEmployer.get(employerId);
+        List<JobOffer> offers = m == null ? List.of() : List.copyOf(m.values());
+        employerSnapshots.put(employerId, new Snapshot(v, offers));
+        return offers;
+    }
+
+    /**
+     * Keyset page, of one employer's offers when employerId is set: up to
+     * limit offers after the one at (afterCreatedAt, afterId), from the
+     * newest when afterId is null. Reads the live maps, no snapshot.
+     */
+    public List<JobOffer> page(UUID employerId, LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        NavigableMap<Key, JobOffer> m = employerId == null ? all : byEmployer.get(employerId);
+        if (m == null)
+            return Collections.emptyList();
+        if (afterId != null)
+            m = m.tailMap(new Key(afterCreatedAt, afterId), false);
+        List<JobOffer> out = new ArrayList<>(Math.min(limit, 1024));
+        for (JobOffer o : m.values()) {
+            if (out.size() >= limit)
+                break;
+            out.add(o);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,50 @@
+package ch.unil.doplab.service.domain;
+
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache mutations buffered for one JTA transaction. They are applied in
+ * order once the transaction has committed and dropped on rollback, so the
+ * RAM caches never hold state the DB did not accept. Actions added with
+ * addLast (version bumps) run after every mutation.
+ */
+final class PendingCacheWrites implements Synchronization {
+
+    private final List<Runnable> changes = new ArrayList<>();
+    private final List<Runnable> last = new ArrayList<>();
+
+    void add(Runnable change) {
+        changes.add(change);
+    }
+
+    void addLast(Runnable action) {
+        last.add(action);
+    }
+
+    @Override
+    public void beforeCompletion() {
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        if (status != Status.STATUS_COMMITTED)
+            return;
+        run(changes);
+        run(last);
+    }
+
+    private static void run(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                // the DB is committed either way; keep applying the rest
+                System.err.println("Cache update after commit failed: " + e);
+            }
+        }
+    }
+}
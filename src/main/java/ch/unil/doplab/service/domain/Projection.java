@@ -0,0 +1,133 @@
+package ch.unil.doplab.service.domain;
+
+import jakarta.json.bind.annotation.JsonbTransient;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A sparse fieldset (?fields=title,status): the JSON properties of an
+ * entity a client asked for, plus id, which is always kept.
+ *
+ * The properties are those JSON-B writes: the public getters, minus the
+ * ones marked @JsonbTransient on the getter or on its field. apply() keeps
+ * the same names, order (by name) and omission of nulls, so a projected
+ * object reads like the full one with properties left out.
+ *
+ * Items are either entities or rows read as a column projection (maps by
+ * property name, see ApplicationState); both project the same way.
+ */
+public final class Projection {
+
+    // JSON property name -> getter, by name
+    private static final ClassValue<Map<String, Method>> PROPERTIES = new ClassValue<>() {
+        @Override
+        protected Map<String, Method> computeValue(Class<?> type) {
+            return properties(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final Set<String> fields;
+
+    private Projection(Class<?> type, Set<String> fields) {
+        this.type = type;
+        this.fields = fields;
+    }
+
+    /**
+     * Parses a comma-separated list of property names; null when none is
+     * given (whole entities). Throws IllegalArgumentException on a name
+     * the type does not have.
+     */
+    public static Projection of(Class<?> type, String fields) {
+        if (fields == null || fields.isBlank())
+            return null;
+        Map<String, Method> properties = PROPERTIES.get(type);
+        Set<String> names = new TreeSet<>();
+        names.add("id");
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty())
+                continue;
+            if (!properties.containsKey(name))
+                throw new IllegalArgumentException("Unknown field of " + type.getSimpleName() + ": " + name);
+            names.add(name);
+        }
+        return new Projection(type, Collections.unmodifiableSet(names));
+    }
+
+    public Class<?> type() {
+        return type;
+    }
+
+    /** Requested property names and id, sorted. */
+    public Set<String> fields() {
+        return fields;
+    }
+
+    /** The item reduced to the requested non-null properties. */
+    public Map<String, Object> apply(Object item) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String name : fields) {
+            Object value = get(item, name);
+            if (value != null)
+                out.put(name, value);
+        }
+        return out;
+    }
+
+    /** A property of an entity or of a projected row. */
+    public static Object get(Object item, String name) {
+        if (item instanceof Map<?, ?> row)
+            return row.get(name);
+        Method getter = PROPERTIES.get(item.getClass()).get(name);
+        if (getter == null)
+            throw new IllegalArgumentException("Unknown field of " + item.getClass().getSimpleName() + ": " + name);
+        try {
+            return getter.invoke(item);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static Map<String, Method> properties(Class<?> type) {
+        Map<String, Method> out = new TreeMap<>();
+        try {
+            for (PropertyDescriptor p : Introspector.getBeanInfo(type, Object.class).getPropertyDescriptors()) {
+                Method getter = p.getReadMethod();
+                if (getter == null || getter.isAnnotationPresent(JsonbTransient.class)
+                        || transientField(type, p.getName()))
+                    continue;
+                out.put(p.getName(), getter);
+            }
+        } catch (IntrospectionException e) {
+            throw new IllegalStateException("Cannot introspect " + type.getName(), e);
+        }
+        return Collections.unmodifiableMap(out);
+    }
+
+    private static boolean transientField(Class<?> type, String name) {
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            try {
+                return c.getDeclaredField(name).isAnnotationPresent(JsonbTransient.class);
+            } catch (NoSuchFieldException e) {
+                // declared higher up, if at all
+            }
+        }
+        return false;
+    }
+}
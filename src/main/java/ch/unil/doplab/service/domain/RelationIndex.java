@@ -0,0 +1,85 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.util.ConcurrentUuidMap;
+import ch.unil.doplab.util.UuidSet;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One-to-many secondary index (e.g. applicant -> applications) kept in RAM
+ * next to the EntityStores.
+ *
+ * The index lives outside the entities on purpose: the @Transient id lists on
+ * JobOffer/Company/User are lost every time a fresh entity instance replaces
+ * the cached one, this index is not.
+ *
+ * Keys and values are stored as primitive long pairs (ConcurrentUuidMap of
+ * UuidSet), so an edge costs ~24 bytes instead of a UUID plus a set node.
+ */
+public class RelationIndex {
+
+    private final ConcurrentUuidMap<UuidSet> map = new ConcurrentUuidMap<>();
+
+    public void add(UUID key, UUID value) {
+        if (key == null || value == null)
+            return;
+        // under the stripe lock, so a concurrent remove cannot drop the set in between
+        map.compute(key, set -> {
+            UuidSet target = set == null ? new UuidSet() : set;
+            target.add(value);
+            return target;
+        });
+    }
+
+    public void remove(UUID key, UUID value) {
+        if (key == null || value == null)
+            return;
+        map.compute(key, set -> {
+            if (set == null)
+                return null;
+            set.remove(value);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Moves a value from one key to another (e.g. offer changing company).
+     */
+    public void move(UUID oldKey, UUID newKey, UUID value) {
+        if (java.util.Objects.equals(oldKey, newKey))
+            return;
+        remove(oldKey, value);
+        add(newKey, value);
+    }
+
+    /**
+     * Drops the key and returns the values that were attached to it.
+     */
+    public List<UUID> removeKey(UUID key) {
+        if (key == null)
+            return Collections.emptyList();
+        UuidSet removed = map.remove(key);
+        return removed == null ? Collections.emptyList() : removed.toList();
+    }
+
+    /**
+     * Snapshot of the values attached to the key (never null).
+     */
+    public List<UUID> get(UUID key) {
+        if (key == null)
+            return Collections.emptyList();
+        UuidSet set = map.get(key);
+        return set == null ? Collections.emptyList() : set.toList();
+    }
+
+    public int count(UUID key) {
+        UuidSet set = key == null ? null : map.get(key);
+        return set == null ? 0 : set.size();
+    }
+
+    public void clear() {
+        map.clear();
+    }
+}
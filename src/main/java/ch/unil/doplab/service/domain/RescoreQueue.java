@@ -0,0 +1,232 @@
+package ch.unil.doplab.service.domain;
+
+import jakarta.annotation.Resource;
+import jakarta.enterprise.concurrent.ManagedScheduledExecutorService;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotFoundException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background queue of match-score recomputations, one job per applicant or
+ * offer. A request for a target that is already queued is folded into the
+ * queued job and pushes its start back by the debounce window (capped at
+ * maxDelayMs after the first request), so a burst of skill edits ends in a
+ * single recomputation over the final profile.
+ *
+ * Jobs run on the managed scheduled executor, at most `workers` at a time,
+ * each in its own transaction (ApplicationState.recomputeMatchScoresFor*).
+ * A target never has two jobs running at once.
+ *
+ * Configured with system properties:
+ *   jobfinder.rescore.debounceMs = quiet time before a job starts (500)
+ *   jobfinder.rescore.maxDelayMs = longest a job is pushed back (5000)
+ *   jobfinder.rescore.workers    = jobs running concurrently (2)
+ *   jobfinder.rescore.maxPending = queued targets before submit is refused (10000)
+ */
+@ApplicationScoped
+public class RescoreQueue {
+
+    public enum Kind { APPLICANT, JOB_OFFER }
+
+    private record Target(Kind kind, UUID id) {
+    }
+
+    /** A queued job; dueAt is only written inside pending.compute. */
+    private static final class Job {
+        final long firstAt;
+        volatile long dueAt;
+
+        Job(long now) {
+            this.firstAt = now;
+            this.dueAt = now + DEBOUNCE_MS;
+        }
+    }
+
+    private static final long DEBOUNCE_MS = Long.getLong("jobfinder.rescore.debounceMs", 500);
+    private static final long MAX_DELAY_MS = Long.getLong("jobfinder.rescore.maxDelayMs", 5000);
+    private static final int WORKERS = Integer.getInteger("jobfinder.rescore.workers", 2);
+    private static final int MAX_PENDING = Integer.getInteger("jobfinder.rescore.maxPending", 10_000);
+
+    @Resource
+    private ManagedScheduledExecutorService scheduler;
+
+    @Inject
+    private ApplicationState state;
+
+    private final Map<Target, Job> pending = new ConcurrentHashMap<>();
+    private final Set<Target> running = ConcurrentHashMap.newKeySet();
+    private final Semaphore workers = new Semaphore(Math.max(1, WORKERS));
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public boolean submitApplicant(UUID applicantId) {
+        return submit(Kind.APPLICANT, applicantId);
+    }
+
+    public boolean submitOffer(UUID jobOfferId) {
+        return submit(Kind.JOB_OFFER, jobOfferId);
+    }
+
+    /**
+     * Queues a recomputation of the target's scores. Returns true if a new
+     * job was queued, false if the request was folded into a queued one.
+     * Throws IllegalStateException when maxPending targets are queued.
+     */
+    public boolean submit(Kind kind, UUID id) {
+        if (kind == null || id == null)
+            throw new IllegalArgumentException("kind and id are required");
+        Target target = new Target(kind, id);
+        submitted.increment();
+
+        if (scheduler == null) {
+            // outside a container: no executor to defer to
+            run(target);
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean[] created = new boolean[1];
+        pending.compute(target, (t, job) -> {
+            if (job == null) {
+                if (pending.size() >= MAX_PENDING)
+                    return null;
+                created[0] = true;
+                return new Job(now);
+            }
+            job.dueAt = Math.min(now + DEBOUNCE_MS, job.firstAt + MAX_DELAY_MS);
+            return job;
+        });
+
+        if (created[0]) {
+            schedule(target, DEBOUNCE_MS);
+            return true;
+        }
+        if (!pending.containsKey(target)) {
+            rejected.increment();
+            throw new IllegalStateException("Rescore queue is full");
+        }
+        coalesced.increment();
+        return false;
+    }
+
+    /**
+     * Re-scores many targets (e.g. after a synonym reload) from one
+     * background task, one after the other, each still holding a worker
+     * permit. They bypass the pending map, so maxPending does not apply.
+     */
+    public void submitAll(Kind kind, Collection<UUID> ids) {
+        List<Target> targets = ids.stream().filter(Objects::nonNull).map(id -> new Target(kind, id)).toList();
+        if (targets.isEmpty())
+            return;
+        submitted.add(targets.size());
+        if (scheduler == null) {
+            targets.forEach(this::run);
+            return;
+        }
+        scheduler.execute(() -> {
+            for (Target target : targets) {
+                try {
+                    workers.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                try {
+                    run(target);
+                } finally {
+                    workers.release();
+                }
+            }
+        });
+    }
+
+    private void schedule(Target target, long delayMs) {
+        try {
+            scheduler.schedule(() -> fire(target), Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // shutting down: the scores get recomputed on the next edit
+            pending.remove(target);
+            rejected.increment();
+        }
+    }
+
+    /** Timer callback: starts the job if its window elapsed, else re-arms. */
+    private void fire(Target target) {
+        Job job = pending.get(target);
+        if (job == null)
+            return;
+
+        long wait = job.dueAt - System.currentTimeMillis();
+        if (wait > 0) {
+            schedule(target, wait);
+            return;
+        }
+        // one job per target at a time, and at most WORKERS overall
+        if (!running.add(target)) {
+            schedule(target, DEBOUNCE_MS);
+            return;
+        }
+        if (!workers.tryAcquire()) {
+            running.remove(target);
+            schedule(target, DEBOUNCE_MS);
+            return;
+        }
+        try {
+            // later requests queue a new job, which reads what this one wrote
+            if (pending.remove(target, job))
+                run(target);
+        } finally {
+            running.remove(target);
+            workers.release();
+        }
+    }
+
+    private void run(Target target) {
+        try {
+            if (target.kind() == Kind.APPLICANT)
+                state.recomputeMatchScoresForApplicant(target.id());
+            else
+                state.recomputeMatchScoresForOffer(target.id());
+            processed.increment();
+        } catch (NotFoundException e) {
+            // deleted while queued, nothing left to score
+            processed.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            System.err.println("[RescoreQueue] " + target.kind() + " " + target.id() + " failed: " + e);
+        }
+    }
+
+    /** JSON-friendly queue counters. */
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("pending", pending.size());
+        out.put("running", running.size());
+        out.put("submitted", submitted.sum());
+        out.put("coalesced", coalesced.sum());
+        out.put("rejected", rejected.sum());
+        out.put("processed", processed.sum());
+        out.put("failed", failed.sum());
+        out.put("debounceMs", DEBOUNCE_MS);
+        out.put("maxDelayMs", MAX_DELAY_MS);
+        out.put("workers", WORKERS);
+        return out;
+    }
+}
@@ -0,0 +1,25 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+
+/**
+ * An applicant with the match score they got for one job offer.
+ */
+public class ScoredApplicant {
+
+    private final Applicant applicant;
+    private final double score;
+
+    public ScoredApplicant(Applicant applicant, double score) {
+        this.applicant = applicant;
+        this.score = score;
+    }
+
+    public Applicant getApplicant() {
+        return applicant;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
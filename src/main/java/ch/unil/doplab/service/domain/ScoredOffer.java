@@ -0,0 +1,25 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.JobOffer;
+
+/**
+ * A job offer with the match score it got for one applicant.
+ */
+public class ScoredOffer {
+
+    private final JobOffer jobOffer;
+    private final double score;
+
+    public ScoredOffer(JobOffer jobOffer, double score) {
+        this.jobOffer = jobOffer;
+        this.score = score;
+    }
+
+    public JobOffer getJobOffer() {
+        return jobOffer;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,323 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.util.UuidHashMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Inverted index from normalized skill terms (phrase, tokens and synonyms,
+ * see SkillTerms.terms) to entities, one instance for open job offers
+ * (recommendations) and one for applicants (candidate ranking). Only the
+ * entities sharing a term with the query are scored, instead of all of them.
+ *
+ * Entities get a dense int ordinal and posting lists hold ordinals, so a
+ * query counts shared terms in an int array without touching UUIDs or maps.
+ * Reads share a read lock; writes are exclusive.
+ */
+public class SkillIndex<T> {
+
+    private static final int[] EMPTY = new int[0];
+
+    /** Growable list of ordinals. */
+    private static final class Posting {
+        int[] ords = new int[4];
+        int size;
+
+        void add(int ord) {
+            if (size == ords.length)
+                ords = Arrays.copyOf(ords, size * 2);
+            ords[size++] = ord;
+        }
+
+        void remove(int ord) {
+            for (int i = 0; i < size; i++) {
+                if (ords[i] == ord) {
+                    ords[i] = ords[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Function<T, UUID> idOf;
+    private final Function<T, Set<String>> termsOf;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final UuidHashMap<Integer> ordinals = new UuidHashMap<>();
+    private UUID[] ids = new UUID[16];
+    // terms of each ordinal, needed to unlink it on update/remove
+    private Set<String>[] termsByOrd = newTermsArray(16);
+    private int[] free = new int[16];
+    private int freeCount;
+    private int nextOrd;
+
+    public SkillIndex(Function<T, UUID> idOf, Function<T, Set<String>> termsOf) {
+        this.idOf = idOf;
+        this.termsOf = termsOf;
+    }
+
+    public static SkillIndex<JobOffer> forOffers() {
+        return new SkillIndex<>(JobOffer::getId, SkillIndex::offerTerms);
+    }
+
+    public static SkillIndex<Applicant> forApplicants() {
+        return new SkillIndex<>(Applicant::getId, SkillIndex::applicantTerms);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Set<String>[] newTermsArray(int n) {
+        return (Set<String>[]) new Set[n];
+    }
+
+    public void upsert(T entity) {
+        UUID id = entity == null ? null : idOf.apply(entity);
+        if (id == null)
+            return;
+        SynonymDictionary dictionary = SkillTerms.dictionary();
+        Set<String> terms = termsOf.apply(entity);
+        lock.writeLock().lock();
+        try {
+            // a reload swapped the synonyms meanwhile and may already have
+            // looked for the entities to re-index: index the new terms
+            while (dictionary != SkillTerms.dictionary()) {
+                dictionary = SkillTerms.dictionary();
+                terms = termsOf.apply(entity);
+            }
+            unlink(id);
+            int ord = freeCount > 0 ? free[--freeCount] : nextOrd++;
+            if (ord == ids.length) {
+                ids = Arrays.copyOf(ids, ord * 2);
+                termsByOrd = Arrays.copyOf(termsByOrd, ord * 2);
+            }
+            ids[ord] = id;
+            termsByOrd[ord] = terms;
+            ordinals.put(id, ord);
+            for (String t : terms)
+                postings.computeIfAbsent(t, k -> new Posting()).add(ord);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        if (id == null)
+            return;
+        lock.writeLock().lock();
+        try {
+            unlink(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unlink(UUID id) {
+        Integer ord = ordinals.remove(id);
+        if (ord == null)
+            return;
+        for (String t : termsByOrd[ord]) {
+            Posting p = postings.get(t);
+            if (p == null)
+                continue;
+            p.remove(ord);
+            if (p.size == 0)
+                postings.remove(t);
+        }
+        ids[ord] = null;
+        termsByOrd[ord] = null;
+        if (freeCount == free.length)
+            free = Arrays.copyOf(free, freeCount * 2);
+        free[freeCount++] = ord;
+    }
+
+    public void rebuild(Collection<T> entities) {
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (T e : entities)
+                upsert(e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            ordinals.clear();
+            ids = new UUID[16];
+            termsByOrd = newTermsArray(16);
+            free = new int[16];
+            freeCount = 0;
+            nextOrd = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entities sharing at least one of the query terms, most shared terms
+     * first, at most max of them.
+     */
+    public List<UUID> candidates(Collection<String> queryTerms, int max) {
+        if (max <= 0)
+            return Collections.emptyList();
+        lock.readLock().lock();
+        try {
+            int[] counts = new int[nextOrd];
+            int[] touched = EMPTY;
+            int touchedCount = 0;
+            int best = 0;
+            for (String t : queryTerms) {
+                Posting p = postings.get(t);
+                if (p == null)
+                    continue;
+                for (int i = 0; i < p.size; i++) {
+                    int ord = p.ords[i];
+                    if (counts[ord]++ == 0) {
+                        if (touchedCount == touched.length)
+                            touched = Arrays.copyOf(touched, Math.max(16, touchedCount * 2));
+                        touched[touchedCount++] = ord;
+                    }
+                    best = Math.max(best, counts[ord]);
+                }
+            }
+
+            // bucket by count (a count is at most the number of query terms)
+            int[] perCount = new int[best + 1];
+            for (int i = 0; i < touchedCount; i++)
+                perCount[counts[touched[i]]]++;
+            int threshold = best;
+            int kept = 0;
+            while (threshold > 1 && kept + perCount[threshold] < max) {
+                kept += perCount[threshold];
+                threshold--;
+            }
+
+            List<List<UUID>> byCount = new ArrayList<>(best + 1);
+            for (int c = 0; c <= best; c++)
+                byCount.add(new ArrayList<>());
+            for (int i = 0; i < touchedCount; i++) {
+                int ord = touched[i];
+                if (counts[ord] >= threshold)
+                    byCount.get(counts[ord]).add(ids[ord]);
+            }
+            List<UUID> out = new ArrayList<>(Math.min(max, touchedCount));
+            for (int c = best; c >= threshold && out.size() < max; c--) {
+                List<UUID> bucket = byCount.get(c);
+                out.addAll(bucket.subList(0, Math.min(bucket.size(), max - out.size())));
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entities indexed under the term itself or under every one of its
+     * tokens, since a multi-word term can occur inside a longer phrase or
+     * text. A superset of the entities whose skills or text contain it.
+     */
+    public Set<UUID> mentioning(String term) {
+        Set<String> tokens = SkillTerms.tokenize(term);
+        lock.readLock().lock();
+        try {
+            Set<UUID> out = new HashSet<>();
+            Posting p = postings.get(term);
+            if (p != null) {
+                for (int i = 0; i < p.size; i++)
+                    out.add(ids[p.ords[i]]);
+            }
+            if (tokens.isEmpty())
+                return out;
+            int[] counts = new int[nextOrd];
+            for (String t : tokens) {
+                Posting tp = postings.get(t);
+                if (tp == null)
+                    return out;
+                for (int i = 0; i < tp.size; i++)
+                    counts[tp.ords[i]]++;
+            }
+            for (int ord = 0; ord < nextOrd; ord++) {
+                if (counts[ord] == tokens.size())
+                    out.add(ids[ord]);
+            }
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID id) {
+        lock.readLock().lock();
+        try {
+            return ordinals.get(id) != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ======================================================================
+    // Index terms
+    // ======================================================================
+
+    /**
+     * Required skills and qualifications; offers without requirements are
+     * indexed by their title/description tokens, which is what the match
+     * score falls back to for them.
+     */
+    static Set<String> offerTerms(JobOffer o) {
+        Set<String> terms = new HashSet<>();
+        addPhrases(terms, o.getRequiredSkills());
+        addPhrases(terms, o.getRequiredQualifications());
+        if (terms.isEmpty()) {
+            terms.addAll(SkillTerms.tokenize(o.getTitle()));
+            terms.addAll(SkillTerms.tokenize(o.getDescription()));
+        }
+        return terms;
+    }
+
+    /**
+     * An applicant's skill phrases and their tokens, without synonyms: the
+     * offer side already expands them (offerTerms), and expanding both sides
+     * would only multiply the postings every query walks.
+     */
+    static Set<String> applicantTerms(Applicant a) {
+        Set<String> terms = new HashSet<>();
+        for (String p : SkillMatcher.applicantPhrases(a)) {
+            terms.add(p);
+            terms.addAll(SkillTerms.tokenize(p));
+        }
+        return terms;
+    }
+
+    private static void addPhrases(Set<String> terms, Collection<String> phrases) {
+        if (phrases == null)
+            return;
+        for (String p : phrases)
+            terms.addAll(SkillTerms.terms(p));
+    }
+}
@@ -0,0 +1,542 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.service.domain.SkillVocabulary.Phrase;
+import ch.unil.doplab.service.domain.SkillVocabulary.Term;
+import ch.unil.doplab.service.domain.SkillVocabulary.TextTokens;
+import ch.unil.doplab.util.ConcurrentUuidMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applicant / job offer match score (0-100, one decimal).
+ *
+ * Phrases and tokens are interned once per applicant and offer version
+ * (see SkillVocabulary); comparisons then run on term ids and sorted int
+ * arrays (only the edit-distance check allocates). Scores are identical
+ * to the former string-based implementation.
+ *
+ * A synonym reload (install) swaps vocabulary and automaton as a whole;
+ * profiles built from the previous ones are rebuilt on next use.
+ *
+ * This is MatchEngine's built-in "skills" strategy.
+ */
+final class SkillMatcher implements MatchStrategy {
+
+    static final String NAME = "skills";
+
+    /**
+     * Interned skill phrases of an applicant, plus the union of their tokens
+     * (ids, and texts in the same order) and, per token, the skills of the
+     * synonym terms covering it.
+     */
+    private static final class ApplicantProfile {
+        final Model model;
+        final List<String> skills;
+        final Phrase[] phrases;
+        final int[] tokenIds;
+        final String[] tokenTexts;
+        final int[][] tokenSkills;
+        final long revision = REVISIONS.incrementAndGet();
+
+        ApplicantProfile(Model model, List<String> skills, Phrase[] phrases, int[] tokenIds, String[] tokenTexts,
+                int[][] tokenSkills) {
+            this.model = model;
+            this.skills = skills;
+            this.phrases = phrases;
+            this.tokenIds = tokenIds;
+            this.tokenTexts = tokenTexts;
+            this.tokenSkills = tokenSkills;
+        }
+    }
+
+    /**
+     * Interned requirements of an offer, or its title/description tokens
+     * when it has none (left out of the vocabulary, see textTokens).
+     */
+    private static final class OfferProfile {
+        final Model model;
+        final List<String> skills;
+        final List<String> qualifications;
+        final String title;
+        final String description;
+        final Phrase[] reqSkills;
+        final Phrase[] reqQuals;
+        final TextTokens textTokens;
+        final int[] textSkills;
+        final long revision = REVISIONS.incrementAndGet();
+
+        OfferProfile(Model model, List<String> skills, List<String> qualifications, String title,
+                String description, Phrase[] reqSkills, Phrase[] reqQuals, TextTokens textTokens,
+                int[] textSkills) {
+            this.model = model;
+            this.skills = skills;
+            this.qualifications = qualifications;
+            this.title = title;
+            this.description = description;
+            this.reqSkills = reqSkills;
+            this.reqQuals = reqQuals;
+            this.textTokens = textTokens;
+            this.textSkills = textSkills;
+        }
+
+        boolean hasRequirements() {
+            return reqSkills != null || reqQuals != null;
+        }
+    }
+
+    /** Vocabulary and automaton of one synonym dictionary. */
+    private static final class Model {
+        final SynonymDictionary dictionary;
+        final SkillVocabulary vocabulary;
+        final SynonymAutomaton automaton;
+
+        Model(SynonymDictionary dictionary) {
+            this.dictionary = dictionary;
+            this.vocabulary = new SkillVocabulary(dictionary.groups());
+            this.automaton = SynonymAutomaton.compile(dictionary.groups());
+        }
+    }
+
+    // profile revisions, unique across applicants and offers
+    private static final AtomicLong REVISIONS = new AtomicLong();
+    private static final TextTokens NO_TEXT = new TextTokens(new int[0], new String[0]);
+    private static final int SCORE_CACHE_SIZE = Integer.getInteger("jobfinder.match.scoreCacheSize", 200_000);
+
+    private volatile Model model = new Model(SkillTerms.dictionary());
+    private final ConcurrentUuidMap<ApplicantProfile> applicants = new ConcurrentUuidMap<>();
+    private final ConcurrentUuidMap<OfferProfile> offers = new ConcurrentUuidMap<>();
+    // (applicant revision, offer revision) -> score; a revision pins the
+    // profile content, so entries never go stale, old ones just age out
+    private final EntityStore<Double> scores = new EntityStore<>("matchScores", SCORE_CACHE_SIZE, s -> 1);
+
+    // ======================================================================
+    // Scoring
+    // ======================================================================
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public double score(Applicant applicant, JobOffer offer) {
+        Model m = model();
+        ApplicantProfile a = profile(m, applicant);
+        if (a.phrases.length == 0)
+            return 0.0;
+        OfferProfile o = profile(m, offer);
+        if (applicant.getId() == null || offer.getId() == null)
+            return score(a, o);
+
+        UUID key = scoreKey(a, o);
+        Double cached = scores.get(key);
+        if (cached != null)
+            return cached;
+        double score = score(a, o);
+        scores.put(key, score);
+        return score;
+    }
+
+    /**
+     * Score computed from the profiles without the score cache; what a
+     * cache miss costs (see MatchingBenchmark).
+     */
+    double computeScore(Applicant applicant, JobOffer offer) {
+        Model m = model();
+        ApplicantProfile a = profile(m, applicant);
+        if (a.phrases.length == 0)
+            return 0.0;
+        return score(a, profile(m, offer));
+    }
+
+    /**
+     * The cached score of the pair at the current revisions of both, null
+     * when it has not been computed since either changed.
+     */
+    Double cachedScore(Applicant applicant, JobOffer offer) {
+        if (applicant.getId() == null || offer.getId() == null)
+            return null;
+        Model m = model();
+        ApplicantProfile a = profile(m, applicant);
+        if (a.phrases.length == 0)
+            return 0.0;
+        return scores.get(scoreKey(a, profile(m, offer)));
+    }
+
+    // UUID.hashCode folds msb ^ lsb, so mix one half (an odd multiplier is a
+    // bijection) or pairs with equal a ^ o would all collide
+    private static UUID scoreKey(ApplicantProfile a, OfferProfile o) {
+        return new UUID(a.revision * 0x9E3779B97F4A7C15L, o.revision);
+    }
+
+    private static double score(ApplicantProfile a, OfferProfile o) {
+        if (o.hasRequirements()) {
+            boolean hasSkills = o.reqSkills != null;
+            boolean hasQuals = o.reqQuals != null;
+            double skillsScore = hasSkills ? listSimilarity(o.reqSkills, a.phrases) : 0.0;
+            double qualsScore = hasQuals ? listSimilarity(o.reqQuals, a.phrases) : 0.0;
+
+            double result;
+            if (hasSkills && hasQuals) {
+                result = 0.7 * skillsScore + 0.3 * qualsScore;
+            } else {
+                result = hasSkills ? skillsScore : qualsScore;
+            }
+            return Math.round(result * 10.0) / 10.0;
+        }
+
+        // Fallback: title/description token overlap. A token also counts when
+        // a synonym term covering it ("aws", "ruby on rails") names a skill
+        // the text mentions under any of its names.
+        int[] textIds = o.textTokens.ids();
+        String[] textOthers = o.textTokens.others();
+        if (textIds.length + textOthers.length == 0 || a.tokenIds.length == 0)
+            return 0.0;
+        int matches = 0;
+        for (int i = 0; i < a.tokenIds.length; i++) {
+            if (Arrays.binarySearch(textIds, a.tokenIds[i]) >= 0
+                    || Arrays.binarySearch(textOthers, a.tokenTexts[i]) >= 0
+                    || SkillVocabulary.intersects(a.tokenSkills[i], o.textSkills))
+                matches++;
+        }
+        double raw = (matches * 100.0) / a.tokenIds.length;
+        return Math.round(raw * 10.0) / 10.0;
+    }
+
+    static double listSimilarity(Phrase[] requirements, Phrase[] candidates) {
+        double sum = 0.0;
+        int n = 0;
+        for (Phrase r : requirements) {
+            if (r == null)
+                continue;
+            double best = 0.0;
+            for (Phrase c : candidates) {
+                best = Math.max(best, phraseSimilarity(r, c));
+                if (best >= 1.0)
+                    break;
+            }
+            sum += best;
+            n++;
+        }
+        if (n == 0)
+            return 0.0;
+        return (sum / n) * 100.0;
+    }
+
+    static double phraseSimilarity(Phrase a, Phrase b) {
+        if (a.isEmpty() || b.isEmpty())
+            return 0.0;
+
+        // 1. Exact match
+        if (a.term == b.term)
+            return 1.0;
+
+        // 2. Synonym match (high confidence)
+        if (a.term.isSynonym(b.term))
+            return 0.95;
+
+        // 3. Contains match
+        if (a.text.contains(b.text) || b.text.contains(a.text))
+            return 0.75;
+
+        // 4. Check if any tokens are synonyms (share a skill)
+        if (a.tokens.length == 0 || b.tokens.length == 0)
+            return 0.0;
+        double synonymBonus = SkillVocabulary.intersects(a.tokenSkills, b.tokenSkills) ? 0.6 : 0.0;
+
+        // 5. Token Jaccard overlap as soft similarity
+        int inter = intersectionSize(a.tokenIds, b.tokenIds);
+        int union = a.tokenIds.length + b.tokenIds.length - inter;
+        double jaccard = union == 0 ? 0.0 : (inter * 1.0) / union;
+
+        // 6. Levenshtein-based similarity for close matches (typos, plurals)
+        double levenshtein = 0.0;
+        String sa = a.text;
+        String sb = b.text;
+        if (Math.abs(sa.length() - sb.length()) <= 3) {
+            int dist = levenshteinDistance(sa, sb);
+            int maxLen = Math.max(sa.length(), sb.length());
+            if (maxLen > 0 && dist <= 3) {
+                levenshtein = 1.0 - ((double) dist / maxLen);
+                if (levenshtein > 0.7)
+                    levenshtein *= 0.6; // Scale down but still credit
+            }
+        }
+
+        return Math.max(Math.max(jaccard, synonymBonus), levenshtein);
+    }
+
+    private static int intersectionSize(int[] a, int[] b) {
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                n++;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return n;
+    }
+
+    static int levenshteinDistance(String s1, String s2) {
+        int[] prev = new int[s2.length() + 1];
+        int[] curr = new int[s2.length() + 1];
+        for (int j = 0; j <= s2.length(); j++)
+            prev[j] = j;
+        for (int i = 1; i <= s1.length(); i++) {
+            curr[0] = i;
+            for (int j = 1; j <= s2.length(); j++) {
+                int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[s2.length()];
+    }
+
+    // ======================================================================
+    // Profiles (interned once per applicant / offer version)
+    // ======================================================================
+
+    /**
+     * Normalized skill phrases of an applicant: the skill list, or the
+     * comma-separated skillsAsString when the list is empty.
+     */
+    static LinkedHashSet<String> applicantPhrases(Applicant applicant) {
+        LinkedHashSet<String> applicantPhrases = new LinkedHashSet<>();
+        if (applicant.getSkills() != null) {
+            for (String s : applicant.getSkills()) {
+                if (s != null && !s.isBlank())
+                    applicantPhrases.add(s.trim().toLowerCase());
+            }
+        }
+        if (applicantPhrases.isEmpty()) {
+            String skillsStr = applicant.getSkillsAsString();
+            if (skillsStr != null && !skillsStr.isBlank()) {
+                for (String s : skillsStr.split(",")) {
+                    String t = s.trim().toLowerCase();
+                    if (!t.isBlank())
+                        applicantPhrases.add(t);
+                }
+            }
+        }
+        return applicantPhrases;
+    }
+
+    private ApplicantProfile profile(Model m, Applicant applicant) {
+        UUID id = applicant.getId();
+        // skillsAsString is derived from the list, comparing the list is enough
+        List<String> skills = applicant.getSkills();
+        ApplicantProfile p = id == null ? null : applicants.get(id);
+        if (p != null && p.model == m && Objects.equals(p.skills, skills)) {
+            applicant.setProfileRevision(p.revision);
+            return p;
+        }
+
+        LinkedHashSet<String> texts = applicantPhrases(applicant);
+        Phrase[] phrases = new Phrase[texts.size()];
+        Map<Integer, Set<Integer>> tokenSkills = new HashMap<>();
+        Map<Integer, String> tokenText = new HashMap<>();
+        int i = 0;
+        for (String t : texts) {
+            Phrase phrase = m.vocabulary.phrase(t);
+            phrases[i++] = phrase;
+            for (Term tok : phrase.tokens) {
+                tokenSkills.computeIfAbsent(tok.id, k -> new HashSet<>());
+                tokenText.put(tok.id, tok.text);
+            }
+            coverTokens(m, phrase.text, tokenSkills);
+        }
+        int[] tokenIds = tokenSkills.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        String[] tokenTexts = new String[tokenIds.length];
+        int[][] skillsOfToken = new int[tokenIds.length][];
+        for (int k = 0; k < tokenIds.length; k++) {
+            tokenTexts[k] = tokenText.get(tokenIds[k]);
+            skillsOfToken[k] = tokenSkills.get(tokenIds[k]).stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        p = new ApplicantProfile(m, copy(skills), phrases, tokenIds, tokenTexts, skillsOfToken);
+        if (id != null)
+            applicants.put(id, p);
+        applicant.setProfileRevision(p.revision);
+        return p;
+    }
+
+    /**
+     * Adds, for every token of the phrase, the skills of the synonym terms
+     * whose occurrence spans it (tokens as in SkillTerms.tokenize).
+     */
+    private static void coverTokens(Model m, String phraseText, Map<Integer, Set<Integer>> tokenSkills) {
+        String text = SynonymAutomaton.normalize(phraseText);
+        m.automaton.scan(text, (start, end, skills) -> {
+            int k = start;
+            while (k < end) {
+                if (!isTokenChar(text.charAt(k))) {
+                    k++;
+                    continue;
+                }
+                int from = k;
+                while (k < text.length() && isTokenChar(text.charAt(k)))
+                    k++;
+                if (k <= end && k - from >= 2) {
+                    Term t = m.vocabulary.find(text.substring(from, k));
+                    Set<Integer> out = t == null ? null : tokenSkills.get(t.id);
+                    if (out != null)
+                        for (int g : skills)
+                            out.add(g);
+                }
+            }
+        });
+    }
+
+    private static boolean isTokenChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '+';
+    }
+
+    private OfferProfile profile(Model m, JobOffer offer) {
+        UUID id = offer.getId();
+        List<String> skills = offer.getRequiredSkills();
+        List<String> quals = offer.getRequiredQualifications();
+        String title = offer.getTitle();
+        String description = offer.getDescription();
+        OfferProfile p = id == null ? null : offers.get(id);
+        if (p != null && p.model == m && Objects.equals(p.skills, skills)
+                && Objects.equals(p.qualifications, quals)
+                && Objects.equals(p.title, title) && Objects.equals(p.description, description)) {
+            offer.setProfileRevision(p.revision);
+            return p;
+        }
+
+        Phrase[] reqSkills = requirements(m, skills);
+        Phrase[] reqQuals = requirements(m, quals);
+        TextTokens textTokens = NO_TEXT;
+        int[] textSkills = new int[0];
+        if (reqSkills == null && reqQuals == null) {
+            StringBuilder jobText = new StringBuilder();
+            if (title != null)
+                jobText.append(title).append(" ");
+            if (description != null)
+                jobText.append(description);
+            textTokens = m.vocabulary.textTokens(jobText.toString());
+            textSkills = m.automaton.skills(jobText);
+        }
+        p = new OfferProfile(m, copy(skills), copy(quals), title, description, reqSkills, reqQuals,
+                textTokens, textSkills);
+        if (id != null)
+            offers.put(id, p);
+        offer.setProfileRevision(p.revision);
+        return p;
+    }
+
+    /**
+     * Interned requirement list, null when there are no requirements. Blank
+     * entries are kept as null so they are skipped but the list still counts
+     * as present, as before.
+     */
+    private static Phrase[] requirements(Model m, List<String> raw) {
+        if (raw == null || raw.isEmpty())
+            return null;
+        Phrase[] out = new Phrase[raw.size()];
+        for (int i = 0; i < out.length; i++) {
+            String r = raw.get(i);
+            out[i] = r == null || r.isBlank() ? null : m.vocabulary.phrase(r);
+        }
+        return out;
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
+    // ======================================================================
+    // Maintenance
+    // ======================================================================
+
+    /**
+     * Interns the applicant's skills unless unchanged since last time, and
+     * stamps its profile revision. Returns the revision.
+     */
+    long refresh(Applicant applicant) {
+        return profile(model(), applicant).revision;
+    }
+
+    long refresh(JobOffer offer) {
+        return profile(model(), offer).revision;
+    }
+
+    /**
+     * The model of SkillTerms' installed dictionary, the one holder both the
+     * index terms and the scores follow. After a reload every profile and
+     * cached score belongs to the previous model and is dropped; profiles are
+     * rebuilt lazily, and a score in flight keeps using the model it read.
+     */
+    private Model model() {
+        Model m = model;
+        if (m.dictionary == SkillTerms.dictionary())
+            return m;
+        synchronized (this) {
+            SynonymDictionary current = SkillTerms.dictionary();
+            if (model.dictionary != current) {
+                model = new Model(current);
+                applicants.clear();
+                offers.clear();
+                scores.clear();
+            }
+            return model;
+        }
+    }
+
+    void forgetApplicant(UUID id) {
+        if (id != null)
+            applicants.remove(id);
+    }
+
+    void forgetOffer(UUID id) {
+        if (id != null)
+            offers.remove(id);
+    }
+
+    void clear() {
+        applicants.clear();
+        offers.clear();
+        scores.clear();
+    }
+
+    Map<String, Object> scoreCacheStats() {
+        return scores.stats();
+    }
+
+    void resetStats() {
+        scores.resetStats();
+    }
+
+    /** Canonical names of the skills mentioned in a free text (offer, CV). */
+    List<String> detectSkills(String text) {
+        List<String> out = new ArrayList<>();
+        SynonymAutomaton automaton = model().automaton;
+        for (int g : automaton.skills(text))
+            out.add(automaton.canonicalName(g));
+        return out;
+    }
+
+    int vocabularySize() {
+        return model().vocabulary.size();
+    }
+}
@@ -0,0 +1,83 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Term normalization shared by the matching code: tokenizer and the synonym
+ * groups of the installed SynonymDictionary.
+ */
+final class SkillTerms {
+
+    private SkillTerms() {
+    }
+
+    static Set<String> tokenize(String text) {
+        if (text == null)
+            return Collections.emptySet();
+
+        String[] raw = text.toLowerCase().split("[^a-z0-9+]+");
+        Set<String> tokens = new HashSet<>();
+        for (String t : raw) {
+            t = t.trim();
+            if (t.length() >= 2)
+                tokens.add(t);
+        }
+        return tokens;
+    }
+
+    // current synonym groups (abbreviations, framework aliases, ...);
+    // replaced as a whole on reload. The only copy: SkillMatcher models and
+    // SkillIndex terms follow it, so one write switches them all
+    private static volatile SynonymDictionary dictionary = initialDictionary();
+
+    private static SynonymDictionary initialDictionary() {
+        try {
+            return SynonymDictionary.load();
+        } catch (RuntimeException e) {
+            System.err.println("[SkillTerms] " + e.getMessage() + ", using the built-in synonyms");
+            return SynonymDictionary.builtIn();
+        }
+    }
+
+    static SynonymDictionary dictionary() {
+        return dictionary;
+    }
+
+    /** Makes the dictionary the one every later lookup uses. */
+    static void install(SynonymDictionary next) {
+        dictionary = next;
+    }
+
+    /**
+     * The synonym groups in declaration order. Two terms are synonyms
+     * exactly when some group contains both.
+     */
+    static java.util.List<java.util.List<String>> synonymGroups() {
+        return dictionary.groups();
+    }
+
+    static boolean areSynonyms(String a, String b) {
+        return dictionary.synonymsOf(a.toLowerCase()).contains(b.toLowerCase());
+    }
+
+    /**
+     * Index terms of a phrase: the normalized phrase, its tokens and the
+     * synonyms of both. Two phrases sharing no term can only be similar
+     * through substring or edit-distance matching.
+     */
+    static Set<String> terms(String phrase) {
+        if (phrase == null || phrase.isBlank())
+            return Collections.emptySet();
+        String p = phrase.trim().toLowerCase();
+        Set<String> out = new HashSet<>();
+        out.add(p);
+        out.addAll(tokenize(p));
+        SynonymDictionary d = dictionary;
+        for (String t : new ArrayList<>(out))
+            out.addAll(d.synonymsOf(t));
+        return out;
+    }
+}
@@ -0,0 +1,178 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns normalized skill phrases and their tokens into int ids, so that
+ * the similarity kernels compare ids and sorted int arrays instead of
+ * re-normalizing and re-tokenizing strings on every comparison.
+ *
+ * Every term knows the synonym groups ("skills", see SynonymAutomaton) it
+ * belongs to; two terms are synonyms when they share one, which is exactly
+ * SkillTerms.areSynonyms. Group terms are interned up front, a term
+ * interned later belongs to no group.
+ *
+ * Only dictionary terms and skill phrases (applicant skills, offer
+ * requirements) with their tokens are interned: terms are never evicted,
+ * so free text (offer descriptions) is only looked up, see textTokens.
+ */
+final class SkillVocabulary {
+
+    static final class Term {
+        final int id;
+        final String text;
+        // ids of the synonym groups containing this term, sorted
+        int[] skills = new int[0];
+
+        private Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+
+        /** Same as SkillTerms.areSynonyms(text, other.text). */
+        boolean isSynonym(Term other) {
+            return intersects(skills, other.skills);
+        }
+    }
+
+    /**
+     * A normalized phrase (trimmed, lower case) with its distinct tokens
+     * sorted by id, and the union of the tokens' skills.
+     */
+    static final class Phrase {
+        final String text;
+        final Term term;
+        final Term[] tokens;
+        final int[] tokenIds;
+        final int[] tokenSkills;
+
+        private Phrase(String text, Term term, Term[] tokens) {
+            this.text = text;
+            this.term = term;
+            this.tokens = tokens;
+            this.tokenIds = new int[tokens.length];
+            for (int i = 0; i < tokens.length; i++)
+                tokenIds[i] = tokens[i].id;
+            this.tokenSkills = Arrays.stream(tokens).flatMapToInt(t -> Arrays.stream(t.skills))
+                    .distinct().sorted().toArray();
+        }
+
+        boolean isEmpty() {
+            return text.isEmpty();
+        }
+    }
+
+    /**
+     * Distinct tokens of a free text: the interned ones as sorted ids, the
+     * others as sorted strings.
+     */
+    record TextTokens(int[] ids, String[] others) {
+    }
+
+    private final Map<String, Term> terms = new ConcurrentHashMap<>();
+    private final Map<String, Phrase> phrases = new ConcurrentHashMap<>();
+    private final Phrase empty;
+    private int nextId;
+
+    SkillVocabulary(List<List<String>> synonymGroups) {
+        Map<Term, Set<Integer>> groupsOf = new HashMap<>();
+        for (int g = 0; g < synonymGroups.size(); g++) {
+            for (String s : synonymGroups.get(g))
+                groupsOf.computeIfAbsent(newTerm(s), k -> new HashSet<>()).add(g);
+        }
+        groupsOf.forEach((t, groups) -> t.skills = groups.stream().mapToInt(Integer::intValue).sorted().toArray());
+        empty = new Phrase("", intern(""), new Term[0]);
+    }
+
+    private Term newTerm(String text) {
+        return terms.computeIfAbsent(text, k -> new Term(nextId++, k));
+    }
+
+    Term intern(String text) {
+        Term t = terms.get(text);
+        if (t != null)
+            return t;
+        synchronized (this) {
+            return newTerm(text);
+        }
+    }
+
+    /** The term of an already interned text, null otherwise. */
+    Term find(String text) {
+        return terms.get(text);
+    }
+
+    /**
+     * The interned form of a raw phrase; null and blank give the empty
+     * phrase. Identical normalized phrases share one instance.
+     */
+    Phrase phrase(String raw) {
+        if (raw == null)
+            return empty;
+        String text = raw.trim().toLowerCase();
+        if (text.isEmpty())
+            return empty;
+        Phrase p = phrases.get(text);
+        if (p != null)
+            return p;
+        return phrases.computeIfAbsent(text, k -> new Phrase(k, intern(k), tokens(k)));
+    }
+
+    /** Distinct tokens of a phrase (SkillTerms.tokenize), interned, sorted by id. */
+    private Term[] tokens(String text) {
+        List<Term> out = new ArrayList<>();
+        for (String tok : SkillTerms.tokenize(text))
+            out.add(intern(tok));
+        out.sort(Comparator.comparingInt(t -> t.id));
+        return out.toArray(new Term[0]);
+    }
+
+    /**
+     * Tokens of a free text (SkillTerms.tokenize) without interning any: a
+     * token that is interned later still matches through its text.
+     */
+    TextTokens textTokens(String text) {
+        Set<String> tokens = SkillTerms.tokenize(text);
+        int[] ids = new int[tokens.size()];
+        int n = 0;
+        List<String> others = new ArrayList<>();
+        for (String tok : tokens) {
+            Term t = terms.get(tok);
+            if (t != null)
+                ids[n++] = t.id;
+            else
+                others.add(tok);
+        }
+        ids = Arrays.copyOf(ids, n);
+        Arrays.sort(ids);
+        String[] rest = others.toArray(new String[0]);
+        Arrays.sort(rest);
+        return new TextTokens(ids, rest);
+    }
+
+    /** True when the two sorted arrays share an element. */
+    static boolean intersects(int[] a, int[] b) {
+        int i = 0, j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j])
+                return true;
+            if (a[i] < b[j])
+                i++;
+            else
+                j++;
+        }
+        return false;
+    }
+
+    int size() {
+        return terms.size();
+    }
+}
@@ -0,0 +1,210 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over every term of the synonym groups. One linear
+ * pass over a text reports each whole-word occurrence of a term, including
+ * multi-word ones ("ruby on rails", "amazon web services") that the
+ * tokenizer splits apart, as the ids of the groups ("skills") containing it.
+ * A skill id is the index of its group in SkillTerms.synonymGroups().
+ *
+ * Texts are matched lower-cased with whitespace runs collapsed to one space
+ * (see normalize). Immutable once built, so scans need no locking.
+ */
+final class SynonymAutomaton {
+
+    /** Receives the matches of a scan, in end-position order. */
+    interface MatchSink {
+        void match(int start, int end, int[] skills);
+    }
+
+    private final String[] canonicalNames;
+    // ASCII char -> alphabet index, -1 for chars that appear in no term
+    private final int[] charClass = new int[128];
+    private final int alphabetSize;
+    // dense DFA: next[state * alphabetSize + class]
+    private final int[] next;
+    // patterns recognized on entering a state (own + via suffix links)
+    private final int[][] outputs;
+    private final int[] patternLength;
+    private final int[][] patternSkills;
+    private final boolean[] patternWordStart;
+    private final boolean[] patternWordEnd;
+
+    private SynonymAutomaton(List<List<String>> groups) {
+        canonicalNames = new String[groups.size()];
+
+        // distinct terms -> skills containing them
+        Map<String, BitSet> skillsOf = new HashMap<>();
+        for (int g = 0; g < groups.size(); g++) {
+            canonicalNames[g] = normalize(groups.get(g).get(0));
+            for (String term : groups.get(g)) {
+                String t = normalize(term);
+                if (!t.isEmpty())
+                    skillsOf.computeIfAbsent(t, k -> new BitSet()).set(g);
+            }
+        }
+        List<String> patterns = new ArrayList<>(skillsOf.keySet());
+        patterns.sort(null);
+
+        Arrays.fill(charClass, -1);
+        int classes = 0;
+        int chars = 0;
+        for (String p : patterns) {
+            chars += p.length();
+            for (int i = 0; i < p.length(); i++) {
+                char c = p.charAt(i);
+                if (c < 128 && charClass[c] < 0)
+                    charClass[c] = classes++;
+            }
+        }
+        alphabetSize = Math.max(1, classes);
+
+        // trie; 0 is the root, -1 means no edge yet
+        int[] trie = new int[(chars + 1) * alphabetSize];
+        Arrays.fill(trie, -1);
+        List<List<Integer>> own = new ArrayList<>();
+        own.add(new ArrayList<>());
+        int states = 1;
+        patternLength = new int[patterns.size()];
+        patternSkills = new int[patterns.size()][];
+        patternWordStart = new boolean[patterns.size()];
+        patternWordEnd = new boolean[patterns.size()];
+        for (int pi = 0; pi < patterns.size(); pi++) {
+            String p = patterns.get(pi);
+            if (!p.chars().allMatch(ch -> ch < 128))
+                continue; // scans only follow ASCII edges, such a term could never match
+            int s = 0;
+            for (int i = 0; i < p.length(); i++) {
+                int c = classOf(p.charAt(i));
+                int slot = s * alphabetSize + c;
+                if (trie[slot] < 0) {
+                    trie[slot] = states++;
+                    own.add(new ArrayList<>());
+                }
+                s = trie[slot];
+            }
+            own.get(s).add(pi);
+            patternLength[pi] = p.length();
+            patternSkills[pi] = skillsOf.get(p).stream().toArray();
+            patternWordStart[pi] = isWordChar(p.charAt(0));
+            patternWordEnd[pi] = isWordChar(p.charAt(p.length() - 1));
+        }
+
+        // breadth-first: failure links, completed transitions, merged outputs
+        next = Arrays.copyOf(trie, states * alphabetSize);
+        outputs = new int[states][];
+        int[] fail = new int[states];
+        outputs[0] = own.get(0).stream().mapToInt(Integer::intValue).toArray();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < alphabetSize; c++) {
+            int t = next[c];
+            if (t < 0) {
+                next[c] = 0;
+            } else {
+                fail[t] = 0;
+                queue.add(t);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int s = queue.poll();
+            int[] inherited = outputs[fail[s]];
+            List<Integer> mine = own.get(s);
+            int[] out = Arrays.copyOf(inherited, inherited.length + mine.size());
+            for (int i = 0; i < mine.size(); i++)
+                out[inherited.length + i] = mine.get(i);
+            outputs[s] = out;
+
+            for (int c = 0; c < alphabetSize; c++) {
+                int slot = s * alphabetSize + c;
+                int t = next[slot];
+                if (t < 0) {
+                    next[slot] = next[fail[s] * alphabetSize + c];
+                } else {
+                    fail[t] = next[fail[s] * alphabetSize + c];
+                    queue.add(t);
+                }
+            }
+        }
+    }
+
+    static SynonymAutomaton compile(List<List<String>> groups) {
+        return new SynonymAutomaton(groups);
+    }
+
+    /** Lower case, whitespace runs collapsed to one space, trimmed. */
+    static String normalize(CharSequence text) {
+        if (text == null)
+            return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = sb.length() > 0;
+            } else {
+                if (space)
+                    sb.append(' ');
+                space = false;
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+    }
+
+    private int classOf(char c) {
+        return c < 128 ? charClass[c] : -1;
+    }
+
+    /**
+     * Reports every whole-word term occurrence of an already normalized text:
+     * a term starting (ending) with a letter or digit must not be preceded
+     * (followed) by one, so "java" does not match inside "javascript".
+     */
+    void scan(String normalized, MatchSink sink) {
+        int s = 0;
+        int n = normalized.length();
+        for (int i = 0; i < n; i++) {
+            int c = classOf(normalized.charAt(i));
+            s = c < 0 ? 0 : next[s * alphabetSize + c];
+            for (int p : outputs[s]) {
+                int start = i + 1 - patternLength[p];
+                if (patternWordStart[p] && start > 0 && isWordChar(normalized.charAt(start - 1)))
+                    continue;
+                if (patternWordEnd[p] && i + 1 < n && isWordChar(normalized.charAt(i + 1)))
+                    continue;
+                sink.match(start, i + 1, patternSkills[p]);
+            }
+        }
+    }
+
+    /** Distinct ids of the skills mentioned in a text, sorted. */
+    int[] skills(CharSequence text) {
+        BitSet found = new BitSet(canonicalNames.length);
+        scan(normalize(text), (start, end, skills) -> {
+            for (int g : skills)
+                found.set(g);
+        });
+        return found.stream().toArray();
+    }
+
+    /** First term of the skill's group, e.g. "javascript" for "js". */
+    String canonicalName(int skill) {
+        return canonicalNames[skill];
+    }
+
+    int skillCount() {
+        return canonicalNames.length;
+    }
+}
@@ -0,0 +1,145 @@
+package ch.unil.doplab.service.domain;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One version of the skill synonym groups, as read from a synonyms.txt file
+ * (see src/main/resources/synonyms.txt for the format). Immutable; a reload
+ * builds a new instance and SkillTerms.install swaps it in.
+ *
+ * The file is -Djobfinder.synonyms.file when set, else the synonyms.txt
+ * shipped in the WAR.
+ */
+final class SynonymDictionary {
+
+    private static final String RESOURCE = "/synonyms.txt";
+
+    private final long version;
+    private final String source;
+    // first term = canonical name; index = skill id
+    private final List<List<String>> groups;
+    // term -> every term sharing a group with it, itself included
+    private final Map<String, Set<String>> synonyms;
+
+    private SynonymDictionary(long version, String source, List<List<String>> groups) {
+        this.version = version;
+        this.source = source;
+        this.groups = Collections.unmodifiableList(groups);
+        Map<String, Set<String>> map = new HashMap<>();
+        for (List<String> group : groups) {
+            for (String t : group)
+                map.computeIfAbsent(t, k -> new HashSet<>()).addAll(group);
+        }
+        this.synonyms = map;
+    }
+
+    /** The configured file, or the built-in dictionary when none is set. */
+    static SynonymDictionary load() {
+        String file = System.getProperty("jobfinder.synonyms.file");
+        if (file == null || file.isBlank())
+            return builtIn();
+        Path path = Path.of(file);
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(path.toString(), in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read synonym file " + path, e);
+        }
+    }
+
+    static SynonymDictionary builtIn() {
+        InputStream raw = SynonymDictionary.class.getResourceAsStream(RESOURCE);
+        if (raw == null)
+            throw new IllegalStateException(RESOURCE + " is missing from the classpath");
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(raw, StandardCharsets.UTF_8))) {
+            return parse("classpath:" + RESOURCE, in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + RESOURCE, e);
+        }
+    }
+
+    /**
+     * Parses "version = N" and one comma-separated group per line; blank
+     * lines and lines starting with # are skipped. Terms are lower-cased.
+     */
+    static SynonymDictionary parse(String source, BufferedReader in) throws IOException {
+        long version = 0;
+        List<List<String>> groups = new ArrayList<>();
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+            if (line.startsWith("version")) {
+                String value = line.substring("version".length()).trim();
+                if (value.startsWith("=")) {
+                    try {
+                        version = Long.parseLong(value.substring(1).trim());
+                        continue;
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException(source + ":" + lineNo + ": bad version '" + line + "'");
+                    }
+                }
+            }
+            LinkedHashSet<String> group = new LinkedHashSet<>();
+            for (String term : line.split(",")) {
+                String t = term.trim().toLowerCase();
+                if (!t.isEmpty())
+                    group.add(t);
+            }
+            if (!group.isEmpty())
+                groups.add(List.copyOf(group));
+        }
+        return new SynonymDictionary(version, source, groups);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    List<List<String>> groups() {
+        return groups;
+    }
+
+    /** The term's synonyms, itself included; empty when it is in no group. */
+    Set<String> synonymsOf(String term) {
+        Set<String> s = synonyms.get(term);
+        return s == null ? Collections.emptySet() : s;
+    }
+
+    /**
+     * Terms whose synonyms differ between this dictionary and the next one,
+     * including terms added or dropped. Whether two terms are synonyms
+     * changes only if both are in this set.
+     */
+    Set<String> changedTerms(SynonymDictionary next) {
+        Set<String> all = new HashSet<>(synonyms.keySet());
+        all.addAll(next.synonyms.keySet());
+        Set<String> changed = new HashSet<>();
+        for (String t : all) {
+            if (!synonymsOf(t).equals(next.synonymsOf(t)))
+                changed.add(t);
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,199 @@
+package ch.unil.doplab.service.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * W-TinyLFU eviction policy for a weight-bounded EntityStore.
+ *
+ * New entries go to a small LRU window (1% of the weight). Entries leaving
+ * the window must beat the probation LRU victim on estimated frequency to
+ * enter the main space, a segmented LRU with probation (20%) and protected
+ * (80%) parts. One-hit wonders therefore never push hot entities out.
+ *
+ * The policy only tracks keys and weights; the store owns the values.
+ * Reads only reorder when the lock is free, so readers never block.
+ */
+final class TinyLfuPolicy {
+
+    private final long maxWeight;
+    private final long windowMax;
+    private final long protectedMax;
+
+    // insertion order == LRU order (first = least recently used)
+    private final LinkedHashMap<UUID, Integer> window = new LinkedHashMap<>();
+    private final LinkedHashMap<UUID, Integer> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<UUID, Integer> protectedSeg = new LinkedHashMap<>();
+    private long windowWeight;
+    private long probationWeight;
+    private long protectedWeight;
+
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    TinyLfuPolicy(long maxWeight) {
+        this.maxWeight = maxWeight;
+        this.windowMax = Math.max(1, maxWeight / 100);
+        this.protectedMax = (long) ((maxWeight - windowMax) * 0.8);
+        this.sketch = new FrequencySketch(maxWeight);
+    }
+
+    long weight() {
+        return windowWeight + probationWeight + protectedWeight;
+    }
+
+    long maxWeight() {
+        return maxWeight;
+    }
+
+    void recordAccess(UUID key) {
+        if (!lock.tryLock()) {
+            return; // lossy under contention, like the sketch itself
+        }
+        try {
+            sketch.increment(key.hashCode());
+            onHit(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records an insert or replacement and returns the keys to evict
+     * (possibly the key just written, if it was not admitted).
+     */
+    List<UUID> recordWrite(UUID key, int weight) {
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            if (updateWeight(key, weight)) {
+                onHit(key);
+            } else {
+                window.put(key, weight);
+                windowWeight += weight;
+            }
+            return evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void remove(UUID key) {
+        lock.lock();
+        try {
+            Integer w;
+            if ((w = window.remove(key)) != null)
+                windowWeight -= w;
+            else if ((w = probation.remove(key)) != null)
+                probationWeight -= w;
+            else if ((w = protectedSeg.remove(key)) != null)
+                protectedWeight -= w;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            window.clear();
+            probation.clear();
+            protectedSeg.clear();
+            windowWeight = probationWeight = protectedWeight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean updateWeight(UUID key, int weight) {
+        Integer old;
+        if ((old = window.get(key)) != null) {
+            window.put(key, weight);
+            windowWeight += weight - old;
+        } else if ((old = probation.get(key)) != null) {
+            probation.put(key, weight);
+            probationWeight += weight - old;
+        } else if ((old = protectedSeg.get(key)) != null) {
+            protectedSeg.put(key, weight);
+            protectedWeight += weight - old;
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private void onHit(UUID key) {
+        Integer w;
+        if ((w = window.remove(key)) != null) {
+            window.put(key, w);
+        } else if ((w = probation.remove(key)) != null) {
+            probationWeight -= w;
+            protectedSeg.put(key, w);
+            protectedWeight += w;
+            // demote protected LRU entries back to probation
+            while (protectedWeight > protectedMax && protectedSeg.size() > 1) {
+                Map.Entry<UUID, Integer> lru = first(protectedSeg);
+                protectedSeg.remove(lru.getKey());
+                protectedWeight -= lru.getValue();
+                probation.put(lru.getKey(), lru.getValue());
+                probationWeight += lru.getValue();
+            }
+        } else if ((w = protectedSeg.remove(key)) != null) {
+            protectedSeg.put(key, w);
+        }
+    }
+
+    private List<UUID> evict() {
+        List<UUID> evicted = new ArrayList<>();
+        ArrayDeque<UUID> candidates = new ArrayDeque<>();
+
+        // window overflow: LRU window entries become probation candidates
+        while (windowWeight > windowMax && !window.isEmpty()) {
+            Map.Entry<UUID, Integer> lru = first(window);
+            window.remove(lru.getKey());
+            windowWeight -= lru.getValue();
+            probation.put(lru.getKey(), lru.getValue());
+            probationWeight += lru.getValue();
+            candidates.add(lru.getKey());
+        }
+
+        while (weight() > maxWeight) {
+            UUID loser;
+            if (!candidates.isEmpty()) {
+                // admission: candidate must be more popular than the probation LRU victim
+                UUID candidate = candidates.pollFirst();
+                UUID victim = first(probation).getKey();
+                if (victim.equals(candidate)
+                        || sketch.frequency(candidate.hashCode()) <= sketch.frequency(victim.hashCode())) {
+                    loser = candidate;
+                } else {
+                    loser = victim;
+                    candidates.addFirst(candidate);
+                }
+                probationWeight -= probation.remove(loser);
+            } else if (!probation.isEmpty()) {
+                loser = first(probation).getKey();
+                probationWeight -= probation.remove(loser);
+            } else if (!protectedSeg.isEmpty()) {
+                loser = first(protectedSeg).getKey();
+                protectedWeight -= protectedSeg.remove(loser);
+            } else if (!window.isEmpty()) {
+                loser = first(window).getKey();
+                windowWeight -= window.remove(loser);
+            } else {
+                break;
+            }
+            evicted.add(loser);
+        }
+        return evicted;
+    }
+
+    private static Map.Entry<UUID, Integer> first(LinkedHashMap<UUID, Integer> m) {
+        return m.entrySet().iterator().next();
+    }
+}
@@ -0,0 +1,88 @@
+package ch.unil.doplab.service.domain;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the background cache warm-up (one counter per entity type).
+ */
+public class WarmupProgress {
+
+    public enum Phase {
+        NOT_STARTED, RUNNING, READY, FAILED
+    }
+
+    private volatile Phase phase = Phase.NOT_STARTED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    private final Map<String, AtomicLong> loaded = new ConcurrentHashMap<>();
+    private final Map<String, Long> expected = new ConcurrentHashMap<>();
+
+    void start() {
+        loaded.clear();
+        expected.clear();
+        error = null;
+        finishedAt = null;
+        startedAt = LocalDateTime.now();
+        phase = Phase.RUNNING;
+    }
+
+    void expect(String type, long total) {
+        expected.put(type, total);
+        loaded.computeIfAbsent(type, k -> new AtomicLong());
+    }
+
+    void loaded(String type, int count) {
+        loaded.computeIfAbsent(type, k -> new AtomicLong()).addAndGet(count);
+    }
+
+    void ready() {
+        finishedAt = LocalDateTime.now();
+        phase = Phase.READY;
+    }
+
+    void failed(Throwable t) {
+        finishedAt = LocalDateTime.now();
+        error = String.valueOf(t);
+        phase = Phase.FAILED;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isReady() {
+        return phase == Phase.READY;
+    }
+
+    /**
+     * JSON-friendly snapshot for the REST layer.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("phase", phase.name());
+        out.put("startedAt", startedAt == null ? null : startedAt.toString());
+        out.put("finishedAt", finishedAt == null ? null : finishedAt.toString());
+
+        long totalLoaded = 0;
+        long totalExpected = 0;
+        Map<String, Object> types = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> e : expected.entrySet()) {
+            long n = loaded.getOrDefault(e.getKey(), new AtomicLong()).get();
+            types.put(e.getKey(), Map.of("loaded", n, "expected", e.getValue()));
+            totalLoaded += n;
+            totalExpected += e.getValue();
+        }
+        out.put("types", types);
+        out.put("percent", totalExpected == 0 ? (isReady() ? 100.0 : 0.0)
+                : Math.min(100.0, Math.round(totalLoaded * 1000.0 / totalExpected) / 10.0));
+        if (error != null)
+            out.put("error", error);
+        return out;
+    }
+}
@@ -1,13 +1,18 @@
 package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.Applicant;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.BatchItemResult;
+import ch.unil.doplab.service.domain.Projection;
+import ch.unil.doplab.service.domain.ScoredOffer;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Path("/applicants")
@@ -18,19 +23,51 @@ public class ApplicantResource {
     @Inject
     private ApplicationState state;
 
+    // whole list, or a page with ?limit=&after= (see Paging)
     @GET
-    public List<Applicant> getAll() {
-        return state.listApplicants();
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response getAll(@QueryParam("limit") Integer limit,
+                           @QueryParam("after") String after,
+                           @QueryParam("fields") String fieldsParam,
+                           @Context UriInfo uriInfo,
+                           @Context Request request,
+                           @Context HttpHeaders headers) {
+        Projection fields = QueryParams.fields(Applicant.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().collection(EntityType.APPLICANT), () -> {
+            if (!Paging.requested(limit, after))
+                return JsonStreams.ok(headers,
+                        fields == null ? state.streamApplicants() : state.streamProjected(fields), fields);
+            int n = Paging.limit(limit);
+            List<?> page = fields == null
+                    ? state.listApplicants(Paging.afterId(after), n)
+                    : state.listProjected(fields, Paging.afterId(after), n);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Applicant getById(@PathParam("id") String idStr) {
+    public Response getById(@PathParam("id") String idStr,
+                            @QueryParam("fields") String fieldsParam,
+                            @Context Request request,
+                            @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        Applicant a = state.findApplicant(id);
-        if (a == null)
-            throw new NotFoundException("Applicant not found");
-        return a;
+        Projection fields = QueryParams.fields(Applicant.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.APPLICANT, id), () -> {
+            Applicant a = state.findApplicant(id);
+            if (a == null)
+                throw new NotFoundException("Applicant not found");
+            return Response.ok(fields == null ? a : fields.apply(a)).build();
+        });
+    }
+
+    // GET /applicants/{id}/recommendations?limit=10  (best-matching open offers)
+    @GET
+    @Path("/{id}/recommendations")
+    public List<ScoredOffer> recommendations(@PathParam("id") String idStr,
+            @QueryParam("limit") @DefaultValue("10") int limit) {
+        UUID id = UUID.fromString(idStr);
+        return state.recommendJobOffers(id, Math.min(limit, 100));
     }
 
     @POST
@@ -44,6 +81,15 @@ public class ApplicantResource {
         return Response.created(location).entity(created).build();
     }
 
+    // POST /applicants/batch  (JSON array, per-item results)
+    @POST
+    @Path("/batch")
+    public Map<String, Object> createBatch(List<Applicant> applicants) {
+        if (applicants == null)
+            throw new BadRequestException("A JSON array of applicants is required");
+        return BatchItemResult.summary(state.createApplicants(applicants));
+    }
+
     @PUT
     @Path("/{id}")
     public Applicant updateApplicant(@PathParam("id") String idStr, Applicant updated) {
@@ -2,7 +2,13 @@ package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.Application;
 import ch.unil.doplab.ApplicationStatus;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+import ch.unil.doplab.service.domain.ApplicationFilter;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.BatchItemResult;
+import ch.unil.doplab.service.domain.EntityVersions.Validator;
+import ch.unil.doplab.service.domain.Projection;
+import ch.unil.doplab.service.domain.RescoreQueue;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
@@ -22,32 +28,97 @@ public class ApplicationResource {
     @Inject
     private ApplicationState state;
 
+    @Inject
+    private RescoreQueue rescoreQueue;
+
+    // GET /applications?applicantId=&jobOfferId=&employerId=&companyId=&status=
+    //                   &submittedFrom=&submittedTo=[&limit=&after=]
+    // filters combine with AND; dates are ISO date-times or dates, and a
+    // date submittedTo includes that whole day
     @GET
-    public List<Application> all() {
-        return state.listApplications();
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response all(@QueryParam("applicantId") String applicantId,
+                        @QueryParam("jobOfferId") String jobOfferId,
+                        @QueryParam("employerId") String employerId,
+                        @QueryParam("companyId") String companyId,
+                        @QueryParam("status") String status,
+                        @QueryParam("submittedFrom") String submittedFrom,
+                        @QueryParam("submittedTo") String submittedTo,
+                        @QueryParam("limit") Integer limit,
+                        @QueryParam("after") String after,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context UriInfo uriInfo,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
+        Projection fields = QueryParams.fields(Application.class, fieldsParam);
+        ApplicationFilter filter = new ApplicationFilter(
+                QueryParams.uuid("applicantId", applicantId),
+                QueryParams.uuid("jobOfferId", jobOfferId),
+                QueryParams.uuid("employerId", employerId),
+                QueryParams.uuid("companyId", companyId),
+                statusParam(status),
+                QueryParams.dateTime("submittedFrom", submittedFrom, false),
+                QueryParams.dateTime("submittedTo", submittedTo, true));
+
+        // filtering by employer or company goes through the offers
+        Validator version = filter.employerId() == null && filter.companyId() == null
+                ? state.getVersions().collection(EntityType.APPLICATION)
+                : state.getVersions().collection(EntityType.APPLICATION, EntityType.JOB_OFFER);
+        return Conditional.get(request, headers, version, () -> {
+            if (filter.isEmpty()) {
+                if (!Paging.requested(limit, after))
+                    return JsonStreams.ok(headers,
+                            fields == null ? state.streamApplications() : state.streamProjected(fields), fields);
+                int n = Paging.limit(limit);
+                List<?> page = fields == null
+                        ? state.listApplications(Paging.afterId(after), n)
+                        : state.listProjected(fields, Paging.afterId(after), n);
+                return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+            }
+            List<Application> matches = state.findApplications(filter);
+            if (!Paging.requested(limit, after))
+                return JsonStreams.ok(headers, matches.stream(), fields);
+            int n = Paging.limit(limit);
+            List<Application> page = Paging.slice(matches, Application::getId, Paging.afterId(after), n);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Application get(@PathParam("id") String idStr) {
+    public Response get(@PathParam("id") String idStr,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        Application a = state.findApplication(id);
-        if (a == null) throw new NotFoundException("Application not found");
-        return a;
+        Projection fields = QueryParams.fields(Application.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.APPLICATION, id), () -> {
+            Application a = state.findApplication(id);
+            if (a == null) throw new NotFoundException("Application not found");
+            return Response.ok(fields == null ? a : fields.apply(a)).build();
+        });
     }
 
     @GET
     @Path("/by-offer/{jobOfferId}")
-    public List<Application> byOffer(@PathParam("jobOfferId") String jobOfferIdStr) {
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response byOffer(@PathParam("jobOfferId") String jobOfferIdStr,
+                            @QueryParam("fields") String fieldsParam,
+                            @Context HttpHeaders headers) {
         UUID jobOfferId = UUID.fromString(jobOfferIdStr);
-        return state.listApplicationsByOfferId(jobOfferId);
+        Projection fields = QueryParams.fields(Application.class, fieldsParam);
+        return JsonStreams.ok(headers, state.listApplicationsByOfferId(jobOfferId).stream(), fields);
     }
 
     @GET
     @Path("/by-applicant/{applicantId}")
-    public List<Application> byApplicant(@PathParam("applicantId") String applicantIdStr) {
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response byApplicant(@PathParam("applicantId") String applicantIdStr,
+                                @QueryParam("fields") String fieldsParam,
+                                @Context HttpHeaders headers) {
         UUID applicantId = UUID.fromString(applicantIdStr);
-        return state.listApplicationsByApplicantId(applicantId);
+        Projection fields = QueryParams.fields(Application.class, fieldsParam);
+        return JsonStreams.ok(headers, state.listApplicationsByApplicantId(applicantId).stream(), fields);
     }
 
     @POST
@@ -61,6 +132,15 @@ public class ApplicationResource {
         return Response.created(location).entity(created).build();
     }
 
+    // POST /applications/batch  (JSON array, per-item results)
+    @POST
+    @Path("/batch")
+    public Map<String, Object> addBatch(List<Application> applications) {
+        if (applications == null)
+            throw new BadRequestException("A JSON array of applications is required");
+        return BatchItemResult.summary(state.createApplications(applications));
+    }
+
     @PUT
     @Path("/{id}/match-score")
     public Application updateMatchScore(@PathParam("id") UUID id, Map<String, Object> body) {
@@ -71,12 +151,43 @@ public class ApplicationResource {
         return state.updateApplicationMatchScore(id, score);
     }
 
+    /**
+     * Queues the re-scoring and answers 202 right away; repeated calls for
+     * the same applicant within the debounce window run once.
+     */
     @POST
     @Path("/recompute/by-applicant/{applicantId}")
     public Response recomputeForApplicant(@PathParam("applicantId") String applicantIdStr) {
         UUID applicantId = UUID.fromString(applicantIdStr);
-        int updated = state.recomputeMatchScoresForApplicant(applicantId);
-        return Response.ok(Map.of("updated", updated)).build();
+        if (state.findApplicant(applicantId) == null)
+            throw new NotFoundException("Applicant not found");
+        return enqueue(RescoreQueue.Kind.APPLICANT, applicantId);
+    }
+
+    @POST
+    @Path("/recompute/by-offer/{jobOfferId}")
+    public Response recomputeForOffer(@PathParam("jobOfferId") String jobOfferIdStr) {
+        UUID jobOfferId = UUID.fromString(jobOfferIdStr);
+        if (state.findJobOffer(jobOfferId) == null)
+            throw new NotFoundException("JobOffer not found");
+        return enqueue(RescoreQueue.Kind.JOB_OFFER, jobOfferId);
+    }
+
+    @GET
+    @Path("/recompute/queue")
+    public Map<String, Object> recomputeQueue() {
+        return rescoreQueue.stats();
+    }
+
+    private Response enqueue(RescoreQueue.Kind kind, UUID id) {
+        try {
+            boolean queued = rescoreQueue.submit(kind, id);
+            return Response.accepted(Map.of("queued", queued, "coalesced", !queued)).build();
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .entity(Map.of("error", e.getMessage()))
+                    .build();
+        }
     }
 
     @PUT
@@ -119,4 +230,18 @@ public class ApplicationResource {
             throw new NotFoundException("Application not found");
         }
     }
+
+    // ======================================================
+    // Query parameters
+    // ======================================================
+
+    private static ApplicationStatus statusParam(String raw) {
+        if (raw == null || raw.isBlank())
+            return null;
+        try {
+            return ApplicationStatus.valueOf(raw);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid ApplicationStatus: " + raw);
+        }
+    }
 }
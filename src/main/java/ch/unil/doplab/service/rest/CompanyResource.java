@@ -1,7 +1,11 @@
 package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.Company;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.CompanyFilter;
+import ch.unil.doplab.service.domain.EntityVersions.Validator;
+import ch.unil.doplab.service.domain.Projection;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
@@ -18,26 +22,74 @@ public class CompanyResource {
     @Inject
     private ApplicationState state;
 
+    // GET /companies?ownerEmployerId=&employerId=&applicantId=[&limit=&after=]
+    // (see CompanyFilter; filters combine with AND)
     @GET
-    public List<Company> all() {
-        return state.listCompanies();
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response all(@QueryParam("ownerEmployerId") String ownerEmployerId,
+                        @QueryParam("employerId") String employerId,
+                        @QueryParam("applicantId") String applicantId,
+                        @QueryParam("limit") Integer limit,
+                        @QueryParam("after") String after,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context UriInfo uriInfo,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
+        Projection fields = QueryParams.fields(Company.class, fieldsParam);
+        CompanyFilter filter = new CompanyFilter(
+                QueryParams.uuid("ownerEmployerId", ownerEmployerId),
+                QueryParams.uuid("employerId", employerId),
+                QueryParams.uuid("applicantId", applicantId));
+
+        // a filtered listing also moves with the employers and applications it follows
+        Validator version = filter.isEmpty()
+                ? state.getVersions().collection(EntityType.COMPANY)
+                : state.getVersions().collection(EntityType.COMPANY, EntityType.EMPLOYER, EntityType.APPLICATION);
+        return Conditional.get(request, headers, version, () -> {
+            if (filter.isEmpty()) {
+                if (!Paging.requested(limit, after))
+                    return JsonStreams.ok(headers,
+                            fields == null ? state.streamCompanies() : state.streamProjected(fields), fields);
+                int n = Paging.limit(limit);
+                List<?> page = fields == null
+                        ? state.listCompanies(Paging.afterId(after), n)
+                        : state.listProjected(fields, Paging.afterId(after), n);
+                return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+            }
+            List<Company> matches = state.findCompanies(filter);
+            if (!Paging.requested(limit, after))
+                return JsonStreams.ok(headers, matches.stream(), fields);
+            int n = Paging.limit(limit);
+            List<Company> page = Paging.slice(matches, Company::getId, Paging.afterId(after), n);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Company get(@PathParam("id") String idStr) {
+    public Response get(@PathParam("id") String idStr,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        Company c = state.findCompany(id);
-        if (c == null)
-            throw new NotFoundException("Company not found");
-        return c;
+        Projection fields = QueryParams.fields(Company.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.COMPANY, id), () -> {
+            Company c = state.findCompany(id);
+            if (c == null)
+                throw new NotFoundException("Company not found");
+            return Response.ok(fields == null ? c : fields.apply(c)).build();
+        });
     }
 
     @GET
     @Path("/by-employer/{employerId}")
-    public List<Company> byEmployer(@PathParam("employerId") String employerIdStr) {
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response byEmployer(@PathParam("employerId") String employerIdStr,
+                               @QueryParam("fields") String fieldsParam,
+                               @Context HttpHeaders headers) {
         UUID employerId = UUID.fromString(employerIdStr);
-        return state.listCompaniesByOwnerEmployerId(employerId);
+        Projection fields = QueryParams.fields(Company.class, fieldsParam);
+        return JsonStreams.ok(headers, state.listCompaniesByOwnerEmployerId(employerId).stream(), fields);
     }
 
     @POST
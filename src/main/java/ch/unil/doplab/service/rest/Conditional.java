@@ -0,0 +1,56 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.EntityVersions.Validator;
+
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GETs: answers 304 from the validator alone, before the data
+ * is read or serialized, else runs the endpoint and tags its 200 with
+ * ETag and Last-Modified.
+ *
+ * When If-None-Match is sent it decides alone: Last-Modified only has
+ * one-second precision, so If-Modified-Since could hide a change made in
+ * the same second.
+ *
+ * A list is served as JSON or ndjson depending on Accept (see JsonStreams),
+ * so the tag names the negotiated type and every answer carries
+ * Vary: Accept.
+ */
+final class Conditional {
+
+    // clients may keep the body but must revalidate it on every use
+    private static final CacheControl REVALIDATE = new CacheControl();
+
+    static {
+        REVALIDATE.setNoCache(true);
+    }
+
+    private Conditional() {
+    }
+
+    static Response get(Request request, HttpHeaders headers, Validator validator, Supplier<Response> endpoint) {
+        EntityTag tag = new EntityTag(JsonStreams.etag(validator, headers));
+        Date lastModified = Date.from(validator.lastModified());
+
+        Response.ResponseBuilder notModified = headers.getHeaderString(HttpHeaders.IF_NONE_MATCH) != null
+                ? request.evaluatePreconditions(tag)
+                : request.evaluatePreconditions(lastModified, tag);
+        if (notModified != null)
+            return notModified.tag(tag).lastModified(lastModified).cacheControl(REVALIDATE)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+
+        Response response = endpoint.get();
+        if (response.getStatus() != Response.Status.OK.getStatusCode())
+            return response;
+        return Response.fromResponse(response).tag(tag).lastModified(lastModified).cacheControl(REVALIDATE)
+                .header(HttpHeaders.VARY, null).header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+    }
+}
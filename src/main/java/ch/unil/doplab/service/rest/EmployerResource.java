@@ -1,7 +1,9 @@
 package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.Employer;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.Projection;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
@@ -18,19 +20,42 @@ public class EmployerResource {
     @Inject
     private ApplicationState state;
 
+    // whole list, or a page with ?limit=&after= (see Paging)
     @GET
-    public List<Employer> all() {
-        return state.listEmployers();
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response all(@QueryParam("limit") Integer limit,
+                        @QueryParam("after") String after,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context UriInfo uriInfo,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
+        Projection fields = QueryParams.fields(Employer.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().collection(EntityType.EMPLOYER), () -> {
+            if (!Paging.requested(limit, after))
+                return JsonStreams.ok(headers,
+                        fields == null ? state.streamEmployers() : state.streamProjected(fields), fields);
+            int n = Paging.limit(limit);
+            List<?> page = fields == null
+                    ? state.listEmployers(Paging.afterId(after), n)
+                    : state.listProjected(fields, Paging.afterId(after), n);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+        });
     }
 
     @GET
     @Path("/{id}")
-    public Employer get(@PathParam("id") String idStr) {
+    public Response get(@PathParam("id") String idStr,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        Employer e = state.findEmployer(id);
-        if (e == null)
-            throw new NotFoundException("Employer not found");
-        return e;
+        Projection fields = QueryParams.fields(Employer.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.EMPLOYER, id), () -> {
+            Employer e = state.findEmployer(id);
+            if (e == null)
+                throw new NotFoundException("Employer not found");
+            return Response.ok(fields == null ? e : fields.apply(e)).build();
+        });
     }
 
     @POST
@@ -2,10 +2,17 @@ package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.Interview;
 import ch.unil.doplab.InterviewStatus;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.Projection;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
 
 import java.util.Date;
 import java.util.List;
@@ -19,23 +26,48 @@ public class InterviewResource {
     @Inject
     private ApplicationState state;
 
+    // whole list, or a page with ?limit=&after= (see Paging)
     @GET
-    public List<Interview> all() {
-        return state.listInterviews();
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response all(@QueryParam("limit") Integer limit,
+                        @QueryParam("after") String after,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context UriInfo uriInfo,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
+        Projection fields = QueryParams.fields(Interview.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().collection(EntityType.INTERVIEW), () -> {
+            if (!Paging.requested(limit, after))
+                return JsonStreams.ok(headers,
+                        fields == null ? state.streamInterviews() : state.streamProjected(fields), fields);
+            int n = Paging.limit(limit);
+            List<?> page = fields == null
+                    ? state.listInterviews(Paging.afterId(after), n)
+                    : state.listProjected(fields, Paging.afterId(after), n);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::idCursor);
+        });
     }
 
     @GET
     @Path("/by-employer/{employerId}")
-    public List<Interview> byEmployer(@PathParam("employerId") String employerIdStr) {
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response byEmployer(@PathParam("employerId") String employerIdStr,
+                               @QueryParam("fields") String fieldsParam,
+                               @Context HttpHeaders headers) {
         UUID employerId = UUID.fromString(employerIdStr);
-        return state.listInterviewsByEmployerId(employerId);
+        Projection fields = QueryParams.fields(Interview.class, fieldsParam);
+        return JsonStreams.ok(headers, state.listInterviewsByEmployerId(employerId).stream(), fields);
     }
 
     @GET
     @Path("/by-applicant/{applicantId}")
-    public List<Interview> byApplicant(@PathParam("applicantId") String applicantIdStr) {
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response byApplicant(@PathParam("applicantId") String applicantIdStr,
+                                @QueryParam("fields") String fieldsParam,
+                                @Context HttpHeaders headers) {
         UUID applicantId = UUID.fromString(applicantIdStr);
-        return state.listInterviewsByApplicantId(applicantId);
+        Projection fields = QueryParams.fields(Interview.class, fieldsParam);
+        return JsonStreams.ok(headers, state.listInterviewsByApplicantId(applicantId).stream(), fields);
     }
 
     public static class CreateInterviewRequest {
@@ -66,12 +98,18 @@ public class InterviewResource {
 
     @GET
     @Path("/{id}")
-    public Interview getById(@PathParam("id") String idStr) {
+    public Response getById(@PathParam("id") String idStr,
+                            @QueryParam("fields") String fieldsParam,
+                            @Context Request request,
+                            @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        Interview iv = state.getInterview(id);
-        if (iv == null)
-            throw new NotFoundException("Interview not found");
-        return iv;
+        Projection fields = QueryParams.fields(Interview.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.INTERVIEW, id), () -> {
+            Interview iv = state.getInterview(id);
+            if (iv == null)
+                throw new NotFoundException("Interview not found");
+            return Response.ok(fields == null ? iv : fields.apply(iv)).build();
+        });
     }
 
     @POST
@@ -1,13 +1,18 @@
 package ch.unil.doplab.service.rest;
 
 import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
 import ch.unil.doplab.service.domain.ApplicationState;
+import ch.unil.doplab.service.domain.BatchItemResult;
+import ch.unil.doplab.service.domain.Projection;
+import ch.unil.doplab.service.domain.ScoredApplicant;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.*;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.UUID;
 
@@ -26,25 +31,57 @@ public class JobOfferResource {
     // GET /job-offers?employerId=...
     // ======================================================
 
-    // GET /job-offers?employerId=...
+    // GET /job-offers?employerId=...[&limit=&after=][&fields=], newest first
     @GET
-    public List<JobOffer> all(@QueryParam("employerId") String employerIdStr) {
-        if (employerIdStr == null || employerIdStr.isBlank()) {
-            return state.listJobOffers(null);
-        }
-        UUID employerId = UUID.fromString(employerIdStr);
-        return state.listJobOffers(employerId);
+    @Produces({MediaType.APPLICATION_JSON, JsonStreams.NDJSON})
+    public Response all(@QueryParam("employerId") String employerIdStr,
+                        @QueryParam("limit") Integer limit,
+                        @QueryParam("after") String after,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context UriInfo uriInfo,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
+        UUID employerId = employerIdStr == null || employerIdStr.isBlank() ? null : UUID.fromString(employerIdStr);
+        Projection fields = QueryParams.fields(JobOffer.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().collection(EntityType.JOB_OFFER), () -> {
+            if (!Paging.requested(limit, after)) {
+                return JsonStreams.ok(headers, fields == null
+                        ? state.streamJobOffers(employerId)
+                        : state.streamJobOffers(employerId, fields), fields);
+            }
+            int n = Paging.limit(limit);
+            Paging.OfferCursor cursor = Paging.afterOffer(after);
+            List<?> page = fields == null
+                    ? state.listJobOffers(employerId, cursor.createdAt(), cursor.id(), n)
+                    : state.listJobOffers(employerId, cursor.createdAt(), cursor.id(), n, fields);
+            return Paging.page(uriInfo, headers, fields, page, n, Paging::offerCursor);
+        });
     }
 
     // GET /job-offers/{id}
     @GET
     @Path("/{id}")
-    public JobOffer get(@PathParam("id") String idStr) {
+    public Response get(@PathParam("id") String idStr,
+                        @QueryParam("fields") String fieldsParam,
+                        @Context Request request,
+                        @Context HttpHeaders headers) {
         UUID id = UUID.fromString(idStr);
-        JobOffer o = state.findJobOffer(id);
-        if (o == null)
-            throw new NotFoundException("JobOffer not found");
-        return o;
+        Projection fields = QueryParams.fields(JobOffer.class, fieldsParam);
+        return Conditional.get(request, headers, state.getVersions().entity(EntityType.JOB_OFFER, id), () -> {
+            JobOffer o = state.findJobOffer(id);
+            if (o == null)
+                throw new NotFoundException("JobOffer not found");
+            return Response.ok(fields == null ? o : fields.apply(o)).build();
+        });
+    }
+
+    // GET /job-offers/{id}/candidates?limit=10  (best-matching applicants of the whole pool)
+    @GET
+    @Path("/{id}/candidates")
+    public List<ScoredApplicant> candidates(@PathParam("id") String idStr,
+            @QueryParam("limit") @DefaultValue("10") int limit) {
+        UUID id = UUID.fromString(idStr);
+        return state.rankCandidates(id, Math.min(limit, 100));
     }
 
     // POST /job-offers
@@ -61,6 +98,15 @@ public class JobOfferResource {
                 .build();
     }
 
+    // POST /job-offers/batch  (JSON array, per-item results)
+    @POST
+    @Path("/batch")
+    public Map<String, Object> addBatch(List<JobOffer> offers) {
+        if (offers == null)
+            throw new BadRequestException("A JSON array of job offers is required");
+        return BatchItemResult.summary(state.createJobOffers(offers));
+    }
+
     // PUT /job-offers/{id}
     @PUT
     @Path("/{id}")
@@ -0,0 +1,140 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.EntityVersions.Validator;
+import ch.unil.doplab.service.domain.Projection;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import jakarta.json.bind.JsonbConfig;
+import jakarta.json.bind.serializer.JsonbSerializer;
+import jakarta.json.bind.serializer.SerializationContext;
+import jakarta.json.stream.JsonGenerator;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Collection bodies written element by element straight to the response
+ * stream, instead of JSON-B building the whole array in memory first. The
+ * memory a request holds is one element plus the write buffer, however
+ * long the list; with the lazy ApplicationState.streamX walks, the list
+ * itself is never materialized either.
+ *
+ * A client that prefers application/x-ndjson gets one JSON object per line
+ * instead of an array. With a Projection (?fields=) each element is
+ * written as just the requested properties.
+ *
+ * An array is a single Jsonb.toJson call: it opens one generator on the
+ * response writer and ArraySerializer writes every element into it, so the
+ * JSON-B setup (some KB of generator and writer buffers) is paid once. Each
+ * ndjson line is a call of its own, writing to the shared writer.
+ */
+final class JsonStreams {
+
+    static final String NDJSON = "application/x-ndjson";
+    private static final MediaType NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    // thread-safe; keeps Yasson's per-class serializer models warm
+    private static final Jsonb JSONB = JsonbBuilder.create(new JsonbConfig().withSerializers(new ArraySerializer()));
+
+    private JsonStreams() {
+    }
+
+    static Response ok(HttpHeaders headers, Stream<?> items, Projection fields) {
+        return builder(headers, items, fields).build();
+    }
+
+    /**
+     * The body type depends on Accept, so every list response says so
+     * (Vary: Accept) for shared caches to key it on that header too.
+     */
+    static Response.ResponseBuilder builder(HttpHeaders headers, Stream<?> items, Projection fields) {
+        MediaType type = negotiate(headers);
+        boolean ndjson = type == NDJSON_TYPE;
+        StreamingOutput body = out -> write(fields == null ? items : items.map(fields::apply), out, ndjson);
+        return Response.ok(body, type).header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    /** Body type a list endpoint answers the request with: ndjson or JSON. */
+    static MediaType negotiate(HttpHeaders headers) {
+        return prefersNdjson(headers) ? NDJSON_TYPE : MediaType.APPLICATION_JSON_TYPE;
+    }
+
+    /**
+     * Strong tag of the body the request gets: the JSON and ndjson bodies of
+     * one version differ byte for byte, so they must not share a tag. JSON
+     * keeps the bare validator tag.
+     */
+    static String etag(Validator validator, HttpHeaders headers) {
+        return prefersNdjson(headers) ? validator.etag() + "-ndjson" : validator.etag();
+    }
+
+    // the first acceptable type (by quality) that we can produce decides
+    private static boolean prefersNdjson(HttpHeaders headers) {
+        for (MediaType t : headers.getAcceptableMediaTypes()) {
+            if (t.isWildcardType())
+                return false;
+            if (t.isCompatible(NDJSON_TYPE))
+                return !t.isWildcardSubtype();
+            if (t.isCompatible(MediaType.APPLICATION_JSON_TYPE))
+                return false;
+        }
+        return false;
+    }
+
+    static void write(Stream<?> items, OutputStream out, boolean ndjson) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        // Jsonb.toJson closes (so flushes) what it writes to: keep ours open, flush once at the end
+        Writer view = new FilterWriter(writer) {
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        try (items) {
+            if (ndjson) {
+                for (Iterator<?> it = items.iterator(); it.hasNext(); ) {
+                    JSONB.toJson(it.next(), view);
+                    writer.write('\n');
+                }
+            } else {
+                // one call for the whole array: the generator is set up once, not per element
+                JSONB.toJson(new Elements(items.iterator()), view);
+            }
+        }
+        writer.flush();
+    }
+
+    /** The elements of a streamed array, consumed once by ArraySerializer. */
+    private static final class Elements {
+        private final Iterator<?> it;
+
+        Elements(Iterator<?> it) {
+            this.it = it;
+        }
+    }
+
+    /** Writes the elements into the generator JSON-B opened, one by one. */
+    private static final class ArraySerializer implements JsonbSerializer<Elements> {
+        @Override
+        public void serialize(Elements elements, JsonGenerator generator, SerializationContext ctx) {
+            generator.writeStartArray();
+            for (Iterator<?> it = elements.it; it.hasNext(); )
+                ctx.serialize(it.next(), generator);
+            generator.writeEnd();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.ApplicationState;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Path("/match")
+@Produces(MediaType.APPLICATION_JSON)
+public class MatchResource {
+
+    @Inject
+    private ApplicationState state;
+
+    // GET /match/strategies  (names + the one stored on applications)
+    @GET
+    @Path("/strategies")
+    public Map<String, Object> strategies() {
+        return state.matchStrategies();
+    }
+
+    // GET /match/score?applicantId=...&jobOfferId=...[&strategy=skills]
+    @GET
+    @Path("/score")
+    public Map<String, Object> score(@QueryParam("applicantId") String applicantIdStr,
+            @QueryParam("jobOfferId") String jobOfferIdStr,
+            @QueryParam("strategy") String strategy) {
+        if (applicantIdStr == null || jobOfferIdStr == null)
+            throw new BadRequestException("applicantId and jobOfferId are required");
+        try {
+            return state.scoreMatch(UUID.fromString(applicantIdStr), UUID.fromString(jobOfferIdStr), strategy);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    // POST /match/skills  (plain text, e.g. a CV or an offer description)
+    @POST
+    @Path("/skills")
+    @Consumes(MediaType.TEXT_PLAIN)
+    public Map<String, Object> detectSkills(String text) {
+        return Map.of("skills", state.detectSkills(text == null ? "" : text));
+    }
+}
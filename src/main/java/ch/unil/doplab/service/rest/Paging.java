@@ -0,0 +1,112 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.EntityStore;
+import ch.unil.doplab.service.domain.Projection;
+
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination of the list endpoints: ?limit=N&after=cursor.
+ *
+ * Without limit and after an endpoint returns its whole list, as before. A
+ * page is a plain JSON array; when it is full, a Link header with
+ * rel="next" holds the URL of the next page. The cursor is the id of the
+ * last item, or "createdAt_id" for the newest-first job offer listing.
+ */
+final class Paging {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = Integer.getInteger("jobfinder.page.maxLimit", 1000);
+
+    /** Position in the job offer listing (createdAt desc, then id). */
+    record OfferCursor(LocalDateTime createdAt, UUID id) {
+    }
+
+    private Paging() {
+    }
+
+    static boolean requested(Integer limit, String after) {
+        return limit != null || after != null;
+    }
+
+    static int limit(Integer limit) {
+        if (limit == null)
+            return DEFAULT_LIMIT;
+        if (limit <= 0)
+            throw new BadRequestException("limit must be positive");
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    static UUID afterId(String after) {
+        if (after == null || after.isBlank())
+            return null;
+        try {
+            return UUID.fromString(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor: " + after);
+        }
+    }
+
+    static OfferCursor afterOffer(String after) {
+        if (after == null || after.isBlank())
+            return new OfferCursor(null, null);
+        int sep = after.lastIndexOf('_');
+        if (sep < 0)
+            throw new BadRequestException("Malformed cursor: " + after);
+        try {
+            LocalDateTime createdAt = sep == 0 ? null : LocalDateTime.parse(after.substring(0, sep));
+            return new OfferCursor(createdAt, UUID.fromString(after.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new BadRequestException("Malformed cursor: " + after);
+        }
+    }
+
+    /** Cursor of a job offer, or of a projected row of one. */
+    static String offerCursor(Object o) {
+        Object createdAt = Projection.get(o, "createdAt");
+        return (createdAt == null ? "" : createdAt.toString()) + "_" + Projection.get(o, "id");
+    }
+
+    /** Cursor of an id-ordered listing item, entity or projected row. */
+    static String idCursor(Object o) {
+        return String.valueOf(Projection.get(o, "id"));
+    }
+
+    /**
+     * Page of an already filtered list: sorted in the stores' id order,
+     * then limit items after the cursor.
+     */
+    static <T> List<T> slice(List<T> items, Function<T, UUID> idOf, UUID after, int limit) {
+        return items.stream()
+                .filter(x -> after == null || EntityStore.ID_ORDER.compare(idOf.apply(x), after) > 0)
+                .sorted(Comparator.comparing(idOf, EntityStore.ID_ORDER))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 200 with the page (streamed, see JsonStreams); a full page also links
+     * to the next one, which may turn out empty.
+     */
+    static <T> Response page(UriInfo uriInfo, HttpHeaders headers, Projection fields, List<T> items, int limit,
+                             Function<T, String> cursorOf) {
+        Response.ResponseBuilder rb = JsonStreams.builder(headers, items.stream(), fields);
+        if (!items.isEmpty() && items.size() >= limit) {
+            rb.link(uriInfo.getRequestUriBuilder()
+                    .replaceQueryParam("limit", limit)
+                    .replaceQueryParam("after", cursorOf.apply(items.get(items.size() - 1)))
+                    .build(), "next");
+        }
+        return rb.build();
+    }
+}
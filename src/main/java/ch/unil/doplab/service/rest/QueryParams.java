@@ -0,0 +1,56 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.Projection;
+import jakarta.ws.rs.BadRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Parsing of optional filter query parameters: blank means "not given",
+ * a malformed value is a 400 naming the parameter.
+ */
+final class QueryParams {
+
+    private QueryParams() {
+    }
+
+    static UUID uuid(String name, String raw) {
+        if (raw == null || raw.isBlank())
+            return null;
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + raw);
+        }
+    }
+
+    /**
+     * An ISO date-time, or a date (yyyy-MM-dd) taken as the start of that
+     * day, or of the next one when it is an exclusive upper bound.
+     */
+    static LocalDateTime dateTime(String name, String raw, boolean upperBound) {
+        if (raw == null || raw.isBlank())
+            return null;
+        try {
+            if (raw.length() == 10) {
+                LocalDate day = LocalDate.parse(raw);
+                return (upperBound ? day.plusDays(1) : day).atStartOfDay();
+            }
+            return LocalDateTime.parse(raw);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + ": " + raw);
+        }
+    }
+
+    /** ?fields= of an endpoint returning type; null means whole entities. */
+    static Projection fields(Class<?> type, String raw) {
+        try {
+            return Projection.of(type, raw);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+}
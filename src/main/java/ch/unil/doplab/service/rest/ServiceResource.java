@@ -6,7 +6,9 @@ import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Path("/service")
 public class ServiceResource {
@@ -41,4 +43,56 @@ public class ServiceResource {
         state.resetDB();
         return Response.ok("JobFinder database was reset at " + LocalDateTime.now()).build();
     }
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/warmup")
+    public Map<String, Object> warmup() {
+        return state.getWarmupProgress().snapshot();
+    }
+
+    // per entity type: size, hits, misses, evictions (and weight when bounded)
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/cache-stats")
+    public Map<String, Object> cacheStats() {
+        return state.getCacheStats();
+    }
+
+    // version and source of the loaded synonym dictionary
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/synonyms")
+    public Map<String, Object> synonyms() {
+        return state.synonymsInfo();
+    }
+
+    // re-reads the synonym file (its version must go up) and re-scores, in the
+    // background, the applicants whose skills mention a changed synonym
+    @POST
+    @Produces(MediaType.APPLICATION_JSON)
+    @Path("/synonyms/reload")
+    public Response reloadSynonyms() {
+        try {
+            return Response.ok(state.reloadSynonyms()).build();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        } catch (IllegalStateException e) {
+            return Response.status(Response.Status.CONFLICT).entity(Map.of("error", e.getMessage())).build();
+        } catch (UncheckedIOException e) {
+            return Response.serverError().entity(Map.of("error", e.getMessage())).build();
+        }
+    }
+
+    // 200 once the RAM caches are fully loaded, 503 while warm-up is running
+    @GET
+    @Produces(MediaType.TEXT_PLAIN)
+    @Path("/ready")
+    public Response ready() {
+        if (state.isWarm())
+            return Response.ok("ready").build();
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .entity("warming up: " + state.getWarmupProgress().getPhase())
+                .build();
+    }
 }
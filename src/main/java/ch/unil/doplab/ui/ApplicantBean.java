@@ -16,7 +16,6 @@ import java.io.Serializable; // Good practice for Beans
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Named("applicantBean")
 @RequestScoped
@@ -39,8 +38,7 @@ public class ApplicantBean implements Serializable {
 
     /**
      * NEW: Used by 'applicantApplications.xhtml'
-     * Fetches all applications from server, then filters for the logged-in
-     * applicant.
+     * Fetches the logged-in applicant's applications (filtered by the server).
      */
     public List<Application> getMyApplications() {
         if (!loginBean.isApplicant() || loginBean.getLoggedApplicant() == null) {
@@ -48,14 +46,7 @@ public class ApplicantBean implements Serializable {
         }
 
         UUID myId = loginBean.getLoggedApplicant().getId();
-
-        // 1. Get ALL applications from the API
-        List<Application> allApps = client.getAllApplications();
-
-        // 2. Filter them in memory
-        return allApps.stream()
-                .filter(a -> myId.equals(a.getApplicantId()))
-                .collect(Collectors.toList());
+        return client.getApplicationsByApplicant(myId);
     }
 
     /**
@@ -65,7 +56,7 @@ public class ApplicantBean implements Serializable {
         if (jobId == null)
             return "Unknown";
         // JobOffer job = appState.getOffer(jobId); // OLD
-        JobOffer job = client.getJobOffer(jobId); // NEW
+        JobOffer job = client.getJobOffer(jobId, "title"); // NEW
         return (job != null) ? job.getTitle() : "Unknown Job";
     }
 
@@ -77,12 +68,12 @@ public class ApplicantBean implements Serializable {
             return "Unknown";
 
         // 1. Get the job to find the company ID
-        JobOffer job = client.getJobOffer(jobId);
+        JobOffer job = client.getJobOffer(jobId, "companyId");
         if (job == null || job.getCompanyId() == null)
             return "Unknown Company";
 
         // 2. Get the company details
-        Company comp = client.getCompany(job.getCompanyId());
+        Company comp = client.getCompany(job.getCompanyId(), "name");
         return (comp != null) ? comp.getName() : "Unknown Company";
     }
 
@@ -92,7 +83,7 @@ public class ApplicantBean implements Serializable {
     public UUID getCompanyId(UUID jobId) {
         if (jobId == null)
             return null;
-        JobOffer job = client.getJobOffer(jobId);
+        JobOffer job = client.getJobOffer(jobId, "companyId");
         return (job != null) ? job.getCompanyId() : null;
     }
 
@@ -11,7 +11,6 @@ import jakarta.inject.Inject;
 import jakarta.inject.Named;
 
 import java.io.Serializable;
-import java.util.List;
 import java.util.UUID;
 
 @Named
@@ -45,12 +44,7 @@ public class ApplicationViewBean implements Serializable {
         // Check if logged applicant already applied
         if (loginBean.isApplicant() && loginBean.getLoggedApplicant() != null && offer != null) {
             UUID applicantId = loginBean.getLoggedApplicant().getId();
-            List<Application> all = client.getAllApplications();
-            this.alreadyApplied = all.stream()
-                    .anyMatch(a ->
-                            offer.getId().equals(a.getJobOfferId()) &&
-                                    applicantId.equals(a.getApplicantId())
-                    );
+            this.alreadyApplied = client.hasApplied(applicantId, offer.getId());
         }
     }
 
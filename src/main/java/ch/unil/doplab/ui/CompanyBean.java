@@ -42,12 +42,8 @@ public class CompanyBean implements java.io.Serializable {
     public List<Company> getCompaniesForLoggedEmployer() {
         if (loginBean.getLoggedEmployer() == null)
             return java.util.Collections.emptyList();
-        java.util.UUID empId = loginBean.getLoggedEmployer().getId();
-        java.util.UUID worksAt = loginBean.getLoggedEmployer().getCompanyId();
-
-        return client.getAllCompanies().stream()
-                .filter(c -> empId.equals(c.getOwnerEmployerId()) || (worksAt != null && worksAt.equals(c.getId())))
-                .collect(Collectors.toList());
+        // owned by OR linked to this employer, filtered by the server
+        return client.getCompaniesForEmployer(loginBean.getLoggedEmployer().getId());
     }
 
     // simple search by name (contains, case-insensitive)
@@ -93,24 +89,7 @@ public class CompanyBean implements java.io.Serializable {
             return java.util.Collections.emptyList();
         java.util.UUID myId = loginBean.getLoggedApplicant().getId();
 
-        // 2. Get all my applications
-        List<ch.unil.doplab.Application> myApps = client.getAllApplications().stream()
-                .filter(a -> myId.equals(a.getApplicantId()))
-                .collect(Collectors.toList());
-
-        // 3. Collect the Company IDs from those applications
-        java.util.Set<java.util.UUID> myCompanyIds = myApps.stream()
-                .map(app -> {
-                    // Get job to find company
-                    ch.unil.doplab.JobOffer offer = client.getJobOffer(app.getJobOfferId());
-                    return (offer != null) ? offer.getCompanyId() : null;
-                })
-                .filter(id -> id != null)
-                .collect(Collectors.toSet());
-
-        // 4. Return the actual Company objects
-        return client.getAllCompanies().stream()
-                .filter(c -> myCompanyIds.contains(c.getId()))
-                .collect(Collectors.toList());
+        // 2. Companies behind the offers I applied to (resolved by the server)
+        return client.getCompaniesAppliedToBy(myId);
     }
 }
\ No newline at end of file
@@ -15,7 +15,6 @@ import jakarta.inject.Named;
 import java.io.Serializable;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Named("employerJobFormBean")
 @SessionScoped
@@ -51,15 +50,9 @@ public class EmployerJobFormBean implements Serializable {
         }
 
         Employer emp = loginBean.getLoggedEmployer();
-        UUID empId = emp.getId();
 
         // Load companies owned by OR linked to this employer
-        List<Company> all = client.getAllCompanies();
-        UUID worksAt = emp.getCompanyId();
-        availableCompanies = all.stream()
-                .filter(c -> empId.equals(c.getOwnerEmployerId())
-                        || (worksAt != null && worksAt.equals(c.getId())))
-                .collect(Collectors.toList());
+        availableCompanies = client.getCompaniesForEmployer(emp.getId());
     }
 
     public String save() {
@@ -143,7 +143,7 @@ public class InterviewBean implements Serializable {
         }
 
         for (java.util.UUID aid : eligibleIds) {
-            Applicant a = client.getApplicant(aid);
+            Applicant a = client.getApplicant(aid, "firstName", "lastName");
             if (a != null)
                 result.add(a);
         }
@@ -22,6 +22,9 @@ import java.util.stream.Collectors;
 @SessionScoped
 public class JobOfferBean implements Serializable {
 
+    // what the offer tables and dropdowns show (?fields=, no descriptions)
+    private static final String[] LISTING_FIELDS = {"title", "status", "companyId", "employerId", "createdAt"};
+
     // @Inject
     // private ApplicationState appState; // COMMENTED OUT: We stop direct access
 
@@ -46,7 +49,7 @@ public class JobOfferBean implements Serializable {
         */
 
         // NEW CODE:
-        return client.getAllJobOffers();
+        return client.getAllJobOffers(LISTING_FIELDS);
     }
 
     public List<JobOffer> getFilteredEmployerOffers() {
@@ -63,11 +66,11 @@ public class JobOfferBean implements Serializable {
     }
 
     public List<JobOffer> getFilteredOffers() {
-        List<JobOffer> all = getAllOffers();
-
         if (searchKeyword == null || searchKeyword.trim().isEmpty()) {
-            return all;
+            return getAllOffers();
         }
+        // the search also looks at descriptions
+        List<JobOffer> all = client.getAllJobOffers();
 
         String kw = searchKeyword.toLowerCase();
         List<JobOffer> result = new ArrayList<>();
@@ -111,7 +114,7 @@ public class JobOfferBean implements Serializable {
         */
 
         // NEW CODE: Use the specialized method we added to the Client
-        return client.getOffersByEmployer(employerId);
+        return client.getOffersByEmployer(employerId, LISTING_FIELDS);
     }
 
     public void loadExternalJobs() {
@@ -189,7 +192,7 @@ public class JobOfferBean implements Serializable {
             // OLD CODE: Company c = appState.getCompany(companyId);
 
             // NEW CODE:
-            Company c = client.getCompany(companyId);
+            Company c = client.getCompany(companyId, "name");
 
             if (c == null) {
                 return "Unknown company";
@@ -39,9 +39,8 @@ public class LoginBean implements Serializable {
         }
 
         if ("EMPLOYER".equals(role)) {
-            // NEW: Fetch list from API
-            Optional<Employer> empOpt = client.getAllEmployers()
-                    .stream()
+            // pages are fetched only until the username is found
+            Optional<Employer> empOpt = client.streamEmployers()
                     .filter(e -> username.equalsIgnoreCase(e.getUsername()))
                     .findFirst();
 
@@ -66,9 +65,8 @@ public class LoginBean implements Serializable {
             return "employerDashBoard?faces-redirect=true";
 
         } else { // APPLICANT
-            // NEW: Fetch list from API
-            Optional<Applicant> appOpt = client.getAllApplicants()
-                    .stream()
+            // pages are fetched only until the username is found
+            Optional<Applicant> appOpt = client.streamApplicants()
                     .filter(a -> username.equalsIgnoreCase(a.getUsername()))
                     .findFirst();
 
@@ -103,11 +103,8 @@ public class SkillSuggestBean implements Serializable {
         boolean ok = client.updateApplicant(a);
         System.out.println(">>> SKILL UPDATE: updateApplicant returned: " + ok);
         if (ok) {
-            // refresh session copy so subsequent renders show saved skills immediately
-            ch.unil.doplab.Applicant fresh = client.getApplicant(a.getId());
-            if (fresh != null) {
-                loginBean.setLoggedApplicant(fresh);
-            }
+            // the session copy already holds the saved skills; the server
+            // re-scores in the background and folds rapid clicks into one run
             client.recomputeMatchScoresForApplicant(a.getId());
         }
     }
@@ -0,0 +1,214 @@
+package ch.unil.doplab.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread-safe UUID-keyed map made of lock-striped UuidHashMaps.
+ *
+ * Reads are optimistic (StampedLock): they take no lock and only retry under
+ * a read lock when a writer touched the same stripe meanwhile. This holds for
+ * the bulk reads (size, values, forEach) too: StampedLock read locks do not
+ * yield to a waiting writer, so listings that held them back to back would
+ * starve the writes. Writes lock a single stripe out of STRIPES, so writers
+ * on different keys rarely contend.
+ */
+public class ConcurrentUuidMap<V> {
+
+    private static final int STRIPES = 16;
+
+    private final UuidHashMap<V>[] maps;
+    private final StampedLock[] locks;
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentUuidMap() {
+        maps = (UuidHashMap<V>[]) new UuidHashMap<?>[STRIPES];
+        locks = new StampedLock[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            maps[i] = new UuidHashMap<>();
+            locks[i] = new StampedLock();
+        }
+    }
+
+    private static int stripe(UUID key) {
+        // upper bits: UuidHashMap uses the lower ones for its slot
+        return (UuidHashMap.hash(key.getMostSignificantBits(), key.getLeastSignificantBits()) >>> 28) & (STRIPES - 1);
+    }
+
+    public V get(UUID key) {
+        int s = stripe(key);
+        StampedLock lock = locks[s];
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                V v = maps[s].get(key);
+                if (lock.validate(stamp))
+                    return v;
+            } catch (RuntimeException torn) {
+                // concurrent resize seen half-way: retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return maps[s].get(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean containsKey(UUID key) {
+        return get(key) != null;
+    }
+
+    public V put(UUID key, V value) {
+        int s = stripe(key);
+        long stamp = locks[s].writeLock();
+        try {
+            return maps[s].put(key, value);
+        } finally {
+            locks[s].unlockWrite(stamp);
+        }
+    }
+
+    public V remove(UUID key) {
+        int s = stripe(key);
+        long stamp = locks[s].writeLock();
+        try {
+            return maps[s].remove(key);
+        } finally {
+            locks[s].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically returns the value of key, creating it first if absent.
+     */
+    public V computeIfAbsent(UUID key, Function<UUID, V> factory) {
+        V v = get(key);
+        if (v != null)
+            return v;
+        int s = stripe(key);
+        long stamp = locks[s].writeLock();
+        try {
+            v = maps[s].get(key);
+            if (v == null) {
+                v = factory.apply(key);
+                maps[s].put(key, v);
+            }
+            return v;
+        } finally {
+            locks[s].unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Atomically remaps the value of key (null when absent) under the stripe
+     * lock; a null result removes the key.
+     */
+    public V compute(UUID key, UnaryOperator<V> remap) {
+        int s = stripe(key);
+        long stamp = locks[s].writeLock();
+        try {
+            V v = maps[s].get(key);
+            V next = remap.apply(v);
+            if (next == null) {
+                if (v != null)
+                    maps[s].remove(key);
+            } else if (next != v) {
+                maps[s].put(key, next);
+            }
+            return next;
+        } finally {
+            locks[s].unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        int n = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            StampedLock lock = locks[s];
+            long stamp = lock.tryOptimisticRead();
+            int stripeSize = maps[s].size();
+            if (stamp == 0L || !lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    stripeSize = maps[s].size();
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            n += stripeSize;
+        }
+        return n;
+    }
+
+    public void clear() {
+        for (int s = 0; s < STRIPES; s++) {
+            long stamp = locks[s].writeLock();
+            try {
+                maps[s].clear();
+            } finally {
+                locks[s].unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Copy of the values, consistent per stripe.
+     */
+    public List<V> values() {
+        List<V> out = new ArrayList<>();
+        for (int s = 0; s < STRIPES; s++) {
+            StampedLock lock = locks[s];
+            int mark = out.size();
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                maps[s].collectValues(out);
+                if (lock.validate(stamp))
+                    continue;
+                out.subList(mark, out.size()).clear();
+            }
+            stamp = lock.readLock();
+            try {
+                maps[s].collectValues(out);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Visits every entry of a per-stripe copy, so the action may write back
+     * into this map.
+     */
+    public void forEach(BiConsumer<UUID, V> action) {
+        for (int s = 0; s < STRIPES; s++)
+            snapshot(s).forEach(action);
+    }
+
+    private UuidHashMap<V> snapshot(int s) {
+        StampedLock lock = locks[s];
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                UuidHashMap<V> copy = maps[s].copy();
+                if (lock.validate(stamp))
+                    return copy;
+            } catch (RuntimeException torn) {
+                // concurrent resize seen half-way: retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return maps[s].copy();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package ch.unil.doplab.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Open-addressing hash map specialised for UUID keys.
+ *
+ * Keys are stored as two parallel long[] (most/least significant bits), so an
+ * entry costs 16 bytes of key plus one value reference instead of a UUID
+ * object (32 bytes) plus a HashMap node (32 bytes). Linear probing with
+ * backward-shift deletion, so there are no tombstones.
+ *
+ * A null value marks an empty slot, hence null values are not allowed.
+ * Not thread-safe: callers synchronize (see EntityStore).
+ */
+public class UuidHashMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+    // resize when more than 4/5 full: a slot is 20 bytes, slack costs more than probes
+    private static final int LOAD_NUM = 4;
+    private static final int LOAD_DEN = 5;
+
+    private long[] msbs;
+    private long[] lsbs;
+    private Object[] values;
+    private int size;
+
+    public UuidHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public UuidHashMap(int expected) {
+        allocate(tableSizeFor(expected));
+    }
+
+    private static int tableSizeFor(int expected) {
+        int cap = MIN_CAPACITY;
+        while (cap * LOAD_NUM / LOAD_DEN < expected)
+            cap <<= 1;
+        return cap;
+    }
+
+    private void allocate(int capacity) {
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(UUID key) {
+        return get(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    /**
+     * Lookup without touching a UUID object. Reads the arrays once into
+     * locals and probes at most capacity slots, so it terminates even when
+     * called optimistically during a concurrent resize (the caller then
+     * validates and retries).
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long msb, long lsb) {
+        long[] m = msbs;
+        long[] l = lsbs;
+        Object[] v = values;
+        int mask = v.length - 1;
+        int i = hash(msb, lsb) & mask;
+        for (int probes = 0; probes <= mask; probes++) {
+            Object cur = v[i];
+            if (cur == null)
+                return null;
+            if (m[i] == msb && l[i] == lsb)
+                return (V) cur;
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    public boolean containsKey(UUID key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @return the previous value, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(UUID key, V value) {
+        if (value == null)
+            throw new NullPointerException("null values are not supported");
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int mask = values.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (values[i] != null) {
+            if (msbs[i] == msb && lsbs[i] == lsb) {
+                V old = (V) values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        msbs[i] = msb;
+        lsbs[i] = lsb;
+        values[i] = value;
+        if (++size * LOAD_DEN > values.length * LOAD_NUM)
+            resize(values.length << 1);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(UUID key) {
+        long msb = key.getMostSignificantBits();
+        long lsb = key.getLeastSignificantBits();
+        int mask = values.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (values[i] != null) {
+            if (msbs[i] == msb && lsbs[i] == lsb) {
+                V old = (V) values[i];
+                shiftBack(i, mask);
+                size--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    // backward-shift deletion: pull later entries of the probe chain into the hole
+    private void shiftBack(int hole, int mask) {
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (values[i] == null)
+                break;
+            int home = hash(msbs[i], lsbs[i]) & mask;
+            // move entry i into the hole if its home is not in (hole, i]
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                msbs[hole] = msbs[i];
+                lsbs[hole] = lsbs[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        values[hole] = null;
+        msbs[hole] = 0L;
+        lsbs[hole] = 0L;
+    }
+
+    private void resize(int capacity) {
+        long[] oldM = msbs;
+        long[] oldL = lsbs;
+        Object[] oldV = values;
+        long[] m = new long[capacity];
+        long[] l = new long[capacity];
+        Object[] v = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldV.length; j++) {
+            if (oldV[j] == null)
+                continue;
+            int i = hash(oldM[j], oldL[j]) & mask;
+            while (v[i] != null)
+                i = (i + 1) & mask;
+            m[i] = oldM[j];
+            l[i] = oldL[j];
+            v[i] = oldV[j];
+        }
+        // publish values last: optimistic readers see either the old or the new table
+        msbs = m;
+        lsbs = l;
+        values = v;
+    }
+
+    public void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+    }
+
+    /**
+     * Independent copy. Like get, reads the arrays once into locals, so it
+     * may run optimistically during a concurrent write: the caller then
+     * validates and discards the copy.
+     */
+    public UuidHashMap<V> copy() {
+        Object[] v = values;
+        long[] m = msbs;
+        long[] l = lsbs;
+        if (m.length != v.length || l.length != v.length)
+            throw new IllegalStateException("concurrent resize");
+        UuidHashMap<V> c = new UuidHashMap<>();
+        c.msbs = m.clone();
+        c.lsbs = l.clone();
+        c.values = v.clone();
+        for (Object o : c.values) {
+            if (o != null)
+                c.size++;
+        }
+        return c;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<UUID, V> action) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null)
+                action.accept(new UUID(msbs[i], lsbs[i]), (V) values[i]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void collectValues(List<? super V> out) {
+        for (Object v : values) {
+            if (v != null)
+                out.add((V) v);
+        }
+    }
+
+    public List<V> values() {
+        List<V> out = new ArrayList<>(size);
+        collectValues(out);
+        return out;
+    }
+}
@@ -0,0 +1,178 @@
+package ch.unil.doplab.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Compact, thread-safe set of UUIDs, used for the in-memory inverse
+ * relations (offer -> applications, employer -> offers, ...).
+ *
+ * Keys live in two parallel long[] with open addressing, so a member costs
+ * about 24 bytes instead of a boxed UUID plus a list or hash node. The nil
+ * UUID (0,0) marks empty slots and is tracked with a separate flag.
+ *
+ * Sets are small and rarely contended, so every method is synchronized.
+ */
+public class UuidSet {
+
+    private static final int MIN_CAPACITY = 4;
+
+    private long[] msbs = new long[MIN_CAPACITY];
+    private long[] lsbs = new long[MIN_CAPACITY];
+    private int size; // excluding nil
+    private boolean hasNil;
+
+    public UuidSet() {
+    }
+
+    public UuidSet(Collection<UUID> ids) {
+        addAll(ids);
+    }
+
+    private static boolean empty(long m, long l) {
+        return m == 0L && l == 0L;
+    }
+
+    public synchronized boolean add(UUID id) {
+        if (id == null)
+            return false;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (empty(msb, lsb)) {
+            boolean added = !hasNil;
+            hasNil = true;
+            return added;
+        }
+        int mask = msbs.length - 1;
+        int i = UuidHashMap.hash(msb, lsb) & mask;
+        while (!empty(msbs[i], lsbs[i])) {
+            if (msbs[i] == msb && lsbs[i] == lsb)
+                return false;
+            i = (i + 1) & mask;
+        }
+        msbs[i] = msb;
+        lsbs[i] = lsb;
+        if (++size * 5 > msbs.length * 4)
+            resize(msbs.length << 1);
+        return true;
+    }
+
+    public synchronized void addAll(Collection<UUID> ids) {
+        if (ids == null)
+            return;
+        for (UUID id : ids)
+            add(id);
+    }
+
+    public synchronized boolean contains(UUID id) {
+        if (id == null)
+            return false;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (empty(msb, lsb))
+            return hasNil;
+        return indexOf(msb, lsb) >= 0;
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = msbs.length - 1;
+        int i = UuidHashMap.hash(msb, lsb) & mask;
+        while (!empty(msbs[i], lsbs[i])) {
+            if (msbs[i] == msb && lsbs[i] == lsb)
+                return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    public synchronized boolean remove(UUID id) {
+        if (id == null)
+            return false;
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        if (empty(msb, lsb)) {
+            boolean removed = hasNil;
+            hasNil = false;
+            return removed;
+        }
+        int hole = indexOf(msb, lsb);
+        if (hole < 0)
+            return false;
+
+        // backward-shift deletion
+        int mask = msbs.length - 1;
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            if (empty(msbs[i], lsbs[i]))
+                break;
+            int home = UuidHashMap.hash(msbs[i], lsbs[i]) & mask;
+            boolean movable = hole <= i ? (home <= hole || home > i) : (home <= hole && home > i);
+            if (movable) {
+                msbs[hole] = msbs[i];
+                lsbs[hole] = lsbs[i];
+                hole = i;
+            }
+        }
+        msbs[hole] = 0L;
+        lsbs[hole] = 0L;
+        size--;
+        return true;
+    }
+
+    private void resize(int capacity) {
+        long[] oldM = msbs;
+        long[] oldL = lsbs;
+        msbs = new long[capacity];
+        lsbs = new long[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldM.length; j++) {
+            if (empty(oldM[j], oldL[j]))
+                continue;
+            int i = UuidHashMap.hash(oldM[j], oldL[j]) & mask;
+            while (!empty(msbs[i], lsbs[i]))
+                i = (i + 1) & mask;
+            msbs[i] = oldM[j];
+            lsbs[i] = oldL[j];
+        }
+    }
+
+    public synchronized int size() {
+        return size + (hasNil ? 1 : 0);
+    }
+
+    public synchronized boolean isEmpty() {
+        return size == 0 && !hasNil;
+    }
+
+    public synchronized void clear() {
+        msbs = new long[MIN_CAPACITY];
+        lsbs = new long[MIN_CAPACITY];
+        size = 0;
+        hasNil = false;
+    }
+
+    /**
+     * Replaces the content with the given ids.
+     */
+    public synchronized void replaceWith(Collection<UUID> ids) {
+        clear();
+        addAll(ids);
+    }
+
+    /**
+     * Snapshot as a fresh list (order unspecified).
+     */
+    public synchronized List<UUID> toList() {
+        List<UUID> out = new ArrayList<>(size());
+        if (hasNil)
+            out.add(new UUID(0L, 0L));
+        for (int i = 0; i < msbs.length; i++) {
+            if (!empty(msbs[i], lsbs[i]))
+                out.add(new UUID(msbs[i], lsbs[i]));
+        }
+        return out;
+    }
+}
@@ -0,0 +1,97 @@
+package ch.unil.doplab.service.cluster;
+
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Peer events for one entity reach the listeners one at a time and the
+ * latest one last, while events for different entities still run in
+ * parallel on the executor.
+ */
+class CacheInvalidationBusTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final Map<UUID, AtomicInteger> perEntity = new ConcurrentHashMap<>();
+    private final Map<UUID, List<Long>> applied = new ConcurrentHashMap<>();
+    private final AtomicInteger maxPerEntity = new AtomicInteger();
+    private final AtomicInteger maxOverall = new AtomicInteger();
+
+    @Test
+    void oneEntityAtATimeLatestLast() throws Exception {
+        CacheInvalidationBus bus = new CacheInvalidationBus();
+        inject(bus, "executor", executor());
+        bus.addListener(this::slowListener);
+        Method receive = CacheInvalidationBus.class.getDeclaredMethod("receive", CacheEvent.class);
+        receive.setAccessible(true);
+
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (long version = 1; version <= 20; version++) {
+            for (UUID id : ids)
+                receive.invoke(bus, new CacheEvent("peer", EntityType.APPLICANT, id, version));
+            Thread.sleep(2);
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!ids.stream().allMatch(id -> last(id) == 20) && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+
+        for (UUID id : ids) {
+            assertEquals(20, last(id), "latest event not applied last for " + id);
+            List<Long> versions = applied.get(id);
+            for (int i = 1; i < versions.size(); i++)
+                assertTrue(versions.get(i - 1) < versions.get(i), "out of order: " + versions);
+        }
+        assertEquals(1, maxPerEntity.get(), "two events of one entity ran at once");
+        assertTrue(maxOverall.get() > 1, "entities were not dispatched in parallel");
+    }
+
+    private long last(UUID id) {
+        List<Long> versions = applied.get(id);
+        return versions == null || versions.isEmpty() ? -1 : versions.get(versions.size() - 1);
+    }
+
+    private void slowListener(CacheEvent event) {
+        AtomicInteger mine = perEntity.computeIfAbsent(event.getId(), k -> new AtomicInteger());
+        maxPerEntity.accumulateAndGet(mine.incrementAndGet(), Math::max);
+        maxOverall.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        applied.computeIfAbsent(event.getId(), k -> new CopyOnWriteArrayList<>()).add(event.getVersion());
+        running.decrementAndGet();
+        mine.decrementAndGet();
+    }
+
+    // every task on a fresh thread, as many at once as submitted
+    private static ManagedExecutorService executor() {
+        return (ManagedExecutorService) Proxy.newProxyInstance(CacheInvalidationBusTest.class.getClassLoader(),
+                new Class<?>[]{ManagedExecutorService.class}, (self, m, args) -> {
+                    if (!m.getName().equals("execute"))
+                        throw new UnsupportedOperationException("ManagedExecutorService." + m.getName());
+                    new Thread((Runnable) args[0]).start();
+                    return null;
+                });
+    }
+
+    private static void inject(Object bean, String name, Object value) throws ReflectiveOperationException {
+        Field f = bean.getClass().getDeclaredField(name);
+        f.setAccessible(true);
+        f.set(bean, value);
+    }
+}
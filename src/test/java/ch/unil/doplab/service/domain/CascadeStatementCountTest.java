@@ -0,0 +1,114 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Application;
+import ch.unil.doplab.Employer;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.service.cluster.CacheEvent.EntityType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements sent to the database by removeEmployer: the bulk cascade
+ * against the row-by-row one it replaced (find + remove per offer and per
+ * application, replayed below on the same recording entity manager).
+ */
+class CascadeStatementCountTest {
+
+    private static final int APPS_PER_OFFER = 5;
+
+    @Test
+    void removeEmployerIsConstantInTheNumberOfRows() {
+        System.out.printf("%8s %8s %10s %8s%n", "offers", "apps", "row-by-row", "bulk");
+        int previousBulk = -1;
+        for (int offers : new int[]{1, 10, 100}) {
+            int before = rowByRow(fixture(offers));
+            int after = bulk(fixture(offers));
+            System.out.printf("%8d %8d %10d %8d%n", offers, offers * APPS_PER_OFFER, before, after);
+
+            assertTrue(after < before, "bulk cascade must send fewer statements");
+            if (previousBulk >= 0)
+                assertEquals(previousBulk, after, "bulk cascade must not grow with the rows");
+            previousBulk = after;
+        }
+    }
+
+    @Test
+    void removeEmployerAnnouncesEveryCascadedRow() {
+        Fixture f = fixture(3);
+        ApplicationState state = TestStates.loaded(f.db);
+        EntityVersions.Validator offerBefore = state.getVersions().entity(EntityType.JOB_OFFER, f.offers.get(0).getId());
+
+        assertTrue(state.removeEmployer(f.employer.getId()));
+        f.offers.forEach(o -> f.db.delete(o.getId()));
+        f.applications.forEach(a -> f.db.delete(a.getId()));
+
+        for (JobOffer o : f.offers)
+            assertNull(state.findJobOffer(o.getId()));
+        for (Application a : f.applications)
+            assertNull(state.findApplication(a.getId()));
+        assertNotEquals(offerBefore, state.getVersions().entity(EntityType.JOB_OFFER, f.offers.get(0).getId()),
+                "the ETag of a cascaded offer must move");
+    }
+
+    private static int bulk(Fixture f) {
+        ApplicationState state = TestStates.loaded(f.db);
+        state.removeEmployer(f.employer.getId());
+        return f.db.statements().size();
+    }
+
+    /** removeEmployer before the bulk cascade: one offer, then one application at a time. */
+    private static int rowByRow(Fixture f) {
+        EntityManager em = f.db.proxy();
+        Employer existing = em.find(Employer.class, f.employer.getId());
+        for (JobOffer o : f.offers) {
+            JobOffer offer = em.find(JobOffer.class, o.getId());
+            for (Application a : f.applications) {
+                if (!o.getId().equals(a.getJobOfferId()))
+                    continue;
+                Application app = em.find(Application.class, a.getId());
+                em.remove(em.merge(app));
+            }
+            em.remove(em.merge(offer));
+        }
+        em.remove(em.merge(existing));
+        return f.db.statements().size();
+    }
+
+    private record Fixture(RecordingEntityManager db, Employer employer,
+                           List<JobOffer> offers, List<Application> applications) {
+    }
+
+    private static Fixture fixture(int offerCount) {
+        Employer employer = new Employer();
+        employer.setId(UUID.randomUUID());
+        List<JobOffer> offers = new ArrayList<>();
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < offerCount; i++) {
+            JobOffer o = new JobOffer();
+            o.setId(UUID.randomUUID());
+            o.setEmployerId(employer.getId());
+            o.setTitle("Offer " + i);
+            offers.add(o);
+            for (int j = 0; j < APPS_PER_OFFER; j++)
+                applications.add(new Application(UUID.randomUUID(), o.getId(), UUID.randomUUID()));
+        }
+
+        RecordingEntityManager db = new RecordingEntityManager()
+                .answer("SELECT e FROM Employer e", List.of(employer))
+                .answer("SELECT o FROM JobOffer o", offers)
+                .answer("SELECT a FROM Application a", applications)
+                .row(employer.getId(), employer);
+        offers.forEach(o -> db.row(o.getId(), o));
+        applications.forEach(a -> db.row(a.getId(), a));
+        return new Fixture(db, employer, offers, applications);
+    }
+}
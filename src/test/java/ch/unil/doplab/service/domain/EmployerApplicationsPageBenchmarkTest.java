@@ -0,0 +1,186 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.Application;
+import ch.unil.doplab.Employer;
+import ch.unil.doplab.JobOffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The employer applications page (ApplicationBean.getApplicationsForLoggedEmployer)
+ * before and after the MatchEngine: each REST call the page makes is
+ * replayed as the ApplicationState call its resource serves it with.
+ *
+ * Before, a render paged through every application, fetched the offer of
+ * each row and, for the employer's own rows, the applicant, scored the pair
+ * in the UI and PUT the score when it changed. After, it reads the
+ * employer's applications with one filtered listing, and scores nothing.
+ */
+class EmployerApplicationsPageBenchmarkTest {
+
+    private static final int OFFERS_PER_EMPLOYER = 5;
+    private static final int APPS_PER_OFFER = 10;
+    private static final int PAGE_SIZE = 200; // JobFinderClient
+    private static final int RENDERS = 20;
+
+    /** Work done by one render. */
+    private static final class Render {
+        int calls;
+        int puts;
+        int scored;
+        List<Application> rows = new ArrayList<>();
+    }
+
+    @Test
+    void afterDoesNotGrowWithTheOtherEmployersApplications() {
+        System.out.printf("%10s %6s | %12s %6s %8s %9s | %12s %9s%n", "all apps", "rows",
+                "before calls", "puts", "scored", "us/render", "after calls", "us/render");
+        for (int employers : new int[]{10, 50, 200}) {
+            Fixture f = fixture(employers);
+            ApplicationState state = TestStates.loaded(f.db);
+
+            Render first = before(state, f.employer);
+            Render before = before(state, f.employer); // scores now stored: no PUT
+            Render after = after(state, f.employer);
+            long beforeNanos = time(() -> before(state, f.employer));
+            long afterNanos = time(() -> after(state, f.employer));
+
+            System.out.printf("%10d %6d | %12d %6d %8d %9d | %12d %9d%n", f.applications.size(),
+                    after.rows.size(), before.calls, first.puts, before.scored, beforeNanos / 1000,
+                    after.calls, afterNanos / 1000);
+
+            assertEquals(ids(before.rows), ids(after.rows), "same rows");
+            assertEquals(1, after.calls);
+            assertEquals(0, after.scored);
+            assertTrue(after.calls < before.calls);
+        }
+    }
+
+    /** getApplicationsForLoggedEmployer before the MatchEngine. */
+    private static Render before(ApplicationState state, UUID employerId) {
+        Render r = new Render();
+        List<Application> all = new ArrayList<>();
+        UUID after = null;
+        for (List<Application> page; ; after = page.get(page.size() - 1).getId()) {
+            page = state.listApplications(after, PAGE_SIZE); // GET /applications?after=&limit=
+            r.calls++;
+            all.addAll(page);
+            if (page.size() < PAGE_SIZE)
+                break;
+        }
+        for (Application app : all) {
+            JobOffer offer = state.findJobOffer(app.getJobOfferId()); // GET /job-offers/{id}
+            r.calls++;
+            if (offer == null || !employerId.equals(offer.getEmployerId()))
+                continue;
+            Applicant applicant = state.findApplicant(app.getApplicantId()); // GET /applicants/{id}
+            r.calls++;
+            if (applicant != null) {
+                double score = SkillMatcherRegressionTest.Baseline.computeMatchScore(applicant, offer);
+                r.scored++;
+                Double current = app.getMatchScore();
+                if (current == null || Math.abs(current - score) > 0.05) {
+                    state.updateApplicationMatchScore(app.getId(), score); // PUT /applications/{id}/match-score
+                    r.calls++;
+                    r.puts++;
+                }
+            }
+            r.rows.add(app);
+        }
+        return r;
+    }
+
+    /** getApplicationsForLoggedEmployer now. */
+    private static Render after(ApplicationState state, UUID employerId) {
+        Render r = new Render();
+        ApplicationFilter filter = new ApplicationFilter(null, null, employerId, null, null, null, null);
+        for (int from = 0; ; from += PAGE_SIZE) {
+            // GET /applications?employerId=&limit=, then its next links (ApplicationResource.all)
+            List<Application> matches = state.findApplications(filter).stream()
+                    .sorted(Comparator.comparing(Application::getId, EntityStore.ID_ORDER))
+                    .toList();
+            List<Application> page = matches.subList(Math.min(from, matches.size()),
+                    Math.min(from + PAGE_SIZE, matches.size()));
+            r.calls++;
+            r.rows.addAll(page);
+            if (page.size() < PAGE_SIZE)
+                break;
+        }
+        return r;
+    }
+
+    private static long time(Runnable render) {
+        for (int i = 0; i < RENDERS; i++)
+            render.run(); // warm-up
+        long start = System.nanoTime();
+        for (int i = 0; i < RENDERS; i++)
+            render.run();
+        return (System.nanoTime() - start) / RENDERS;
+    }
+
+    private static List<UUID> ids(List<Application> apps) {
+        return apps.stream().map(Application::getId).sorted().collect(Collectors.toList());
+    }
+
+    private record Fixture(RecordingEntityManager db, UUID employer, List<Application> applications) {
+    }
+
+    private static Fixture fixture(int employerCount) {
+        Random rnd = new Random(42);
+        List<Employer> employers = new ArrayList<>();
+        List<Applicant> applicants = new ArrayList<>();
+        List<JobOffer> offers = new ArrayList<>();
+        List<Application> applications = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setSkills(draw(rnd, 3));
+            applicants.add(a);
+        }
+        for (int e = 0; e < employerCount; e++) {
+            Employer employer = new Employer();
+            employer.setId(UUID.randomUUID());
+            employers.add(employer);
+            for (int o = 0; o < OFFERS_PER_EMPLOYER; o++) {
+                JobOffer offer = new JobOffer();
+                offer.setId(UUID.randomUUID());
+                offer.setEmployerId(employer.getId());
+                offer.setTitle("Offer " + e + "/" + o);
+                offer.setRequiredSkills(draw(rnd, 4));
+                offers.add(offer);
+                for (int k = 0; k < APPS_PER_OFFER; k++) {
+                    Applicant a = applicants.get(rnd.nextInt(applicants.size()));
+                    applications.add(new Application(UUID.randomUUID(), offer.getId(), a.getId()));
+                }
+            }
+        }
+
+        RecordingEntityManager db = new RecordingEntityManager()
+                .answer("SELECT e FROM Employer e", employers)
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", applicants)
+                .answer("SELECT o FROM JobOffer o", offers)
+                .answer("SELECT a FROM Application a", applications);
+        applications.forEach(a -> db.row(a.getId(), a));
+        return new Fixture(db, employers.get(0).getId(), applications);
+    }
+
+    private static List<String> draw(Random rnd, int n) {
+        List<String> out = new ArrayList<>();
+        while (out.size() < n) {
+            String s = ApplicationState.SKILL_POOL.get(rnd.nextInt(ApplicationState.SKILL_POOL.size()));
+            if (!out.contains(s))
+                out.add(s);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,170 @@
+package ch.unil.doplab.service.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many threads creating, updating and deleting entries while others list
+ * and page the same store: no exception, no torn entry, and the store ends
+ * up exactly as the writers left it.
+ */
+class EntityStoreStressTest {
+
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+    private static final int KEYS_PER_WRITER = 2_000;
+    private static final int OPS_PER_WRITER = 200_000;
+
+    /** An entity whose two fields must always agree; a torn write would show. */
+    private record Row(UUID id, long version, long check) {
+        Row(UUID id, long version) {
+            this(id, version, version ^ id.getLeastSignificantBits());
+        }
+
+        boolean consistent() {
+            return check == (version ^ id.getLeastSignificantBits());
+        }
+    }
+
+    @Test
+    void unboundedStoreUnderConcurrentWritesAndListings() throws Exception {
+        EntityStore<Row> store = new EntityStore<>("stress");
+        Map<UUID, Row> expected = hammer(store);
+
+        assertEquals(expected.size(), store.size());
+        for (Map.Entry<UUID, Row> e : expected.entrySet())
+            assertEquals(e.getValue(), store.get(e.getKey()));
+
+        // the id order follows the map exactly
+        List<Row> paged = new ArrayList<>();
+        UUID after = null;
+        for (List<Row> page; !(page = store.page(after, 500)).isEmpty(); after = page.get(page.size() - 1).id())
+            paged.addAll(page);
+        assertEquals(expected.size(), paged.size());
+        for (int i = 1; i < paged.size(); i++)
+            assertTrue(EntityStore.ID_ORDER.compare(paged.get(i - 1).id(), paged.get(i).id()) < 0);
+    }
+
+    @Test
+    void boundedStoreUnderConcurrentWritesAndListings() throws Exception {
+        long maxWeight = 1_000;
+        EntityStore<Row> store = new EntityStore<>("stress", maxWeight, r -> 1);
+        Map<UUID, Row> expected = hammer(store);
+
+        assertTrue(store.size() <= maxWeight, "size " + store.size() + " over the bound");
+        // no weight left behind for an entry the map lost, or missing for one it holds
+        assertEquals((long) store.size(), store.stats().get("weight"));
+        for (Row r : store.values())
+            assertEquals(expected.get(r.id()), r, "an evicted or deleted entry came back stale");
+    }
+
+    @Test
+    void boundedRemoveRacingAPutLeavesNoGhostWeight() throws Exception {
+        CountDownLatch weighing = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        UUID id = UUID.randomUUID();
+        // the weigher of the first put parks it until a remove of the same id ran
+        EntityStore<Row> store = new EntityStore<>("race", 10, r -> {
+            if (r.version() == 0) {
+                weighing.countDown();
+                try {
+                    removed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return 1;
+        });
+        Thread put = new Thread(() -> store.put(id, new Row(id, 0)));
+        put.start();
+        weighing.await();
+        store.remove(id);
+        removed.countDown();
+        put.join();
+
+        assertEquals((long) store.size(), store.stats().get("weight"));
+    }
+
+    /**
+     * Runs the writers and readers; returns what each writer last did to
+     * its own keys (value, or absent when deleted).
+     */
+    private static Map<UUID, Row> hammer(EntityStore<Row> store) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + READERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        Map<UUID, Row> expected = new ConcurrentHashMap<>();
+        List<Future<?>> writers = new ArrayList<>();
+        List<Future<?>> readers = new ArrayList<>();
+        try {
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(pool.submit(() -> {
+                    UUID[] keys = new UUID[KEYS_PER_WRITER];
+                    for (int i = 0; i < keys.length; i++)
+                        keys[i] = UUID.randomUUID();
+                    Map<UUID, Row> mine = new HashMap<>();
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                    start.await();
+                    for (int op = 0; op < OPS_PER_WRITER; op++) {
+                        UUID id = keys[rnd.nextInt(keys.length)];
+                        if (rnd.nextInt(10) < 2) {
+                            store.remove(id);
+                            mine.remove(id);
+                        } else {
+                            Row r = new Row(id, op);
+                            store.put(id, r);
+                            mine.put(id, r);
+                        }
+                        Row seen = store.get(keys[rnd.nextInt(keys.length)]);
+                        assertTrue(seen == null || seen.consistent());
+                    }
+                    expected.putAll(mine);
+                    return null;
+                }));
+            }
+            for (int r = 0; r < READERS; r++) {
+                boolean paging = r % 2 == 0;
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        List<Row> rows = paging && !store.isBounded() ? store.page(null, 1_000) : store.values();
+                        for (Row row : rows) {
+                            assertNotNull(row);
+                            assertTrue(row.consistent());
+                        }
+                        for (Map.Entry<UUID, Row> e : store.asMap().entrySet())
+                            assertEquals(e.getKey(), e.getValue().id());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : writers)
+                f.get(2, TimeUnit.MINUTES);
+            writing.set(false);
+            for (Future<?> f : readers)
+                f.get(1, TimeUnit.MINUTES);
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+        return expected;
+    }
+}
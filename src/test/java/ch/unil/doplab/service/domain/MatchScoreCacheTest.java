@@ -0,0 +1,91 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.Application;
+import ch.unil.doplab.JobOffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Re-scoring an applicant's applications skips every pair whose profile
+ * revisions are unchanged: a name change bumps no revision and scores
+ * nothing, a skill change does.
+ */
+class MatchScoreCacheTest {
+
+    private RecordingEntityManager db;
+    private ApplicationState state;
+    private Applicant applicant;
+    private final List<Application> applications = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        applicant = new Applicant();
+        applicant.setId(UUID.randomUUID());
+        applicant.setFirstName("Igor");
+        applicant.setLastName("Petrov");
+        applicant.setSkills(new ArrayList<>(List.of("java", "sql", "docker")));
+
+        List<JobOffer> offers = new ArrayList<>();
+        for (List<String> required : List.of(List.of("java", "spring"), List.of("python", "sql"),
+                List.of("kubernetes", "docker", "linux"))) {
+            JobOffer o = new JobOffer();
+            o.setId(UUID.randomUUID());
+            o.setEmployerId(UUID.randomUUID());
+            o.setTitle("Offer " + required);
+            o.setRequiredSkills(new ArrayList<>(required));
+            offers.add(o);
+            applications.add(new Application(UUID.randomUUID(), o.getId(), applicant.getId()));
+        }
+
+        db = new RecordingEntityManager()
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", List.of(applicant))
+                .answer("SELECT o FROM JobOffer o", offers)
+                .answer("SELECT a FROM Application a", applications)
+                .row(applicant.getId(), applicant);
+        state = TestStates.loaded(db);
+
+        // first pass scores and stores every pair
+        assertEquals(applications.size(), state.recomputeMatchScoresForApplicant(applicant.getId()));
+    }
+
+    @Test
+    void nameChangeDoesNotRescore() {
+        long revision = applicant.getProfileRevision();
+        Object misses = TestStates.matchEngine(state).scoreCacheStats().get("misses");
+
+        Applicant renamed = new Applicant();
+        renamed.setFirstName("Igor");
+        renamed.setLastName("Petrov-Smith");
+        renamed.setSkills(new ArrayList<>(applicant.getSkills()));
+        state.updateApplicant(applicant.getId(), renamed);
+        db.clearStatements();
+
+        assertEquals(0, state.recomputeMatchScoresForApplicant(applicant.getId()));
+        assertEquals(revision, state.findApplicant(applicant.getId()).getProfileRevision());
+        assertEquals(misses, TestStates.matchEngine(state).scoreCacheStats().get("misses"), "a pair was scored again");
+        assertTrue(db.statements().stream().noneMatch(s -> s.startsWith("UPDATE")), db.statements().toString());
+    }
+
+    @Test
+    void skillChangeRescores() {
+        long revision = applicant.getProfileRevision();
+
+        Applicant changed = new Applicant();
+        changed.setFirstName("Igor");
+        changed.setLastName("Petrov");
+        changed.setSkills(new ArrayList<>(List.of("java", "sql", "kubernetes")));
+        state.updateApplicant(applicant.getId(), changed);
+
+        assertNotEquals(revision, state.findApplicant(applicant.getId()).getProfileRevision());
+        assertEquals(applications.size(), state.recomputeMatchScoresForApplicant(applicant.getId()));
+    }
+}
@@ -0,0 +1,84 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Candidate ranking scores only the applicants the skill index retrieves,
+ * also when the applicant store is bounded and holds part of the pool:
+ * the missing candidates are fetched by id, never the whole pool.
+ */
+class RankCandidatesTest {
+
+    private static final String BOUND = "jobfinder.cache.applicants.maxWeight";
+    private static final String POOL = "SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills";
+    private static final String BY_IDS = POOL + " WHERE a.id IN :ids";
+
+    private final List<Applicant> javaDevs = new ArrayList<>();
+    private final List<Applicant> pool = new ArrayList<>();
+    private final JobOffer offer = new JobOffer();
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(BOUND);
+    }
+
+    private RecordingEntityManager db() {
+        for (int i = 0; i < 200; i++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setSkills(new ArrayList<>(i % 20 == 0 ? List.of("java", "sql") : List.of("cobol", "mainframe")));
+            pool.add(a);
+            if (i % 20 == 0)
+                javaDevs.add(a);
+        }
+        offer.setId(UUID.randomUUID());
+        offer.setEmployerId(UUID.randomUUID());
+        offer.setTitle("Java developer");
+        offer.setRequiredSkills(new ArrayList<>(List.of("java")));
+        return new RecordingEntityManager()
+                .answer(POOL, pool)
+                .answer(BY_IDS, javaDevs)
+                .answer("SELECT o FROM JobOffer o", List.of(offer));
+    }
+
+    @Test
+    void boundedStoreScoresIndexCandidatesOnly() {
+        System.setProperty(BOUND, "5");
+        RecordingEntityManager db = db();
+        ApplicationState state = TestStates.loaded(db);
+
+        List<ScoredApplicant> ranked = state.rankCandidates(offer.getId(), 50);
+
+        assertEquals(ids(javaDevs), ranked.stream().map(sa -> sa.getApplicant().getId()).collect(Collectors.toSet()));
+        assertFalse(db.statements().contains(POOL), db.statements().toString());
+        assertTrue(db.statements().stream().allMatch(BY_IDS::equals), db.statements().toString());
+    }
+
+    @Test
+    void completeStoreIssuesNoStatement() {
+        RecordingEntityManager db = db();
+        ApplicationState state = TestStates.loaded(db);
+
+        List<ScoredApplicant> ranked = state.rankCandidates(offer.getId(), 50);
+
+        assertEquals(ids(javaDevs), ranked.stream().map(sa -> sa.getApplicant().getId()).collect(Collectors.toSet()));
+        assertEquals(List.of(), db.statements());
+    }
+
+    private static Set<UUID> ids(List<Applicant> applicants) {
+        return applicants.stream().map(Applicant::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,90 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.JobOfferStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recommendations only retrieve open offers, so closed offers sharing
+ * more terms cannot fill the candidate cap, and a bounded offer store
+ * fetches the candidates by id instead of scoring every open offer.
+ */
+class RecommendJobOffersTest {
+
+    private static final String BOUND = "jobfinder.cache.jobOffers.maxWeight";
+    private static final String BY_IDS = "SELECT x FROM JobOffer x WHERE x.id IN :ids";
+
+    private final Applicant applicant = new Applicant();
+    private final List<JobOffer> open = new ArrayList<>();
+    private final List<JobOffer> offers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(BOUND);
+    }
+
+    private RecordingEntityManager db() {
+        applicant.setId(UUID.randomUUID());
+        applicant.setSkills(new ArrayList<>(List.of("java", "sql", "docker")));
+        // more closed offers than the candidate cap, each sharing every term
+        for (int i = 0; i < 2100; i++)
+            offers.add(offer(JobOfferStatus.Closed, List.of("java", "sql", "docker")));
+        for (int i = 0; i < 5; i++) {
+            JobOffer o = offer(i % 2 == 0 ? JobOfferStatus.Published : JobOfferStatus.Reopened, List.of("java"));
+            open.add(o);
+            offers.add(o);
+        }
+        return new RecordingEntityManager()
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", List.of(applicant))
+                .answer("SELECT o FROM JobOffer o", offers)
+                .answer(BY_IDS, open);
+    }
+
+    private static JobOffer offer(JobOfferStatus status, List<String> required) {
+        JobOffer o = new JobOffer();
+        o.setId(UUID.randomUUID());
+        o.setEmployerId(UUID.randomUUID());
+        o.setTitle("Offer " + required);
+        o.setStatus(status);
+        o.setRequiredSkills(new ArrayList<>(required));
+        return o;
+    }
+
+    @Test
+    void closedOffersDoNotCrowdOutOpenOnes() {
+        RecordingEntityManager db = db();
+        ApplicationState state = TestStates.loaded(db);
+
+        List<ScoredOffer> top = state.recommendJobOffers(applicant.getId(), 10);
+
+        assertEquals(ids(open), top.stream().map(so -> so.getJobOffer().getId()).collect(Collectors.toSet()));
+        assertEquals(List.of(), db.statements());
+    }
+
+    @Test
+    void boundedStoreFetchesCandidatesById() {
+        System.setProperty(BOUND, "5");
+        RecordingEntityManager db = db();
+        ApplicationState state = TestStates.loaded(db);
+
+        List<ScoredOffer> top = state.recommendJobOffers(applicant.getId(), 10);
+
+        assertEquals(ids(open), top.stream().map(so -> so.getJobOffer().getId()).collect(Collectors.toSet()));
+        assertTrue(db.statements().stream().allMatch(BY_IDS::equals), db.statements().toString());
+    }
+
+    private static Set<UUID> ids(List<JobOffer> list) {
+        return list.stream().map(JobOffer::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,138 @@
+package ch.unil.doplab.service.domain;
+
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EntityManager stand-in for unit tests: answers queries from canned rows
+ * and records every statement that would reach the database.
+ *
+ * What counts as one statement follows the JPA provider: a query, a bulk
+ * update or delete, a find, and a remove or persist (one row) plus one per
+ * element-collection table of the entity. A merge of a managed entity is
+ * free.
+ */
+final class RecordingEntityManager {
+
+    private final List<String> statements = new ArrayList<>();
+    private final Map<String, List<?>> answers = new HashMap<>();
+    private final Map<Object, Object> rows = new HashMap<>();
+
+    /** Rows returned by the query with exactly this JPQL. */
+    RecordingEntityManager answer(String jpql, List<?> result) {
+        answers.put(jpql, result);
+        return this;
+    }
+
+    /** Row returned by find(cls, id). */
+    RecordingEntityManager row(Object id, Object entity) {
+        rows.put(id, entity);
+        return this;
+    }
+
+    /** Drops a row, as a bulk DELETE (which is only recorded) would. */
+    void delete(Object id) {
+        rows.remove(id);
+    }
+
+    List<String> statements() {
+        return statements;
+    }
+
+    void clearStatements() {
+        statements.clear();
+    }
+
+    EntityManager proxy() {
+        return (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EntityManager.class}, this::entityManager);
+    }
+
+    private Object entityManager(Object self, Method m, Object[] args) {
+        switch (m.getName()) {
+            case "createQuery", "createNativeQuery" -> {
+                return query((String) args[0]);
+            }
+            case "find" -> {
+                statements.add("SELECT " + ((Class<?>) args[0]).getSimpleName() + " by id");
+                return rows.get(args[1]);
+            }
+            case "merge" -> {
+                return args[0];
+            }
+            case "remove" -> {
+                rowStatements("DELETE", args[0]);
+                rows.values().remove(args[0]);
+                return null;
+            }
+            case "persist" -> {
+                rowStatements("INSERT", args[0]);
+                return null;
+            }
+            case "flush", "clear", "detach" -> {
+                return null;
+            }
+            case "isOpen" -> {
+                return true;
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(self);
+            }
+            case "equals" -> {
+                return self == args[0];
+            }
+            case "toString" -> {
+                return "RecordingEntityManager";
+            }
+            default -> throw new UnsupportedOperationException("EntityManager." + m.getName());
+        }
+    }
+
+    private void rowStatements(String verb, Object entity) {
+        statements.add(verb + " " + entity.getClass().getSimpleName());
+        for (Class<?> c = entity.getClass(); c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (f.isAnnotationPresent(ElementCollection.class))
+                    statements.add(verb + " " + entity.getClass().getSimpleName() + "." + f.getName());
+            }
+        }
+    }
+
+    private TypedQuery<?> query(String sql) {
+        InvocationHandler h = (self, m, args) -> switch (m.getName()) {
+            case "getResultList" -> {
+                statements.add(sql);
+                yield answers.getOrDefault(sql, List.of());
+            }
+            case "getSingleResult" -> {
+                statements.add(sql);
+                List<?> result = answers.getOrDefault(sql, List.of(0L));
+                yield result.get(0);
+            }
+            case "executeUpdate" -> {
+                statements.add(sql);
+                yield 0;
+            }
+            case "hashCode" -> System.identityHashCode(self);
+            case "equals" -> self == args[0];
+            case "toString" -> sql;
+            default -> {
+                if (m.getReturnType().isInstance(self))
+                    yield self; // setParameter, setMaxResults, setHint, ...
+                throw new UnsupportedOperationException("Query." + m.getName());
+            }
+        };
+        return (TypedQuery<?>) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{TypedQuery.class}, h);
+    }
+}
@@ -0,0 +1,134 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.Application;
+import ch.unil.doplab.JobOffer;
+import ch.unil.doplab.JobOfferStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A synonym reload finds the applicants to re-score and the offers to
+ * re-index through the skill indexes, also with bounded stores, and the
+ * DB fallback takes a changed term's % and _ literally.
+ */
+class ReloadSynonymsTest {
+
+    private static final String[] BOUNDS = {"jobfinder.cache.applicants.maxWeight",
+            "jobfinder.cache.jobOffers.maxWeight"};
+    private static final String FILE = "jobfinder.synonyms.file";
+
+    private SynonymDictionary previous;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        previous = SkillTerms.dictionary();
+        String builtIn;
+        try (InputStream in = SynonymDictionary.class.getResourceAsStream("/synonyms.txt")) {
+            builtIn = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        file = Files.createTempFile("synonyms", ".txt");
+        Files.writeString(file, builtIn.replaceFirst("(?m)^version = \\d+$", "version = " + (previous.getVersion() + 1))
+                + "\nfortran, f90\n");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        SkillTerms.install(previous);
+        for (String p : BOUNDS)
+            System.clearProperty(p);
+        System.clearProperty(FILE);
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void boundedStoresUseTheIndexes() {
+        for (String p : BOUNDS)
+            System.setProperty(p, "2");
+
+        Applicant applicant = new Applicant();
+        applicant.setId(UUID.randomUUID());
+        applicant.setSkills(new ArrayList<>(List.of("fortran")));
+        List<JobOffer> offers = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            offers.add(offer(List.of("java", "sql")));
+        JobOffer legacy = offer(List.of("f90"));
+        offers.add(legacy);
+        Application application = new Application(UUID.randomUUID(), legacy.getId(), applicant.getId());
+
+        RecordingEntityManager db = new RecordingEntityManager()
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", List.of(applicant))
+                .answer("SELECT o FROM JobOffer o", offers)
+                .answer("SELECT a FROM Application a", List.of(application))
+                .answer("SELECT x FROM JobOffer x WHERE x.id IN :ids", List.of(legacy))
+                .row(applicant.getId(), applicant)
+                .row(legacy.getId(), legacy);
+        ApplicationState state = TestStates.loaded(db);
+
+        System.setProperty(FILE, file.toString());
+        Map<String, Object> out = state.reloadSynonyms();
+
+        assertEquals(true, out.get("reloaded"));
+        assertEquals(1, out.get("rescoredApplicants"));
+        assertEquals(1, out.get("reindexedOffers"));
+        assertTrue(db.statements().stream().noneMatch(s -> s.contains(" LIKE ")), db.statements().toString());
+    }
+
+    @Test
+    void upsertRacingTheSwapIndexesTheNewTerms() {
+        System.setProperty(FILE, file.toString());
+        SynonymDictionary next = SynonymDictionary.load();
+        MatchEngine engine = new MatchEngine();
+        assertFalse(engine.detectSkills("f90").contains("fortran"));
+        // the reload swaps the dictionary right after the offer's terms were computed
+        AtomicBoolean swapped = new AtomicBoolean();
+        SkillIndex<JobOffer> index = new SkillIndex<>(JobOffer::getId, o -> {
+            Set<String> terms = SkillIndex.offerTerms(o);
+            if (swapped.compareAndSet(false, true))
+                SkillTerms.install(next);
+            return terms;
+        });
+        JobOffer legacy = offer(List.of("f90"));
+
+        index.upsert(legacy);
+
+        assertEquals(Set.of(legacy.getId()), index.mentioning("fortran"));
+        assertTrue(engine.detectSkills("f90").contains("fortran"));
+    }
+
+    @Test
+    void likePatternEscapesWildcards() {
+        assertEquals("%c++%", ApplicationState.containsPattern("c++"));
+        assertEquals("%node!_js%", ApplicationState.containsPattern("node_js"));
+        assertEquals("%100!%%", ApplicationState.containsPattern("100%"));
+        assertEquals("%wow!!%", ApplicationState.containsPattern("wow!"));
+    }
+
+    private static JobOffer offer(List<String> required) {
+        JobOffer o = new JobOffer();
+        o.setId(UUID.randomUUID());
+        o.setEmployerId(UUID.randomUUID());
+        o.setTitle("Offer " + required);
+        o.setStatus(JobOfferStatus.Published);
+        o.setRequiredSkills(new ArrayList<>(required));
+        return o;
+    }
+}
@@ -0,0 +1,100 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.Application;
+import ch.unil.doplab.JobOffer;
+import jakarta.enterprise.concurrent.ManagedExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Re-ranking the applications of an offer scores them on the injected
+ * managed executor and replaces the cached applications with rescored
+ * copies instead of changing the instances readers may hold.
+ */
+class RescoreOfferTest {
+
+    private final List<Applicant> applicants = new ArrayList<>();
+    private final List<Application> applications = new ArrayList<>();
+    private final JobOffer offer = new JobOffer();
+    private final AtomicInteger tasks = new AtomicInteger();
+    private RecordingEntityManager db;
+    private ApplicationState state;
+
+    @BeforeEach
+    void setUp() {
+        offer.setId(UUID.randomUUID());
+        offer.setEmployerId(UUID.randomUUID());
+        offer.setTitle("Backend developer");
+        offer.setRequiredSkills(new ArrayList<>(List.of("java", "sql", "docker")));
+        List<List<String>> profiles = List.of(List.of("java"), List.of("java", "sql"), List.of("docker", "linux"),
+                List.of("python"), List.of("java", "sql", "docker"));
+        for (int i = 0; i < 2000; i++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setSkills(new ArrayList<>(profiles.get(i % profiles.size())));
+            applicants.add(a);
+            applications.add(new Application(UUID.randomUUID(), offer.getId(), a.getId()));
+        }
+        db = new RecordingEntityManager()
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", applicants)
+                .answer("SELECT o FROM JobOffer o", List.of(offer))
+                .answer("SELECT a FROM Application a", applications);
+        state = TestStates.loaded(db);
+        TestStates.inject(state, "executor", executor());
+        TestStates.inject(state, "rescoreParallelism", 4);
+    }
+
+    // runs every task on a fresh thread, like a managed executor would on its own
+    private ManagedExecutorService executor() {
+        return (ManagedExecutorService) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ManagedExecutorService.class}, (self, m, args) -> {
+                    if (!m.getName().equals("execute"))
+                        throw new UnsupportedOperationException("ManagedExecutorService." + m.getName());
+                    tasks.incrementAndGet();
+                    new Thread((Runnable) args[0]).start();
+                    return null;
+                });
+    }
+
+    @Test
+    void scoresOnTheManagedExecutor() {
+        assertEquals(applications.size(), state.recomputeMatchScoresForOffer(offer.getId()));
+
+        // 4 chunks of 500: three forked, one scored on the caller
+        assertEquals(3, tasks.get());
+        // one UPDATE per 1000 applications, whatever the number of distinct scores
+        assertEquals(2, db.statements().stream().filter(s -> s.startsWith("UPDATE Application")).count(),
+                db.statements().toString());
+        MatchEngine engine = TestStates.matchEngine(state);
+        for (int i = 0; i < applications.size(); i++) {
+            Application cached = state.findApplication(applications.get(i).getId());
+            assertEquals(engine.score(applicants.get(i), offer), cached.getMatchScore());
+        }
+    }
+
+    @Test
+    void replacesCachedApplicationsInsteadOfMutatingThem() {
+        Application before = state.findApplication(applications.get(0).getId());
+
+        state.recomputeMatchScoresForOffer(offer.getId());
+
+        Application after = state.findApplication(before.getId());
+        assertNull(before.getMatchScore(), "the cached instance was changed in place");
+        assertNotSame(before, after);
+        assertTrue(after.getMatchScore() > 0.0);
+        assertEquals(before.getStatus(), after.getStatus());
+        assertEquals(before.getSubmittedAt(), after.getSubmittedAt());
+    }
+}
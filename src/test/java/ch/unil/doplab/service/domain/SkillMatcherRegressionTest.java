@@ -0,0 +1,365 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.JobOffer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SkillMatcher against the string-based computeMatchScore it replaced
+ * (copied below as Baseline): the same bits for every pair of the seeded
+ * data (populateDB), and for seeded random mixes of pool skills, synonym
+ * terms, multi-word phrases and typos.
+ */
+class SkillMatcherRegressionTest {
+
+    private static List<Applicant> applicants;
+    private static List<JobOffer> offers;
+
+    @BeforeAll
+    static void seed() throws Exception {
+        ApplicationState state = TestStates.loaded(new RecordingEntityManager());
+        Method populate = ApplicationState.class.getDeclaredMethod("populateApplicationState");
+        populate.setAccessible(true);
+        populate.invoke(state);
+        Comparator<Applicant> byUsername = Comparator.comparing(Applicant::getUsername);
+        applicants = state.getAllApplicants().values().stream().sorted(byUsername).toList();
+        offers = state.getAllOffers().values().stream().sorted(Comparator.comparing(JobOffer::getTitle)).toList();
+    }
+
+    @Test
+    void seededPairsScoreAsBefore() {
+        assertTrue(applicants.size() > 1000 && offers.size() >= 12, applicants.size() + " x " + offers.size());
+        SkillMatcher matcher = new SkillMatcher();
+        for (Applicant a : applicants) {
+            for (JobOffer o : offers)
+                assertSameScore(Baseline.computeMatchScore(a, o), matcher.score(a, o), a, o);
+        }
+    }
+
+    @Test
+    void randomMixesScoreAsBefore() {
+        List<String> pool = new ArrayList<>(ApplicationState.SKILL_POOL);
+        pool.addAll(List.of("js", "reactjs", "react.js", "postgres", "k8s", "spring boot", "ruby on rails",
+                "amazon web services", "c++", "c#", ".net", "machine learning", "deep learning", "data",
+                "supply chain", "product management", "pythn", "javscript", "kubernets", "dockers",
+                "front end", "back-end", "rest api", "ci/cd", "github actions", "figma", "  Java  ", "SQL"));
+        Random rnd = new Random(42);
+        SkillMatcher matcher = new SkillMatcher();
+        for (int n = 0; n < 20_000; n++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setSkills(draw(rnd, pool, rnd.nextInt(6)));
+            JobOffer o = new JobOffer();
+            o.setId(UUID.randomUUID());
+            o.setRequiredSkills(draw(rnd, pool, rnd.nextInt(5)));
+            o.setRequiredQualifications(draw(rnd, pool, rnd.nextInt(3)));
+            assertSameScore(Baseline.computeMatchScore(a, o), matcher.score(a, o), a, o);
+        }
+    }
+
+    /**
+     * Offers without requirements score on their title and description.
+     * With no synonym term in the text the score is the token overlap, as
+     * before; the text's tokens are looked up, not interned.
+     */
+    @Test
+    void descriptionsScoreAsBeforeWithoutGrowingTheVocabulary() {
+        List<String> words = List.of("figma", "statistics", "linux", "terraform", "css", "ux", "tensorflow",
+                "robotics", "operations", "management", "consulting", "platform", "team");
+        Random rnd = new Random(42);
+        SkillMatcher matcher = new SkillMatcher();
+        List<JobOffer> texts = new ArrayList<>();
+        for (int n = 0; n < 200; n++) {
+            JobOffer o = new JobOffer();
+            o.setId(UUID.randomUUID());
+            o.setTitle("Offer " + n);
+            StringBuilder d = new StringBuilder();
+            for (int w = 0; w < 30; w++)
+                d.append(rnd.nextInt(3) == 0 ? words.get(rnd.nextInt(words.size())) : "word" + rnd.nextInt(100_000))
+                        .append(' ');
+            o.setDescription(d.toString());
+            texts.add(o);
+        }
+
+        // offers first: their texts are seen before some of the skills are interned
+        Applicant none = new Applicant();
+        none.setId(UUID.randomUUID());
+        none.setSkills(List.of("cobol"));
+        for (JobOffer o : texts)
+            matcher.score(none, o);
+        int vocabulary = matcher.vocabularySize();
+
+        for (int n = 0; n < 50; n++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setSkills(draw(rnd, words, 1 + rnd.nextInt(4)));
+            for (JobOffer o : texts)
+                assertSameScore(Baseline.computeMatchScore(a, o), matcher.score(a, o), a, o);
+        }
+        assertTrue(matcher.vocabularySize() <= vocabulary + words.size(),
+                "description tokens were interned: " + vocabulary + " -> " + matcher.vocabularySize());
+    }
+
+    private static List<String> draw(Random rnd, List<String> pool, int n) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            out.add(pool.get(rnd.nextInt(pool.size())));
+        return out;
+    }
+
+    private static void assertSameScore(double expected, double actual, Applicant a, JobOffer o) {
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual),
+                () -> expected + " != " + actual + " for " + a.getSkills() + " / " + o.getRequiredSkills()
+                        + " " + o.getRequiredQualifications() + " " + o.getDescription());
+    }
+
+    // ======================================================================
+    // computeMatchScore as it was in ApplicationState before the vocabulary
+    // ======================================================================
+
+    static final class Baseline {
+
+        private static Set<String> tokenize(String text) {
+            if (text == null)
+                return Collections.emptySet();
+
+            String[] raw = text.toLowerCase().split("[^a-z0-9+]+");
+            Set<String> tokens = new HashSet<>();
+            for (String t : raw) {
+                t = t.trim();
+                if (t.length() >= 2)
+                    tokens.add(t);
+            }
+            return tokens;
+        }
+
+        private static final Map<String, Set<String>> SYNONYMS = new HashMap<>();
+        static {
+            // Programming languages
+            addSynonyms("javascript", "js", "ecmascript", "es6", "es2015");
+            addSynonyms("typescript", "ts");
+            addSynonyms("python", "py", "python3");
+            addSynonyms("java", "jdk", "jre", "j2ee", "jakarta");
+            addSynonyms("csharp", "c#", ".net", "dotnet");
+            addSynonyms("cplusplus", "c++", "cpp");
+            addSynonyms("golang", "go");
+            addSynonyms("ruby", "rails", "ruby on rails", "ror");
+            // Frameworks
+            addSynonyms("react", "reactjs", "react.js");
+            addSynonyms("angular", "angularjs", "angular.js");
+            addSynonyms("vue", "vuejs", "vue.js");
+            addSynonyms("node", "nodejs", "node.js");
+            addSynonyms("spring", "spring boot", "springboot");
+            addSynonyms("django", "python django");
+            addSynonyms("express", "expressjs", "express.js");
+            // Databases
+            addSynonyms("sql", "mysql", "postgresql", "postgres", "mssql", "oracle");
+            addSynonyms("nosql", "mongodb", "mongo", "cassandra", "dynamodb", "redis");
+            // Cloud/DevOps
+            addSynonyms("aws", "amazon web services", "ec2", "s3", "lambda");
+            addSynonyms("azure", "microsoft azure");
+            addSynonyms("gcp", "google cloud", "google cloud platform");
+            addSynonyms("docker", "containers", "containerization");
+            addSynonyms("kubernetes", "k8s");
+            addSynonyms("ci/cd", "cicd", "continuous integration", "jenkins", "github actions");
+            // General
+            addSynonyms("frontend", "front-end", "front end", "ui", "user interface");
+            addSynonyms("backend", "back-end", "back end", "server-side");
+            addSynonyms("fullstack", "full-stack", "full stack");
+            addSynonyms("api", "rest", "restful", "rest api", "graphql");
+            addSynonyms("agile", "scrum", "kanban");
+            addSynonyms("machine learning", "ml", "ai", "artificial intelligence", "deep learning");
+            addSynonyms("data science", "data analysis", "analytics", "data analyst");
+        }
+
+        private static void addSynonyms(String... terms) {
+            Set<String> group = new HashSet<>(Arrays.asList(terms));
+            for (String t : terms)
+                SYNONYMS.computeIfAbsent(t.toLowerCase(), k -> new HashSet<>()).addAll(group);
+        }
+
+        private static boolean areSynonyms(String a, String b) {
+            String la = a.toLowerCase();
+            String lb = b.toLowerCase();
+            Set<String> synA = SYNONYMS.get(la);
+            if (synA != null && synA.contains(lb))
+                return true;
+            Set<String> synB = SYNONYMS.get(lb);
+            return synB != null && synB.contains(la);
+        }
+
+        private static double phraseSimilarity(String a, String b) {
+            if (a == null || b == null)
+                return 0.0;
+            String sa = a.trim().toLowerCase();
+            String sb = b.trim().toLowerCase();
+            if (sa.isEmpty() || sb.isEmpty())
+                return 0.0;
+
+            if (sa.equals(sb))
+                return 1.0;
+            if (areSynonyms(sa, sb))
+                return 0.95;
+            if (sa.contains(sb) || sb.contains(sa))
+                return 0.75;
+
+            Set<String> ta = tokenize(sa);
+            Set<String> tb = tokenize(sb);
+            if (ta.isEmpty() || tb.isEmpty())
+                return 0.0;
+
+            double synonymBonus = 0.0;
+            for (String tokA : ta) {
+                for (String tokB : tb) {
+                    if (areSynonyms(tokA, tokB))
+                        synonymBonus = Math.max(synonymBonus, 0.6);
+                }
+            }
+
+            Set<String> inter = new HashSet<>(ta);
+            inter.retainAll(tb);
+            Set<String> union = new HashSet<>(ta);
+            union.addAll(tb);
+            double jaccard = union.isEmpty() ? 0.0 : (inter.size() * 1.0) / union.size();
+
+            double levenshtein = 0.0;
+            if (Math.abs(sa.length() - sb.length()) <= 3) {
+                int dist = levenshteinDistance(sa, sb);
+                int maxLen = Math.max(sa.length(), sb.length());
+                if (maxLen > 0 && dist <= 3) {
+                    levenshtein = 1.0 - ((double) dist / maxLen);
+                    if (levenshtein > 0.7)
+                        levenshtein *= 0.6;
+                }
+            }
+
+            return Math.max(Math.max(jaccard, synonymBonus), levenshtein);
+        }
+
+        private static int levenshteinDistance(String s1, String s2) {
+            int[] prev = new int[s2.length() + 1];
+            int[] curr = new int[s2.length() + 1];
+            for (int j = 0; j <= s2.length(); j++)
+                prev[j] = j;
+            for (int i = 1; i <= s1.length(); i++) {
+                curr[0] = i;
+                for (int j = 1; j <= s2.length(); j++) {
+                    int cost = s1.charAt(i - 1) == s2.charAt(j - 1) ? 0 : 1;
+                    curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                }
+                int[] tmp = prev;
+                prev = curr;
+                curr = tmp;
+            }
+            return prev[s2.length()];
+        }
+
+        private static double listSimilarity(Collection<String> requirements, Collection<String> candidatePhrases) {
+            if (requirements == null || requirements.isEmpty())
+                return 0.0;
+            if (candidatePhrases == null || candidatePhrases.isEmpty())
+                return 0.0;
+
+            double sum = 0.0;
+            int n = 0;
+            for (String r : requirements) {
+                if (r == null || r.isBlank())
+                    continue;
+                double best = 0.0;
+                for (String c : candidatePhrases) {
+                    best = Math.max(best, phraseSimilarity(r, c));
+                    if (best >= 1.0)
+                        break;
+                }
+                sum += best;
+                n++;
+            }
+            if (n == 0)
+                return 0.0;
+            return (sum / n) * 100.0;
+        }
+
+        static double computeMatchScore(Applicant applicant, JobOffer offer) {
+            LinkedHashSet<String> applicantPhrases = new LinkedHashSet<>();
+            if (applicant.getSkills() != null) {
+                for (String s : applicant.getSkills()) {
+                    if (s != null && !s.isBlank())
+                        applicantPhrases.add(s.trim().toLowerCase());
+                }
+            }
+            if (applicantPhrases.isEmpty()) {
+                String skillsStr = applicant.getSkillsAsString();
+                if (skillsStr != null && !skillsStr.isBlank()) {
+                    for (String s : skillsStr.split(",")) {
+                        String t = s.trim().toLowerCase();
+                        if (!t.isBlank())
+                            applicantPhrases.add(t);
+                    }
+                }
+            }
+            if (applicantPhrases.isEmpty())
+                return 0.0;
+
+            List<String> reqSkills = offer.getRequiredSkills();
+            List<String> reqQuals = offer.getRequiredQualifications();
+
+            boolean hasSkills = reqSkills != null && !reqSkills.isEmpty();
+            boolean hasQuals = reqQuals != null && !reqQuals.isEmpty();
+
+            if (hasSkills || hasQuals) {
+                double skillsScore = hasSkills ? listSimilarity(reqSkills, applicantPhrases) : 0.0;
+                double qualsScore = hasQuals ? listSimilarity(reqQuals, applicantPhrases) : 0.0;
+
+                double result;
+                if (hasSkills && hasQuals) {
+                    result = 0.7 * skillsScore + 0.3 * qualsScore;
+                } else {
+                    result = hasSkills ? skillsScore : qualsScore;
+                }
+                return Math.round(result * 10.0) / 10.0;
+            }
+
+            StringBuilder jobText = new StringBuilder();
+            if (offer.getTitle() != null)
+                jobText.append(offer.getTitle()).append(" ");
+            if (offer.getDescription() != null)
+                jobText.append(offer.getDescription());
+            Set<String> jobTokens = tokenize(jobText.toString());
+            if (jobTokens.isEmpty())
+                return 0.0;
+
+            Set<String> applicantTokens = new HashSet<>();
+            for (String phrase : applicantPhrases)
+                applicantTokens.addAll(tokenize(phrase));
+            if (applicantTokens.isEmpty())
+                return 0.0;
+
+            int matches = 0;
+            for (String s : applicantTokens)
+                if (jobTokens.contains(s))
+                    matches++;
+
+            double raw = (matches * 100.0) / applicantTokens.size();
+            return Math.round(raw * 10.0) / 10.0;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.service.cluster.CacheInvalidationBus;
+
+import java.lang.reflect.Field;
+
+/**
+ * ApplicationState outside the container: the injected beans are plain
+ * instances, no transaction (cache writes apply at once), no executor (the
+ * caches load synchronously from the canned rows of the entity manager).
+ */
+final class TestStates {
+
+    private TestStates() {
+    }
+
+    static ApplicationState loaded(RecordingEntityManager db) {
+        ApplicationState state = new ApplicationState();
+        RescoreQueue rescoreQueue = new RescoreQueue();
+        inject(rescoreQueue, "state", state);
+
+        inject(state, "em", db.proxy());
+        inject(state, "bus", new CacheInvalidationBus());
+        inject(state, "matchEngine", new MatchEngine());
+        inject(state, "rescoreQueue", rescoreQueue);
+        state.init();
+        db.clearStatements();
+        return state;
+    }
+
+    static MatchEngine matchEngine(ApplicationState state) {
+        try {
+            Field f = ApplicationState.class.getDeclaredField("matchEngine");
+            f.setAccessible(true);
+            return (MatchEngine) f.get(state);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void inject(Object bean, String name, Object value) {
+        try {
+            Field f = bean.getClass().getDeclaredField(name);
+            f.setAccessible(true);
+            f.set(bean, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ch.unil.doplab.service.domain;
+
+import ch.unil.doplab.Applicant;
+import ch.unil.doplab.Application;
+import ch.unil.doplab.JobOffer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * A delete committed while the end of warm-up re-indexes the stores: the
+ * rebuild's snapshot still holds the deleted application, yet its edge must
+ * not come back into the relation indexes or the offer's applicationIds.
+ */
+class WarmupRebuildRaceTest {
+
+    /** Runs a hook right after the first values() snapshot. */
+    private static final class SnapshotHook<V> extends EntityStore<V> {
+        Runnable afterSnapshot;
+
+        SnapshotHook(String name) {
+            super(name);
+        }
+
+        @Override
+        public List<V> values() {
+            List<V> snapshot = super.values();
+            Runnable hook = afterSnapshot;
+            afterSnapshot = null;
+            if (hook != null)
+                hook.run();
+            return snapshot;
+        }
+    }
+
+    @Test
+    void deleteDuringRebuildDoesNotResurrectTheEdge() throws ReflectiveOperationException {
+        JobOffer offer = new JobOffer();
+        offer.setId(UUID.randomUUID());
+        offer.setEmployerId(UUID.randomUUID());
+        offer.setTitle("Offer");
+        Applicant applicant = new Applicant();
+        applicant.setId(UUID.randomUUID());
+        applicant.setSkills(new ArrayList<>(List.of("java")));
+        Application kept = new Application(UUID.randomUUID(), offer.getId(), applicant.getId());
+        Application deleted = new Application(UUID.randomUUID(), offer.getId(), applicant.getId());
+
+        RecordingEntityManager db = new RecordingEntityManager()
+                .answer("SELECT DISTINCT a FROM Applicant a LEFT JOIN FETCH a.skills", List.of(applicant))
+                .answer("SELECT o FROM JobOffer o", List.of(offer))
+                .answer("SELECT a FROM Application a", List.of(kept, deleted))
+                .row(deleted.getId(), deleted);
+        ApplicationState state = TestStates.loaded(db);
+
+        SnapshotHook<Application> applications = new SnapshotHook<>("applications");
+        applications.put(kept.getId(), kept);
+        applications.put(deleted.getId(), deleted);
+        TestStates.inject(state, "applications", applications);
+        TestStates.inject(state, "warm", false);
+
+        applications.afterSnapshot = () -> state.removeApplication(deleted.getId());
+        Method rebuild = ApplicationState.class.getDeclaredMethod("rebuildInverseRelations");
+        rebuild.setAccessible(true);
+        rebuild.invoke(state);
+
+        assertEquals(List.of(kept.getId()), offer.getApplicationIds());
+        assertEquals(List.of(kept.getId()), index(state, "appsByApplicant").get(applicant.getId()));
+        assertFalse(index(state, "appsByOffer").get(offer.getId()).contains(deleted.getId()));
+    }
+
+    private static RelationIndex index(ApplicationState state, String name) throws ReflectiveOperationException {
+        Field f = ApplicationState.class.getDeclaredField(name);
+        f.setAccessible(true);
+        return (RelationIndex) f.get(state);
+    }
+}
@@ -0,0 +1,125 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.Applicant;
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * What streaming a list costs per element, against the goal that a request
+ * holds the same memory however long the list.
+ *
+ * Allocation is read from the thread's allocation counter; what a streamed
+ * element allocates is garbage once it is written. The whole-array call
+ * (the historical body) allocates about as much but holds the full body
+ * until the response is written.
+ */
+class JsonStreamsAllocationTest {
+
+    private static final Jsonb JSONB = JsonbBuilder.create();
+
+    /** Discards the body, counting its bytes. */
+    private static final class CountingStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+
+    @Test
+    void sameBodyAsJsonb() throws IOException {
+        List<Applicant> items = applicants(50);
+
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        JsonStreams.write(items.stream(), array, false);
+        assertEquals(JSONB.toJson(items), array.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        JsonStreams.write(Stream.empty(), empty, false);
+        assertEquals("[]", empty.toString(StandardCharsets.UTF_8));
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        JsonStreams.write(items.stream(), ndjson, true);
+        assertEquals(items.stream().map(a -> JSONB.toJson(a) + "\n").collect(Collectors.joining()),
+                ndjson.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void perElementCostIsFlat() throws IOException {
+        List<Applicant> warmup = applicants(2_000);
+        for (int i = 0; i < 5; i++) {
+            JsonStreams.write(warmup.stream(), new CountingStream(), false);
+            JsonStreams.write(warmup.stream(), new CountingStream(), true);
+            JSONB.toJson(warmup);
+        }
+
+        System.out.printf("%9s %9s | %12s %12s | %12s %12s%n", "elements", "body B/el",
+                "array B/el", "ndjson B/el", "toJson B/el", "held bytes");
+        double[] first = null;
+        double[] last = null;
+        for (int n : new int[]{1_000, 10_000, 50_000}) {
+            List<Applicant> items = applicants(n);
+
+            CountingStream out = new CountingStream();
+            double array = (double) allocated(() -> JsonStreams.write(items.stream(), out, false)) / n;
+            double ndjson = (double) allocated(() -> JsonStreams.write(items.stream(), new CountingStream(), true)) / n;
+            long[] body = new long[1];
+            double whole = (double) allocated(() -> body[0] = JSONB.toJson(items).length()) / n;
+
+            // held: the whole-array String (Latin-1) and its UTF-8 copy; streamed, 8 KB of writer buffer
+            System.out.printf("%9d %9d | %12.0f %12.0f | %12.0f %12d%n", n, out.bytes / n, array, ndjson,
+                    whole, 2 * body[0]);
+            if (first == null)
+                first = new double[]{array, ndjson};
+            last = new double[]{array, ndjson};
+            assertTrue(array < whole * 1.5, "streamed array allocates more per element than one toJson");
+        }
+        assertTrue(last[0] < first[0] * 1.25, "array allocation per element grows with the list");
+        assertTrue(last[1] < first[1] * 1.25, "ndjson allocation per element grows with the list");
+    }
+
+    private interface Work {
+        void run() throws IOException;
+    }
+
+    private static long allocated(Work work) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        work.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    private static List<Applicant> applicants(int n) {
+        List<Applicant> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Applicant a = new Applicant();
+            a.setId(UUID.randomUUID());
+            a.setFirstName("First" + i);
+            a.setLastName("Last" + i);
+            a.setSkills(new ArrayList<>(List.of("java", "sql", "docker", "skill" + (i % 100))));
+            out.add(a);
+        }
+        return out;
+    }
+}
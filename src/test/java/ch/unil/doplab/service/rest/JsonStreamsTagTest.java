@@ -0,0 +1,53 @@
+package ch.unil.doplab.service.rest;
+
+import ch.unil.doplab.service.domain.EntityVersions.Validator;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * The JSON and ndjson bodies of one version get different strong tags,
+ * chosen from Accept the way the list endpoints choose the body type.
+ */
+class JsonStreamsTagTest {
+
+    private static final Validator VALIDATOR = new Validator("42-7", Instant.EPOCH);
+    private static final MediaType NDJSON = new MediaType("application", "x-ndjson");
+
+    @Test
+    void ndjsonAndJsonDoNotShareATag() {
+        String json = JsonStreams.etag(VALIDATOR, accept(MediaType.APPLICATION_JSON_TYPE));
+        String ndjson = JsonStreams.etag(VALIDATOR, accept(NDJSON));
+
+        assertEquals("42-7", json);
+        assertNotEquals(json, ndjson);
+        assertEquals(MediaType.APPLICATION_JSON_TYPE, JsonStreams.negotiate(accept(MediaType.APPLICATION_JSON_TYPE)));
+        assertEquals(NDJSON, JsonStreams.negotiate(accept(NDJSON)));
+    }
+
+    @Test
+    void tagFollowsTheNegotiatedType() {
+        String json = JsonStreams.etag(VALIDATOR, accept(MediaType.APPLICATION_JSON_TYPE));
+        String ndjson = JsonStreams.etag(VALIDATOR, accept(NDJSON));
+
+        assertEquals(json, JsonStreams.etag(VALIDATOR, accept(MediaType.WILDCARD_TYPE)));
+        assertEquals(json, JsonStreams.etag(VALIDATOR, accept(MediaType.APPLICATION_JSON_TYPE, NDJSON)));
+        assertEquals(ndjson, JsonStreams.etag(VALIDATOR, accept(NDJSON, MediaType.APPLICATION_JSON_TYPE)));
+    }
+
+    private static HttpHeaders accept(MediaType... types) {
+        return (HttpHeaders) Proxy.newProxyInstance(JsonStreamsTagTest.class.getClassLoader(),
+                new Class<?>[]{HttpHeaders.class}, (self, m, args) -> {
+                    if (!m.getName().equals("getAcceptableMediaTypes"))
+                        throw new UnsupportedOperationException("HttpHeaders." + m.getName());
+                    return List.of(types);
+                });
+    }
+}
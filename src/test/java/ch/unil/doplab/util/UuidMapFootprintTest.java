@@ -0,0 +1,131 @@
+package ch.unil.doplab.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Retained heap of the compact UUID structures against the java.util ones
+ * they replaced, in bytes per entry: the used heap after GC, averaged over
+ * sizes a quarter of an octave apart so that no single table fill (just
+ * before or just after a resize) decides the ratio.
+ *
+ * Two cases for the maps: keys owned by the map (relation index keys, ids
+ * read as a column projection), and keys shared with the value, as in an
+ * EntityStore whose entity already holds its id.
+ */
+class UuidMapFootprintTest {
+
+    private static final int[] SIZES = {160_000, 190_000, 226_000, 269_000};
+    private static final Object VALUE = new Object();
+
+    @Test
+    void compactStructuresRetainLessHeap() {
+        UUID[] ids = new UUID[SIZES[SIZES.length - 1]];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = UUID.randomUUID();
+
+        double chmOwned = perEntry(n -> {
+            Map<UUID, Object> m = new ConcurrentHashMap<>();
+            for (UUID id : Arrays.copyOf(ids, n))
+                m.put(copy(id), VALUE);
+            return m;
+        });
+        double chmShared = perEntry(n -> {
+            Map<UUID, Object> m = new ConcurrentHashMap<>();
+            for (UUID id : Arrays.copyOf(ids, n))
+                m.put(id, VALUE);
+            return m;
+        });
+        double compact = perEntry(n -> {
+            ConcurrentUuidMap<Object> m = new ConcurrentUuidMap<>();
+            for (UUID id : Arrays.copyOf(ids, n))
+                m.put(copy(id), VALUE);
+            return m;
+        });
+
+        // 1000 relation keys of n/1000 members each
+        double setIndex = perEntry(n -> {
+            Map<UUID, Set<UUID>> m = new ConcurrentHashMap<>();
+            for (int i = 0; i < n; i++)
+                m.computeIfAbsent(copy(ids[i % 1000]), k -> ConcurrentHashMap.newKeySet()).add(copy(ids[i]));
+            return m;
+        });
+        double compactIndex = perEntry(n -> {
+            ConcurrentUuidMap<UuidSet> m = new ConcurrentUuidMap<>();
+            for (int i = 0; i < n; i++)
+                m.computeIfAbsent(ids[i % 1000], k -> new UuidSet()).add(copy(ids[i]));
+            return m;
+        });
+
+        // per-entity id lists: 10 ids each
+        double idLists = perEntry(n -> {
+            List<List<UUID>> lists = new ArrayList<>();
+            for (int i = 0; i + 10 <= n; i += 10) {
+                List<UUID> l = new ArrayList<>();
+                for (int j = i; j < i + 10; j++)
+                    l.add(copy(ids[j]));
+                lists.add(l);
+            }
+            return lists;
+        });
+        double idSets = perEntry(n -> {
+            List<UuidSet> sets = new ArrayList<>();
+            for (int i = 0; i + 10 <= n; i += 10) {
+                UuidSet s = new UuidSet();
+                for (int j = i; j < i + 10; j++)
+                    s.add(copy(ids[j]));
+                sets.add(s);
+            }
+            return sets;
+        });
+
+        System.out.printf("entity map, own keys     %6.1f -> %6.1f B/entry (%.2fx)%n",
+                chmOwned, compact, chmOwned / compact);
+        System.out.printf("entity map, shared keys  %6.1f -> %6.1f B/entry (%.2fx)%n",
+                chmShared, compact, chmShared / compact);
+        System.out.printf("relation index           %6.1f -> %6.1f B/edge  (%.2fx)%n",
+                setIndex, compactIndex, setIndex / compactIndex);
+        System.out.printf("per-entity id lists      %6.1f -> %6.1f B/id    (%.2fx)%n",
+                idLists, idSets, idLists / idSets);
+        Reference.reachabilityFence(ids);
+
+        assertTrue(chmOwned / compact >= 1.8, "entity map with its own keys");
+        assertTrue(compact <= chmShared, "entity map with shared keys");
+        assertTrue(setIndex / compactIndex >= 2.0, "relation index");
+        assertTrue(idSets <= idLists, "per-entity id lists");
+    }
+
+    private static UUID copy(UUID id) {
+        return new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static double perEntry(IntFunction<Object> build) {
+        double sum = 0;
+        for (int n : SIZES) {
+            long before = usedHeap();
+            Object built = build.apply(n);
+            long after = usedHeap();
+            Reference.reachabilityFence(built);
+            sum += (after - before) / (double) n;
+        }
+        return sum / SIZES.length;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++)
+            System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}